@@ -0,0 +1,30 @@
+package io.github.gergilcan.wirej.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Tunes how batch inserts are sent. On a {@code @QueryFile(isBatch = true)}
+ * method it applies to that method, whose query must then be a single-row
+ * {@code INSERT ... VALUES (...)} for the rewriting strategies. On a
+ * repository interface extending {@code StandardRepository} it applies to
+ * the inherited {@code createBatch}.
+ *
+ * Each chunk is a separate execution: outside a transaction, a failure
+ * part-way through leaves the chunks before it committed.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.TYPE, ElementType.METHOD })
+public @interface BatchOptions {
+  BatchStrategy strategy() default BatchStrategy.JDBC_BATCH;
+
+  /**
+   * Items sent per execution. Zero means all items in one execution for
+   * {@link BatchStrategy#JDBC_BATCH}, and
+   * {@code DatabaseStatement.DEFAULT_BATCH_CHUNK_SIZE} for the rewriting
+   * strategies, which have to bound the size of the statement they build.
+   */
+  int chunkSize() default 0;
+}
@@ -0,0 +1,29 @@
+package io.github.gergilcan.wirej.annotations;
+
+/**
+ * How a batch insert reaches the database; see {@link BatchOptions}.
+ */
+public enum BatchStrategy {
+  /**
+   * One JDBC batch entry per item, sent with {@code executeBatch()} - every
+   * {@code chunkSize} items, or all at once when no chunk size is set.
+   */
+  JDBC_BATCH,
+
+  /**
+   * Rewrites the single-row {@code INSERT ... VALUES (...)} into one
+   * statement per chunk carrying {@code chunkSize} row tuples,
+   * {@code VALUES (...), (...), ...}. Works on any database that accepts
+   * multi-row VALUES; chunks are capped so a statement never exceeds
+   * PostgreSQL's limit of 32767 bind parameters.
+   */
+  MULTI_ROW_VALUES,
+
+  /**
+   * PostgreSQL only: rewrites the insert into
+   * {@code INSERT ... SELECT ... FROM unnest(?, ?, ...)}, binding one array
+   * per column, so each chunk is one statement with as many parameters as
+   * the row has columns, whatever the chunk size.
+   */
+  UNNEST
+}
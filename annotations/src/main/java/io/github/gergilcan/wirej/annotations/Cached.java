@@ -0,0 +1,51 @@
+package io.github.gergilcan.wirej.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves repeated reads from an in-memory cache instead of the database. On
+ * a {@code @QueryFile} method it caches that method; on a repository
+ * interface, every read the repository generates - {@code get},
+ * {@code getAll}, {@code count}, pages, and {@code @QueryFile} methods
+ * returning a value rather than a cursor - with a method's own annotation
+ * taking precedence.
+ *
+ * Results are keyed by the method's arguments, so arguments should have
+ * value equality ({@code RequestFilters}, ids and other scalars do).
+ *
+ * Results are not copied: every caller that hits an entry gets the same
+ * instance - the same array, page and entities - so they must be treated as
+ * read-only. Calling a setter on a cached entity, or replacing an element of
+ * a cached array, changes what every later hit returns until the entry
+ * expires or is invalidated, without anything being written. Copy a result
+ * before changing it.
+ *
+ * Entries are dropped as soon as a generated repository anywhere in the
+ * JVM writes to one of {@link #tables()} - standard writes name their
+ * entity's table, and {@code @QueryFile} writes the tables their SQL
+ * inserts into, updates or deletes from (or every table, when that can't be
+ * told from the SQL). Writes made outside WireJ are only picked up when
+ * entries expire. Reads inside a transaction bypass the cache.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.TYPE, ElementType.METHOD })
+public @interface Cached {
+  /** How long an entry is served, in {@link #unit()}s. */
+  long ttl() default 60;
+
+  TimeUnit unit() default TimeUnit.SECONDS;
+
+  /** Entries kept per method; the least recently used go first. */
+  int maxEntries() default 1000;
+
+  /**
+   * Tables whose writes invalidate the results. Defaults to the table of
+   * the repository's entity; a {@code @QueryFile} method on a repository
+   * without one must name its tables.
+   */
+  String[] tables() default {};
+}
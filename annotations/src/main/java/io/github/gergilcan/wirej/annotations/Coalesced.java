@@ -0,0 +1,23 @@
+package io.github.gergilcan.wirej.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Lets concurrent identical reads share one database execution: a call made
+ * while another with equal arguments is still running waits for that one's
+ * result - or exception - instead of taking a connection of its own. On a
+ * {@code @QueryFile} method it applies to that method; on a repository
+ * interface, to every read the repository generates, and
+ * {@code @Coalesced(false)} on a {@code @QueryFile} method opts it out.
+ *
+ * Calls that share an execution share the result object, which must not be
+ * modified. Reads inside a transaction always run on their own.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.TYPE, ElementType.METHOD })
+public @interface Coalesced {
+  boolean value() default true;
+}
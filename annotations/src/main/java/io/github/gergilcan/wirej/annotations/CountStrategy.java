@@ -0,0 +1,36 @@
+package io.github.gergilcan.wirej.annotations;
+
+/**
+ * How the total count next to a page of results is produced; set per
+ * repository with {@link PageOptions#count()}, or per request. A page's
+ * {@code countStrategy} says how to read its {@code totalCount}: a capped or
+ * estimated count that turned out exact anyway is reported as
+ * {@link #EXACT}.
+ */
+public enum CountStrategy {
+  /** {@code count(*)} over every row matching the filters. */
+  EXACT,
+
+  /**
+   * Counts at most {@link PageOptions#countCap()} + 1 rows. Past the cap the
+   * total is reported as the cap with this strategy, meaning "more than
+   * that" - a UI shows "1000+" - and the count stops early instead of
+   * visiting every match.
+   */
+  CAPPED,
+
+  /**
+   * PostgreSQL only: the planner's row estimate for the filtered query, or
+   * {@code pg_class.reltuples} for an unfiltered one - no rows are read, and
+   * the figure is only as fresh as the table's statistics. Other databases,
+   * and tables never analyzed, get an exact count instead.
+   */
+  ESTIMATED,
+
+  /**
+   * No count query at all: {@code totalCount} is null, and the page query
+   * fetches one row more than the page so {@code hasNext} can say whether
+   * another page follows - all a "next" button needs.
+   */
+  NONE
+}
@@ -0,0 +1,35 @@
+package io.github.gergilcan.wirej.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the entities {@code StandardRepository.get(id)} finds in an
+ * in-memory cache by primary key, shared by every repository of the
+ * entity. Rows are cached as they are read, and as {@code update} and
+ * {@code updateBatch} read them back; {@code create}, {@code createBatch}
+ * and {@code delete} evict their rows, and {@code @QueryFile} writes to the
+ * entity's table evict everything, since the rows they touch aren't known.
+ * Writes made outside WireJ are only picked up when entries expire.
+ *
+ * Cached entities are not copied: every {@code get} of an id returns the
+ * same instance, so they must be treated as read-only. The instances passed
+ * to {@code create} and {@code createBatch} stay the caller's and are never
+ * cached. Calling a setter on one without saving it changes what every
+ * later {@code get} returns until the entry expires or is evicted. Copy the
+ * entity before changing it, and write changes through {@code update}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface EntityCache {
+  /** How long an entity is served from the cache, in {@link #unit()}s. */
+  long ttl() default 300;
+
+  TimeUnit unit() default TimeUnit.SECONDS;
+
+  /** Entities kept; the least recently used go first. */
+  int maxEntries() default 10_000;
+}
@@ -0,0 +1,27 @@
+package io.github.gergilcan.wirej.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tunes the {@code BatchLoader} of a repository interface extending
+ * {@code BatchLoadingRepository}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface LoaderOptions {
+  /**
+   * How long the first load of a batch waits for others to join it, in
+   * {@link #unit()}s. Zero sends each batch as soon as it starts, so only
+   * explicit scopes batch.
+   */
+  long window() default 2;
+
+  TimeUnit unit() default TimeUnit.MILLISECONDS;
+
+  /** Keys sent per query; a batch that fills up is sent without waiting out its window. */
+  int maxBatchSize() default 1000;
+}
@@ -0,0 +1,30 @@
+package io.github.gergilcan.wirej.annotations;
+
+/**
+ * How a paginated {@code getAll} gets the total count it returns alongside
+ * the page; see {@link PageOptions}. The filters are parsed once for both
+ * the page and the count whichever is chosen.
+ */
+public enum PageCountQuery {
+  /**
+   * The page query, then a {@code count(*)} query with the same filters, on
+   * the same connection: two round trips, one after the other.
+   */
+  SEPARATE,
+
+  /**
+   * One statement: the page query selects {@code count(*) OVER()} next to
+   * each row, computed before the offset is applied. A page past the last
+   * row has no row to carry it, so only then is the count queried on its
+   * own. Needs an entity the processor generates a row mapper for; others
+   * fall back to {@link #SEPARATE}.
+   */
+  WINDOW,
+
+  /**
+   * The page and count queries at the same time, the count on the async
+   * executor with its own connection: the latency of the slower one instead
+   * of both, at the cost of a second connection per call.
+   */
+  CONCURRENT
+}
@@ -0,0 +1,26 @@
+package io.github.gergilcan.wirej.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Tunes the paginated {@code getAll(filters, pagination)} a repository
+ * interface inherits from {@code PagedRepository}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface PageOptions {
+  PageCountQuery countQuery() default PageCountQuery.SEPARATE;
+
+  /**
+   * How the total is counted, unless a request asks otherwise through
+   * {@code RequestPagination.count}. A {@link PageCountQuery#WINDOW} count
+   * is always exact, so it is only used for {@link CountStrategy#EXACT}.
+   */
+  CountStrategy count() default CountStrategy.EXACT;
+
+  /** Rows counted before a {@link CountStrategy#CAPPED} count stops. */
+  long countCap() default 1000;
+}
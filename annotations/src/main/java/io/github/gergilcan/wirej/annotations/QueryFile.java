@@ -8,9 +8,33 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.METHOD)
 public @interface QueryFile {
+  /**
+   * What counts as a named parameter in query text: {@code :name}, but not
+   * a {@code ::} cast or the type name after it. The annotation processor
+   * compiles constant query text with it at build time and
+   * {@code QueryPlan} compiles runtime text with it, so both bind alike.
+   */
+  String PARAMETER_PATTERN = "(?<!:):(?!:)([a-zA-Z_]\\w*)";
+
   String value();
 
   boolean isBatch() default false;
 
   QueryOperation operation() default QueryOperation.AUTO;
+
+  /**
+   * Rows fetched per round trip by methods returning {@code Stream<T>} or
+   * {@code ResultCursor<T>}, which read through a server-side cursor instead
+   * of loading every row first. Zero uses WireJ's default
+   * ({@code DatabaseStatement.DEFAULT_CURSOR_FETCH_SIZE}). Ignored by every
+   * other return type.
+   */
+  int fetchSize() default 0;
+
+  /**
+   * Fail with a {@code WireJException} when a method returning a single row
+   * ({@code T} or {@code Optional<T>}) matches more than one, instead of
+   * returning the first. Either way at most two rows are read.
+   */
+  boolean unique() default false;
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package io.github.gergilcan.wirej.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cancels a repository method's queries that run longer than this, failing
+ * the call with a {@code WireJException}. On a {@code @QueryFile} method it
+ * applies to that method; on a repository interface, to every method the
+ * repository generates that has none of its own. Methods without one use
+ * {@code wirej.query.timeout}, if set.
+ *
+ * The limit is per statement - a page and its count are timed separately -
+ * and JDBC counts it in whole seconds, so it is rounded up to one.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.TYPE, ElementType.METHOD })
+public @interface QueryTimeout {
+  long value();
+
+  TimeUnit unit() default TimeUnit.SECONDS;
+}
@@ -3,11 +3,15 @@ package io.github.gergilcan.wirej.annotations;
 public enum StandardOperationType {
     GET,
     GET_ALL,
+    GET_MANY,
     GET_PAGE,
+    GET_KEYSET_PAGE,
     COUNT,
     CREATE,
     CREATE_BATCH,
     UPDATE,
     UPDATE_BATCH,
-    DELETE
+    DELETE,
+    BULK_LOAD,
+    LOADER
 }
@@ -61,6 +61,7 @@ final class ControllerImplGenerator {
     private final Filer filer;
     private final Messager messager;
     private final Elements elements;
+    private String controllerName;
 
     ControllerImplGenerator(Filer filer, Messager messager, Elements elements) {
         this.filer = filer;
@@ -72,6 +73,7 @@ final class ControllerImplGenerator {
         ClassName interfaceName = ClassName.get(controllerInterface);
         String implName = interfaceName.simpleName() + "Impl";
         TypeName serviceTypeName = TypeName.get(serviceClassMirror);
+        controllerName = interfaceName.simpleName();
 
         TypeSpec.Builder typeBuilder = TypeSpec.classBuilder(implName)
                 .addModifiers(Modifier.PUBLIC)
@@ -96,6 +98,13 @@ final class ControllerImplGenerator {
             constructor.addParameter(WireJTypes.OBJECT_MAPPER, "objectMapper");
             constructor.addStatement("this.objectMapper = objectMapper");
         }
+        // Applications without an ObservationRegistry bean get a no-op one.
+        typeBuilder.addField(WireJTypes.OBSERVATION_REGISTRY, "observationRegistry", Modifier.PRIVATE,
+                Modifier.FINAL);
+        constructor.addParameter(ParameterizedTypeName.get(WireJTypes.OBJECT_PROVIDER,
+                WireJTypes.OBSERVATION_REGISTRY), "observationRegistry");
+        constructor.addStatement("this.observationRegistry = observationRegistry.getIfAvailable(() -> $T.NOOP)",
+                WireJTypes.OBSERVATION_REGISTRY);
         typeBuilder.addMethod(constructor.build());
 
         for (ResolvedMethod resolved : methods) {
@@ -177,7 +186,7 @@ final class ControllerImplGenerator {
             body.endControlFlow();
         }
 
-        method.addCode(body.build());
+        method.addCode(observed(body.build(), controllerMethod));
         return method.build();
     }
 
@@ -262,10 +271,16 @@ final class ControllerImplGenerator {
             body.endControlFlow();
         }
 
-        method.addCode(body.build());
+        method.addCode(observed(body.build(), controllerMethod));
         return method.build();
     }
 
+    private CodeBlock observed(CodeBlock body, ExecutableElement controllerMethod) {
+        CodeBlock start = CodeBlock.of("$T.controller(this.observationRegistry, $S, $S)",
+                WireJTypes.METHOD_OBSERVATION, controllerName, controllerMethod.getSimpleName().toString());
+        return ProcessorSupport.observed(start, body);
+    }
+
     private void addCreateShapeDispatch(CodeBlock.Builder body, String bodyParamName, TypeMirror batchParamType,
             ExecutableElement singleServiceMethod, ExecutableElement batchServiceMethod, CodeBlock statusExpr) {
         TypeName entityTypeName = TypeName.get(((ArrayType) batchParamType).getComponentType());
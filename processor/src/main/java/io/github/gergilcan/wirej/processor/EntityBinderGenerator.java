@@ -0,0 +1,204 @@
+package io.github.gergilcan.wirej.processor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.WildcardTypeName;
+
+/**
+ * Generates a {@code <Entity>Binder} next to each entity a repository binds
+ * as a parameter object, replacing {@code ParameterBinder.bindObjectFields}'
+ * per-call reflection: parameter names are resolved here, with the same
+ * rule as the reflective binder (first {@code @JsonAlias}, else the
+ * snake_case field name), and each value is read with a direct getter call.
+ *
+ * Binds the same fields the reflective binder does - the entity's own,
+ * not inherited ones. Every field needs an accessor other classes in the
+ * package can call: a declared getter, a record component accessor, one
+ * implied by Lombok's {@code @Data}/{@code @Getter}/{@code @Value}, or a
+ * non-private field. An entity that doesn't qualify gets no binder and stays
+ * on the reflective path.
+ */
+final class EntityBinderGenerator {
+    private static final String LOMBOK_DATA = "lombok.Data";
+    private static final String LOMBOK_VALUE = "lombok.Value";
+    private static final String LOMBOK_GETTER = "lombok.Getter";
+
+    private static final ClassName ENTITY_BINDER = ClassName.get("io.github.gergilcan.wirej.database",
+            "EntityBinder");
+
+    private final Filer filer;
+    private final Messager messager;
+    private final Elements elements;
+    private final Types types;
+
+    // Same lifetime and purpose as RowMapperGenerator's cache: one binder per
+    // entity, however many repositories bind it.
+    private final Map<String, Optional<ClassName>> binders = new HashMap<>();
+
+    EntityBinderGenerator(Filer filer, Messager messager, Elements elements, Types types) {
+        this.filer = filer;
+        this.messager = messager;
+        this.elements = elements;
+        this.types = types;
+    }
+
+    /**
+     * Returns the binder for {@code entityType}, generating it on first
+     * request, or empty when the type has to be bound reflectively.
+     */
+    Optional<ClassName> binderFor(TypeMirror entityType) {
+        if (entityType.getKind() != TypeKind.DECLARED) {
+            return Optional.empty();
+        }
+        TypeElement entity = (TypeElement) ((DeclaredType) entityType).asElement();
+        return binders.computeIfAbsent(entity.getQualifiedName().toString(), name -> generate(entity));
+    }
+
+    private Optional<ClassName> generate(TypeElement entity) {
+        String packageName = elements.getPackageOf(entity).getQualifiedName().toString();
+        if (packageName.startsWith("java.") || packageName.startsWith("javax.")) {
+            return Optional.empty();
+        }
+
+        ClassName entityName = ClassName.get(entity);
+        CodeBlock.Builder body = CodeBlock.builder();
+        String reason = null;
+        if ((entity.getKind() != ElementKind.CLASS && entity.getKind() != ElementKind.RECORD)
+                || entity.getNestingKind() != NestingKind.TOP_LEVEL) {
+            reason = "not a top-level class";
+        } else if (!entity.getTypeParameters().isEmpty()) {
+            reason = "generic class";
+        } else {
+            reason = addBindings(entity, body);
+        }
+        if (reason != null) {
+            messager.printMessage(Diagnostic.Kind.NOTE, "No parameter binder generated for "
+                    + entity.getQualifiedName() + " (" + reason + "); it is bound reflectively.");
+            return Optional.empty();
+        }
+
+        ClassName binderName = ClassName.get(packageName, entity.getSimpleName() + "Binder");
+        TypeSpec binder = TypeSpec.classBuilder(binderName)
+                .addOriginatingElement(entity)
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .addSuperinterface(ParameterizedTypeName.get(ENTITY_BINDER, entityName))
+                .addField(FieldSpec.builder(binderName, "INSTANCE", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("new $T()", binderName)
+                        .build())
+                .addMethod(MethodSpec.constructorBuilder().addModifiers(Modifier.PRIVATE).build())
+                .addMethod(MethodSpec.methodBuilder("bind")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(entityName, "item")
+                        .addParameter(ParameterizedTypeName.get(WireJTypes.DATABASE_STATEMENT,
+                                WildcardTypeName.subtypeOf(Object.class)), "statement")
+                        .addCode(body.build())
+                        .build())
+                .build();
+
+        try {
+            JavaFile.builder(packageName, binder).build().writeTo(filer);
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.NOTE, "No parameter binder generated for "
+                    + entity.getQualifiedName() + " (" + e.getMessage() + "); it is bound reflectively.");
+            return Optional.empty();
+        }
+        return Optional.of(binderName);
+    }
+
+    /**
+     * How generated code reads {@code fieldName} from an entity - a getter
+     * call or the field itself - or null when other classes in the package
+     * can't.
+     */
+    String accessorFor(TypeMirror entityType, String fieldName) {
+        TypeElement entity = (TypeElement) ((DeclaredType) entityType).asElement();
+        for (VariableElement field : ProcessorSupport.persistableFields(entity)) {
+            if (field.getSimpleName().contentEquals(fieldName)) {
+                String getter = findGetter(entity, field);
+                if (getter != null) {
+                    return getter + "()";
+                }
+                return field.getModifiers().contains(Modifier.PRIVATE) ? null : fieldName;
+            }
+        }
+        return null;
+    }
+
+    private String addBindings(TypeElement entity, CodeBlock.Builder body) {
+        for (VariableElement field : ProcessorSupport.persistableFields(entity)) {
+            String fieldName = field.getSimpleName().toString();
+            String parameterName = ProcessorSupport.resolveParameterName(field, fieldName, elements);
+            String getter = findGetter(entity, field);
+            if (getter != null) {
+                body.addStatement("statement.setParameter($S, item.$L())", parameterName, getter);
+            } else if (!field.getModifiers().contains(Modifier.PRIVATE)) {
+                body.addStatement("statement.setParameter($S, item.$L)", parameterName, fieldName);
+            } else {
+                return "field '" + fieldName + "' has no getter";
+            }
+        }
+        return null;
+    }
+
+    private String findGetter(TypeElement entity, VariableElement field) {
+        String fieldName = field.getSimpleName().toString();
+        String capitalized = Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
+        boolean primitiveBoolean = field.asType().getKind() == TypeKind.BOOLEAN;
+
+        // Lombok's naming: a primitive boolean 'isActive' keeps its name, other
+        // primitive booleans get 'is' - everything else, boxed Boolean
+        // included, gets 'get'.
+        String lombokGetter = !primitiveBoolean ? "get" + capitalized
+                : fieldName.startsWith("is") && fieldName.length() > 2 && Character.isUpperCase(fieldName.charAt(2))
+                        ? fieldName
+                        : "is" + capitalized;
+
+        List<String> candidates = new ArrayList<>(List.of(lombokGetter, "get" + capitalized));
+        if (entity.getKind() == ElementKind.RECORD) {
+            candidates.add(0, fieldName);
+        }
+        for (ExecutableElement method : ElementFilter.methodsIn(entity.getEnclosedElements())) {
+            if (candidates.contains(method.getSimpleName().toString()) && method.getParameters().isEmpty()
+                    && !method.getModifiers().contains(Modifier.PRIVATE)
+                    && !method.getModifiers().contains(Modifier.STATIC)
+                    && types.isSameType(method.getReturnType(), field.asType())) {
+                return method.getSimpleName().toString();
+            }
+        }
+
+        Optional<Boolean> lombokAllowed = ProcessorSupport.lombokAccessorAllowed(field, LOMBOK_GETTER)
+                .or(() -> ProcessorSupport.lombokAccessorAllowed(entity, LOMBOK_GETTER));
+        if (lombokAllowed.isPresent()) {
+            return lombokAllowed.get() ? lombokGetter : null;
+        }
+        return ProcessorSupport.hasAnnotation(entity, LOMBOK_DATA) || ProcessorSupport.hasAnnotation(entity,
+                LOMBOK_VALUE) ? lombokGetter : null;
+    }
+}
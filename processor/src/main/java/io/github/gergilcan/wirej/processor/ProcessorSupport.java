@@ -1,8 +1,11 @@
 package io.github.gergilcan.wirej.processor;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import javax.lang.model.element.AnnotationMirror;
 import javax.lang.model.element.AnnotationValue;
@@ -17,6 +20,10 @@ import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.Elements;
 
+import com.squareup.javapoet.CodeBlock;
+
+import io.github.gergilcan.wirej.annotations.QueryFile;
+
 final class ProcessorSupport {
     private static final Set<String> BASIC_TYPE_NAMES = Set.of(
             "java.lang.String", "java.lang.Boolean", "java.lang.Integer", "java.lang.Long",
@@ -25,9 +32,36 @@ final class ProcessorSupport {
 
     private static final String JSON_ALIAS = "com.fasterxml.jackson.annotation.JsonAlias";
 
+    static final String STREAM = "java.util.stream.Stream";
+    static final String RESULT_CURSOR = "io.github.gergilcan.wirej.database.ResultCursor";
+    static final String ITERATOR = "java.util.Iterator";
+    static final String OPTIONAL = "java.util.Optional";
+    static final String COMPLETABLE_FUTURE = "java.util.concurrent.CompletableFuture";
+
+    private static final Pattern PARAMETER_PATTERN = Pattern.compile(QueryFile.PARAMETER_PATTERN);
+
+    /**
+     * Compile-time twin of the runtime {@code QueryPlan}: positional SQL plus
+     * the parameter name bound at each {@code ?}.
+     */
+    record CompiledQuery(String sql, List<String> parameterNames) {
+    }
+
     private ProcessorSupport() {
     }
 
+    static CompiledQuery compileQuery(String namedSql) {
+        List<String> names = new ArrayList<>();
+        Matcher matcher = PARAMETER_PATTERN.matcher(namedSql);
+        StringBuilder positional = new StringBuilder(namedSql.length());
+        while (matcher.find()) {
+            names.add(matcher.group(1));
+            matcher.appendReplacement(positional, "?");
+        }
+        matcher.appendTail(positional);
+        return new CompiledQuery(positional.toString(), List.copyOf(names));
+    }
+
     static boolean isType(TypeMirror mirror, String qualifiedName) {
         if (mirror.getKind() != TypeKind.DECLARED) {
             return false;
@@ -47,6 +81,53 @@ final class ProcessorSupport {
         return BASIC_TYPE_NAMES.stream().anyMatch(name -> isType(mirror, name));
     }
 
+    /**
+     * Whether values of this type keep a statement and connection open until
+     * the caller closes them - {@code Stream<T>} and {@code ResultCursor<T>}.
+     */
+    static boolean isCursorType(TypeMirror mirror) {
+        return isType(mirror, STREAM) || isType(mirror, RESULT_CURSOR);
+    }
+
+    /**
+     * The type a repository method's body produces: the type argument of a
+     * {@code CompletableFuture<T>} return, which only changes the thread it
+     * runs on, or else the return type itself.
+     */
+    static TypeMirror resultType(TypeMirror returnType) {
+        if (isType(returnType, COMPLETABLE_FUTURE)) {
+            List<? extends TypeMirror> typeArguments = ((DeclaredType) returnType).getTypeArguments();
+            if (typeArguments.size() == 1) {
+                return typeArguments.get(0);
+            }
+        }
+        return returnType;
+    }
+
+    /** Whether {@code mirror} is {@code void} or {@code java.lang.Void}. */
+    static boolean isVoid(TypeMirror mirror) {
+        return mirror.getKind() == TypeKind.VOID || isType(mirror, "java.lang.Void");
+    }
+
+    /**
+     * Wraps a generated method's body in the {@code MethodObservation} that
+     * {@code start} creates, recording what it throws. Bodies only let
+     * unchecked exceptions out.
+     */
+    static CodeBlock observed(CodeBlock start, CodeBlock body) {
+        return CodeBlock.builder()
+                .addStatement("$T observation = $L", WireJTypes.METHOD_OBSERVATION, start)
+                .beginControlFlow("try")
+                .add(body)
+                .nextControlFlow("catch ($T | $T e)", RuntimeException.class, Error.class)
+                .addStatement("observation.error(e)")
+                .addStatement("throw e")
+                .nextControlFlow("finally")
+                .addStatement("observation.stop()")
+                .endControlFlow()
+                .build();
+    }
+
     static String toSnakeCase(String raw) {
         return raw.replaceAll("([a-z])([A-Z])", "$1_$2").toLowerCase();
     }
@@ -115,6 +196,30 @@ final class ProcessorSupport {
         return false;
     }
 
+    /**
+     * Whether a Lombok {@code @Getter}/{@code @Setter} on {@code element}
+     * generates an accessor other classes in the package can call, or empty
+     * if the annotation isn't there. Read from the annotation rather than the
+     * generated methods, since Lombok may not have run yet in this round.
+     */
+    static Optional<Boolean> lombokAccessorAllowed(Element element, String annotationName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+            if (!annotationType.getQualifiedName().contentEquals(annotationName)) {
+                continue;
+            }
+            // Explicit values only: Lombok's own default (PUBLIC) needs no lookup.
+            for (var entry : mirror.getElementValues().entrySet()) {
+                if (entry.getKey().getSimpleName().contentEquals("value")) {
+                    String level = String.valueOf(entry.getValue().getValue());
+                    return Optional.of(!level.equals("PRIVATE") && !level.equals("NONE"));
+                }
+            }
+            return Optional.of(true);
+        }
+        return Optional.empty();
+    }
+
     private static Optional<String> findAnnotationStringValue(Element element, String annotationName,
             String memberName, Elements elements) {
         for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
@@ -6,12 +6,18 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import javax.annotation.processing.Filer;
 import javax.annotation.processing.Messager;
 import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
@@ -25,7 +31,6 @@ import javax.lang.model.util.Elements;
 import javax.tools.Diagnostic;
 
 import com.squareup.javapoet.AnnotationSpec;
-import com.squareup.javapoet.ArrayTypeName;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.FieldSpec;
@@ -35,8 +40,18 @@ import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 
+import io.github.gergilcan.wirej.annotations.BatchOptions;
+import io.github.gergilcan.wirej.annotations.BatchStrategy;
+import io.github.gergilcan.wirej.annotations.Cached;
+import io.github.gergilcan.wirej.annotations.Coalesced;
+import io.github.gergilcan.wirej.annotations.CountStrategy;
+import io.github.gergilcan.wirej.annotations.EntityCache;
+import io.github.gergilcan.wirej.annotations.LoaderOptions;
+import io.github.gergilcan.wirej.annotations.PageCountQuery;
+import io.github.gergilcan.wirej.annotations.PageOptions;
 import io.github.gergilcan.wirej.annotations.QueryFile;
 import io.github.gergilcan.wirej.annotations.QueryOperation;
+import io.github.gergilcan.wirej.annotations.QueryTimeout;
 import io.github.gergilcan.wirej.annotations.StandardOperationType;
 
 /**
@@ -53,6 +68,17 @@ import io.github.gergilcan.wirej.annotations.StandardOperationType;
  * entity's own fields at compile time and baked into the generated source as
  * a string literal (via {@code DatabaseStatement.forGeneratedQuery}), so no
  * .sql file exists for these operations.
+ *
+ * Wherever the final query text is already known here - constant CRUD SQL,
+ * and {@code @QueryFile} methods without {@code RequestFilters} - it is
+ * compiled into a {@code QueryPlan} constant on the generated class (via
+ * {@code DatabaseStatement.forPlan}), so those calls never scan for named
+ * parameters at runtime.
+ *
+ * Statements that return entities get the entity's generated row mapper (see
+ * {@link RowMapperGenerator}), and entity parameters are bound through its
+ * generated binder (see {@link EntityBinderGenerator}), wherever the entity
+ * qualifies for one.
  */
 final class RepositoryImplGenerator {
     private static final String REQUEST_FILTERS = "io.github.gergilcan.wirej.core.RequestFilters";
@@ -66,18 +92,67 @@ final class RepositoryImplGenerator {
             String pkColumn, List<StandardMethod> methods) {
     }
 
+    // DatabaseStatement.WINDOW_COUNT_SELECT, which the processor can't reference.
+    private static final String DATABASE_STATEMENT_WINDOW_COUNT_SELECT = ", count(*) OVER() AS wirej_total_count";
+    private static final Pattern WRITTEN_TABLE = Pattern.compile(
+            "(?i)\\b(?:INSERT\\s+INTO|UPDATE|DELETE\\s+FROM|MERGE\\s+INTO|TRUNCATE(?:\\s+TABLE)?)\\s+(?:ONLY\\s+)?"
+                    + "(\"?[\\w.]+\"?)");
+
     private final Filer filer;
     private final Messager messager;
     private final Elements elements;
-
-    RepositoryImplGenerator(Filer filer, Messager messager, Elements elements) {
+    private final RowMapperGenerator rowMappers;
+    private final EntityBinderGenerator entityBinders;
+
+    // QueryPlan constants for the interface currently being generated, keyed by
+    // the named SQL they were compiled from, so identical text (e.g. several
+    // methods sharing one query file) shares one constant. Reset per generate().
+    private final Map<String, FieldSpec> planFields = new LinkedHashMap<>();
+    // @BatchOptions on the interface being generated, applied to createBatch.
+    private BatchOptions interfaceBatchOptions;
+    // @PageOptions on the interface being generated, applied to the paginated getAll.
+    private PageOptions interfacePageOptions;
+    // @Cached on the interface being generated, applied to every read without its own.
+    private Cached interfaceCached;
+    // @Coalesced on the interface being generated, applied to every read without its own.
+    private Coalesced interfaceCoalesced;
+    // ResultCache and SingleFlight fields for the methods of the interface being generated.
+    private final List<FieldSpec> methodFields = new ArrayList<>();
+    // @QueryTimeout on the interface being generated, applied to every method without its own.
+    private QueryTimeout interfaceQueryTimeout;
+    // The timeout of the method being generated, in milliseconds; zero when it has none.
+    private long queryTimeoutMillis;
+    // @LoaderOptions on the interface being generated, applied to its BatchLoader.
+    private LoaderOptions interfaceLoaderOptions;
+    // @EntityCache on the entity of the interface being generated, if any.
+    private EntityCache entityCache;
+    private TypeElement currentInterface;
+    private StandardCrud currentCrud;
+
+    RepositoryImplGenerator(Filer filer, Messager messager, Elements elements, RowMapperGenerator rowMappers,
+            EntityBinderGenerator entityBinders) {
         this.filer = filer;
         this.messager = messager;
         this.elements = elements;
+        this.rowMappers = rowMappers;
+        this.entityBinders = entityBinders;
     }
 
     void generate(TypeElement repositoryInterface, List<ExecutableElement> queryFileMethods,
-            StandardCrud standardCrud) {
+            Map<ExecutableElement, String> queryTexts, StandardCrud standardCrud) {
+        planFields.clear();
+        interfaceBatchOptions = repositoryInterface.getAnnotation(BatchOptions.class);
+        interfacePageOptions = repositoryInterface.getAnnotation(PageOptions.class);
+        interfaceCached = repositoryInterface.getAnnotation(Cached.class);
+        interfaceCoalesced = repositoryInterface.getAnnotation(Coalesced.class);
+        interfaceLoaderOptions = repositoryInterface.getAnnotation(LoaderOptions.class);
+        interfaceQueryTimeout = repositoryInterface.getAnnotation(QueryTimeout.class);
+        methodFields.clear();
+        currentInterface = repositoryInterface;
+        currentCrud = standardCrud;
+        entityCache = standardCrud != null
+                ? ((DeclaredType) standardCrud.entityType()).asElement().getAnnotation(EntityCache.class)
+                : null;
         ClassName interfaceName = ClassName.get(repositoryInterface);
         String implName = interfaceName.simpleName() + "Impl";
 
@@ -100,9 +175,12 @@ final class RepositoryImplGenerator {
                 .build());
 
         for (ExecutableElement method : queryFileMethods) {
-            typeBuilder.addMethod(buildMethod(method));
+            typeBuilder.addMethod(buildMethod(method, queryTexts.get(method)));
         }
 
+        if (entityCache != null) {
+            typeBuilder.addField(buildEntityCacheField(standardCrud));
+        }
         if (standardCrud != null) {
             if (standardCrud.methods().stream().anyMatch(m -> m.operation() == StandardOperationType.UPDATE
                     || m.operation() == StandardOperationType.UPDATE_BATCH)) {
@@ -111,7 +189,12 @@ final class RepositoryImplGenerator {
             for (StandardMethod standardMethod : standardCrud.methods()) {
                 typeBuilder.addMethod(buildStandardMethod(standardMethod, standardCrud));
             }
+            if (standardCrud.methods().stream().anyMatch(m -> m.operation() == StandardOperationType.LOADER)) {
+                typeBuilder.addField(buildLoaderField(standardCrud));
+            }
         }
+        planFields.values().forEach(typeBuilder::addField);
+        methodFields.forEach(typeBuilder::addField);
 
         try {
             JavaFile.builder(interfaceName.packageName(), typeBuilder.build()).build().writeTo(filer);
@@ -121,13 +204,26 @@ final class RepositoryImplGenerator {
         }
     }
 
-    private MethodSpec buildMethod(ExecutableElement method) {
+    /**
+     * {@code queryText} is the query file's contents as read at compile time,
+     * or null if it wasn't available. A method with a {@code RequestFilters}
+     * parameter always loads its file at runtime instead, since the filters
+     * rewrite the text per call.
+     */
+    private MethodSpec buildMethod(ExecutableElement method, String queryText) {
         QueryFile queryFile = method.getAnnotation(QueryFile.class);
         String fileName = queryFile.value();
         boolean isBatch = queryFile.isBatch();
         QueryOperation operation = queryFile.operation();
         String methodName = method.getSimpleName().toString();
-        TypeMirror returnType = method.getReturnType();
+        QueryTimeout timeout = method.getAnnotation(QueryTimeout.class);
+        queryTimeoutMillis = queryTimeoutMillis(timeout != null ? timeout : interfaceQueryTimeout, method);
+        // CompletableFuture<T> methods run the body a T method would, on the
+        // async executor.
+        TypeMirror declaredReturnType = method.getReturnType();
+        boolean isAsync = ProcessorSupport.isType(declaredReturnType, ProcessorSupport.COMPLETABLE_FUTURE);
+        TypeMirror returnType = isAsync ? ((DeclaredType) declaredReturnType).getTypeArguments().get(0)
+                : declaredReturnType;
 
         VariableElement filtersParam = null;
         VariableElement paginationParam = null;
@@ -145,8 +241,15 @@ final class RepositoryImplGenerator {
             }
         }
 
-        CodeBlock entityClassExpr = resolveEntityClassExpr(returnType, classParam);
-        TypeName statementGeneric = resolveStatementGeneric(returnType);
+        // Stream<T>/ResultCursor<T> methods map rows of T, one at a time, and
+        // Optional<T> methods a single row of T.
+        boolean isCursor = ProcessorSupport.isCursorType(returnType);
+        boolean isOptional = ProcessorSupport.isType(returnType, ProcessorSupport.OPTIONAL);
+        TypeMirror resultType = isCursor || isOptional ? ((DeclaredType) returnType).getTypeArguments().get(0)
+                : returnType;
+
+        CodeBlock entityClassExpr = resolveEntityClassExpr(resultType, classParam);
+        TypeName statementGeneric = resolveStatementGeneric(resultType);
         TypeName statementType = ParameterizedTypeName.get(WireJTypes.DATABASE_STATEMENT, statementGeneric);
 
         boolean isSelect = operation != QueryOperation.AUTO ? operation == QueryOperation.SELECT
@@ -157,29 +260,63 @@ final class RepositoryImplGenerator {
         MethodSpec.Builder method_ = MethodSpec.methodBuilder(methodName)
                 .addAnnotation(Override.class)
                 .addModifiers(Modifier.PUBLIC)
-                .returns(TypeName.get(returnType));
+                .returns(TypeName.get(declaredReturnType));
         for (VariableElement parameter : method.getParameters()) {
             method_.addParameter(TypeName.get(parameter.asType()), parameter.getSimpleName().toString());
         }
 
+        boolean precompiled = queryText != null && filtersParam == null;
+
         CodeBlock.Builder body = CodeBlock.builder();
         body.addStatement("$T stmt = null", statementType);
         body.beginControlFlow("try");
-        body.addStatement("stmt = new $T<>($S, $L, $L, $L, this.rsqlParser, this.connectionHandler)",
-                WireJTypes.DATABASE_STATEMENT, fileName,
-                filtersParam != null ? filtersParam.getSimpleName().toString() : "null",
-                paginationParam != null ? paginationParam.getSimpleName().toString() : "null",
-                entityClassExpr);
+        if (precompiled) {
+            body.addStatement("stmt = $T.forPlan($L, $S, $L, $L, this.connectionHandler)",
+                    WireJTypes.DATABASE_STATEMENT, planConstant(queryText, methodName), fileName,
+                    paginationParam != null ? paginationParam.getSimpleName().toString() : "null",
+                    entityClassExpr);
+            addQueryTimeout(body, "stmt");
+        } else {
+            body.addStatement("stmt = new $T<>($S, $L, $L, $L, this.rsqlParser, this.connectionHandler)",
+                    WireJTypes.DATABASE_STATEMENT, fileName,
+                    filtersParam != null ? filtersParam.getSimpleName().toString() : "null",
+                    paginationParam != null ? paginationParam.getSimpleName().toString() : "null",
+                    entityClassExpr);
+            addQueryTimeout(body, "stmt");
+        }
+        // A Class<T> parameter picks the result type at runtime, so only a
+        // statically known entity can be given its generated mapper.
+        if (classParam == null) {
+            addRowMapper(body, "stmt", resultType.getKind() == TypeKind.ARRAY
+                    ? ((ArrayType) resultType).getComponentType()
+                    : resultType);
+        }
 
         if (isBatch && !isSelect && !isCount) {
+            addBatchOptions(body, method.getAnnotation(BatchOptions.class));
             addBatchBindings(body, normalParams);
         } else {
             addScalarBindings(body, normalParams);
         }
 
-        addDispatch(body, isSelect, isCount, isBatch, returnType);
+        if (isCursor) {
+            // The cursor owns the connection from here on - it is released
+            // when the caller closes the cursor or stream, not by this method.
+            body.addStatement("return stmt.$L($L)$L",
+                    ProcessorSupport.isBasicType(resultType) ? "openSingleValueCursor" : "openCursor",
+                    queryFile.fetchSize(),
+                    ProcessorSupport.isType(returnType, ProcessorSupport.STREAM) ? ".stream()" : "");
+        } else {
+            addDispatch(body, isSelect, isCount, isBatch, queryFile.unique(), resultType, isOptional);
+        }
 
-        body.nextControlFlow("catch ($T | $T e)", WireJTypes.IO_EXCEPTION, WireJTypes.SQL_EXCEPTION);
+        // Only the file-loading constructor declares IOException - javac rejects
+        // a catch clause for a checked exception the try block can't throw.
+        if (precompiled) {
+            body.nextControlFlow("catch ($T e)", WireJTypes.SQL_EXCEPTION);
+        } else {
+            body.nextControlFlow("catch ($T | $T e)", WireJTypes.IO_EXCEPTION, WireJTypes.SQL_EXCEPTION);
+        }
         body.addStatement("$T.closeQuietly(stmt)", WireJTypes.DATABASE_STATEMENT);
         body.addStatement("throw new $T($S + $L.getSimpleName() + $S + e.getMessage(), e)",
                 WireJTypes.WIREJ_EXCEPTION,
@@ -190,14 +327,202 @@ final class RepositoryImplGenerator {
         body.addStatement("throw e");
         body.endControlFlow();
 
-        method_.addCode(body.build());
+        CodeBlock code = body.build();
+        Cached cached = method.getAnnotation(Cached.class);
+        Coalesced coalesced = method.getAnnotation(Coalesced.class);
+        if (!isSelect && !isCount) {
+            if (cached != null || coalesced != null && coalesced.value()) {
+                messager.printMessage(Diagnostic.Kind.ERROR, (cached != null ? "@Cached" : "@Coalesced")
+                        + " only applies to reads, but '" + methodName + "' writes", method);
+            }
+            code = invalidating(code, writtenTables(queryText), true);
+        } else if (isCursor || ProcessorSupport.isVoid(returnType)) {
+            if (cached != null || coalesced != null && coalesced.value()) {
+                messager.printMessage(Diagnostic.Kind.ERROR, (cached != null ? "@Cached" : "@Coalesced")
+                        + " needs a method returning a value, not a cursor: '" + methodName + "'", method);
+            }
+        } else {
+            if (coalesced != null ? coalesced.value() : interfaceCoalesced != null && interfaceCoalesced.value()) {
+                code = coalesced(code, methodName, method.getParameters());
+            }
+            if (cached != null || interfaceCached != null) {
+                code = cached(code, cached != null ? cached : interfaceCached, methodName, method.getParameters(),
+                        method);
+            }
+        }
+        code = observed(code, methodName);
+        method_.addCode(isAsync ? runAsync(code, ProcessorSupport.isVoid(returnType)) : code);
         return method_.build();
     }
 
+    /**
+     * Wraps a method's body so each call is observed; async methods are
+     * observed where they run, on the executor.
+     */
+    private CodeBlock observed(CodeBlock body, String methodName) {
+        CodeBlock start = CodeBlock.of("$T.repository(this.connectionHandler.getObservationRegistry(), $S, $S)",
+                WireJTypes.METHOD_OBSERVATION, currentInterface.getSimpleName().toString(), methodName);
+        return ProcessorSupport.observed(start, body);
+    }
+
+    private long queryTimeoutMillis(QueryTimeout timeout, Element element) {
+        if (timeout == null) {
+            return 0;
+        }
+        if (timeout.value() < 1) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "@QueryTimeout must be positive", element);
+            return 0;
+        }
+        return timeout.unit().toMillis(timeout.value());
+    }
+
+    /** Gives a statement just created the timeout of the method being generated, if it has one. */
+    private void addQueryTimeout(CodeBlock.Builder body, String statementVar) {
+        if (queryTimeoutMillis > 0) {
+            body.addStatement("$L.setQueryTimeout($LL)", statementVar, queryTimeoutMillis);
+        }
+    }
+
+    /**
+     * Wraps a read's body so its result is served from a {@code ResultCache}
+     * field, keyed by the method's arguments.
+     */
+    private CodeBlock cached(CodeBlock body, Cached cached, String methodName,
+            List<? extends VariableElement> parameters, Element element) {
+        String[] tables = cached.tables();
+        if (tables.length == 0 && currentCrud != null) {
+            tables = new String[] { currentCrud.tableName() };
+        } else if (tables.length == 0) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "@Cached on '" + methodName + "' must name the tables "
+                    + "it reads with tables = {...}, since " + currentInterface.getSimpleName()
+                    + " has no entity table", element);
+            return body;
+        }
+        if (cached.maxEntries() < 1) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "@Cached(maxEntries) must be at least 1", element);
+        }
+
+        String fieldName = methodFieldName(methodName + "Cache");
+        CodeBlock.Builder initializer = CodeBlock.builder().add("new $T($LL, $T.$L, $L", WireJTypes.RESULT_CACHE,
+                cached.ttl(), TimeUnit.class, cached.unit().name(), cached.maxEntries());
+        for (String table : tables) {
+            initializer.add(", $S", table);
+        }
+        methodFields.add(FieldSpec.builder(WireJTypes.RESULT_CACHE, fieldName, Modifier.PRIVATE, Modifier.FINAL)
+                .initializer(initializer.add(")").build()).build());
+        return keyedBy(fieldName + ".get", parameters, body);
+    }
+
+    /**
+     * Wraps a read's body so concurrent calls with equal arguments share one
+     * execution of it, through a {@code SingleFlight} field.
+     */
+    private CodeBlock coalesced(CodeBlock body, String methodName, List<? extends VariableElement> parameters) {
+        String fieldName = methodFieldName(methodName + "Flight");
+        methodFields.add(FieldSpec.builder(WireJTypes.SINGLE_FLIGHT, fieldName, Modifier.PRIVATE, Modifier.FINAL)
+                .initializer("new $T()", WireJTypes.SINGLE_FLIGHT).build());
+        return keyedBy(fieldName + ".run", parameters, body);
+    }
+
+    /** {@code return this.<call>(new Object[] { <parameters> }, () -> { <body> });} */
+    private static CodeBlock keyedBy(String call, List<? extends VariableElement> parameters, CodeBlock body) {
+        String arguments = parameters.stream().map(parameter -> parameter.getSimpleName().toString())
+                .collect(Collectors.joining(", "));
+        return CodeBlock.builder()
+                .add("return this.$L(new Object[] {$L}, () -> {\n", call,
+                        arguments.isEmpty() ? "" : " " + arguments + " ")
+                .indent()
+                .add(body)
+                .unindent()
+                .add("});\n")
+                .build();
+    }
+
+    // Overloads of one method each get their own field.
+    private String methodFieldName(String baseName) {
+        String fieldName = baseName;
+        for (int suffix = 2; isMethodFieldNameTaken(fieldName); suffix++) {
+            fieldName = baseName + suffix;
+        }
+        return fieldName;
+    }
+
+    private boolean isMethodFieldNameTaken(String fieldName) {
+        return methodFields.stream().anyMatch(field -> field.name.equals(fieldName));
+    }
+
+    /**
+     * Wraps a write's body so it invalidates the cached reads of
+     * {@code tables} - or of every table, when null - whether it succeeds or
+     * not: a failed batch may still have written part of its rows. Standard
+     * writes keep entity caches up to date row by row themselves; writes
+     * whose rows are unknown drop the tables' cached entities too.
+     */
+    private CodeBlock invalidating(CodeBlock body, List<String> tables, boolean rowsUnknown) {
+        CodeBlock.Builder invalidating = CodeBlock.builder()
+                .beginControlFlow("try")
+                .add(body)
+                .nextControlFlow("finally");
+        addInvalidation(invalidating, WireJTypes.RESULT_CACHE, tables);
+        if (rowsUnknown) {
+            addInvalidation(invalidating, WireJTypes.NEAR_CACHE, tables);
+        }
+        return invalidating.endControlFlow().build();
+    }
+
+    private void addInvalidation(CodeBlock.Builder body, ClassName cache, List<String> tables) {
+        if (tables == null) {
+            body.addStatement("$T.invalidateAll()", cache);
+        } else {
+            body.addStatement("$T.invalidate($L)", cache, tables.stream()
+                    .map(table -> CodeBlock.of("$S", table)).collect(CodeBlock.joining(", ")));
+        }
+    }
+
+    /**
+     * The tables a query file's SQL inserts into, updates, deletes from,
+     * merges into or truncates, or null when none can be found - a function
+     * call, say - and any table may have been written.
+     */
+    private static List<String> writtenTables(String queryText) {
+        if (queryText == null) {
+            return null;
+        }
+        List<String> tables = new ArrayList<>();
+        Matcher matcher = WRITTEN_TABLE.matcher(queryText);
+        while (matcher.find()) {
+            String table = matcher.group(1);
+            // ON CONFLICT ... DO UPDATE SET
+            if (!table.equalsIgnoreCase("SET") && !tables.contains(table)) {
+                tables.add(table);
+            }
+        }
+        return tables.isEmpty() ? null : tables;
+    }
+
+    /**
+     * Wraps a method body in a supplier run by the async executor. A body
+     * for a void result falls off the end of its try block, so the supplier
+     * returns null after it.
+     */
+    private CodeBlock runAsync(CodeBlock body, boolean voidResult) {
+        CodeBlock.Builder async = CodeBlock.builder()
+                .add("return this.connectionHandler.getAsyncExecutor().supply(() -> {\n")
+                .indent()
+                .add(body);
+        if (voidResult) {
+            async.addStatement("return null");
+        }
+        return async.unindent().add("});\n").build();
+    }
+
     private MethodSpec buildStandardMethod(StandardMethod standardMethod, StandardCrud crud) {
         ExecutableElement method = standardMethod.method();
         ExecutableType methodType = standardMethod.type();
         String methodName = method.getSimpleName().toString();
+        TypeMirror returnType = methodType.getReturnType();
+        boolean isAsync = ProcessorSupport.isType(returnType, ProcessorSupport.COMPLETABLE_FUTURE);
+        queryTimeoutMillis = queryTimeoutMillis(interfaceQueryTimeout, currentInterface);
 
         MethodSpec.Builder method_ = MethodSpec.methodBuilder(methodName)
                 .addAnnotation(Override.class)
@@ -212,14 +537,57 @@ final class RepositoryImplGenerator {
         CodeBlock body = switch (standardMethod.operation()) {
             case GET -> buildGetBody(parameters, crud, methodName);
             case GET_ALL -> buildGetAllBody(parameters, crud, methodName);
+            case GET_MANY -> buildGetManyBody(parameters, crud, methodName);
             case COUNT -> buildCountBody(parameters, crud, methodName);
             case GET_PAGE -> buildGetPageBody(parameters, crud, methodName);
+            case GET_KEYSET_PAGE -> buildGetKeysetPageBody(parameters, crud, methodName);
             case CREATE -> buildCreateBody(parameters, crud, methodName);
             case CREATE_BATCH -> buildCreateBatchBody(parameters, crud, methodName);
             case UPDATE -> buildUpdateBody(parameters, crud, methodName);
             case UPDATE_BATCH -> buildUpdateBatchBody(parameters, crud, methodName);
             case DELETE -> buildDeleteBody(parameters, crud, methodName);
+            case BULK_LOAD -> buildBulkLoadBody(parameters, crud, methodName);
+            case LOADER -> CodeBlock.builder().addStatement("return this.loader").build();
+        };
+        // These run several statements back to back; one unit of work lets
+        // them share a connection instead of borrowing one each.
+        if (standardMethod.operation() == StandardOperationType.GET_PAGE
+                || standardMethod.operation() == StandardOperationType.UPDATE
+                || standardMethod.operation() == StandardOperationType.UPDATE_BATCH) {
+            body = CodeBlock.builder()
+                    .beginControlFlow("try ($T unitOfWork = this.connectionHandler.openUnitOfWork())",
+                            WireJTypes.UNIT_OF_WORK)
+                    .add(body)
+                    .endControlFlow()
+                    .build();
+        }
+        boolean isRead = switch (standardMethod.operation()) {
+            case GET, GET_ALL, GET_MANY, COUNT, GET_PAGE, GET_KEYSET_PAGE -> true;
+            case CREATE, CREATE_BATCH, UPDATE, UPDATE_BATCH, DELETE, BULK_LOAD, LOADER -> false;
         };
+        if (isRead && interfaceCoalesced != null && interfaceCoalesced.value()) {
+            body = coalesced(body, methodName, parameters);
+        }
+        if (standardMethod.operation() == StandardOperationType.GET && entityCache != null) {
+            body = CodeBlock.builder()
+                    .add("return this.entityCache.get($L, () -> {\n", parameters.get(0).getSimpleName())
+                    .indent()
+                    .add(body)
+                    .unindent()
+                    .add("});\n")
+                    .build();
+        }
+        if (!isRead && standardMethod.operation() != StandardOperationType.LOADER) {
+            body = invalidating(body, List.of(crud.tableName()), false);
+        } else if (isRead && interfaceCached != null) {
+            body = cached(body, interfaceCached, methodName, parameters, method);
+        }
+        if (standardMethod.operation() != StandardOperationType.LOADER) {
+            body = observed(body, methodName);
+        }
+        if (isAsync) {
+            body = runAsync(body, ProcessorSupport.isVoid(((DeclaredType) returnType).getTypeArguments().get(0)));
+        }
         method_.addCode(body);
         return method_.build();
     }
@@ -233,15 +601,42 @@ final class RepositoryImplGenerator {
         body.addStatement("$T stmt = null",
                 ParameterizedTypeName.get(WireJTypes.DATABASE_STATEMENT, entityName));
         body.beginControlFlow("try");
-        body.addStatement("stmt = $T.forGeneratedQuery($S, $S, null, null, $T.class, this.rsqlParser, "
-                + "this.connectionHandler)", WireJTypes.DATABASE_STATEMENT, sql, queryName(crud, methodName),
+        body.addStatement("stmt = $T.forPlan($L, $S, null, $T.class, this.connectionHandler)",
+                WireJTypes.DATABASE_STATEMENT, planConstant(sql, methodName), queryName(crud, methodName),
                 entityName);
+        addQueryTimeout(body, "stmt");
+        addRowMapper(body, "stmt", crud.entityType());
         body.addStatement("stmt.setParameter($S, $L)", crud.pkColumn(), idParam);
         body.addStatement("return stmt.getResult()");
         addStandardCatches(body, crud, methodName);
         return body.build();
     }
 
+    private CodeBlock buildGetManyBody(List<? extends VariableElement> parameters, StandardCrud crud,
+            String methodName) {
+        String idsParam = parameters.get(0).getSimpleName().toString();
+        TypeName entityName = TypeName.get(crud.entityType());
+        String sql = "SELECT * FROM " + crud.tableName() + " WHERE " + crud.pkColumn() + " = ANY(:ids)";
+
+        CodeBlock.Builder body = CodeBlock.builder();
+        // An empty array would need a typed empty literal on PostgreSQL.
+        body.beginControlFlow("if ($L.isEmpty())", idsParam);
+        body.addStatement("return new $T[0]", entityName);
+        body.endControlFlow();
+        body.addStatement("$T stmt = null",
+                ParameterizedTypeName.get(WireJTypes.DATABASE_STATEMENT, entityName));
+        body.beginControlFlow("try");
+        body.addStatement("stmt = $T.forPlan($L, $S, null, $T.class, this.connectionHandler)",
+                WireJTypes.DATABASE_STATEMENT, planConstant(sql, methodName), queryName(crud, methodName),
+                entityName);
+        addQueryTimeout(body, "stmt");
+        addRowMapper(body, "stmt", crud.entityType());
+        body.addStatement("stmt.setArrayParameter($S, $L)", "ids", idsParam);
+        body.addStatement("return stmt.getResultList()");
+        addStandardCatches(body, crud, methodName);
+        return body.build();
+    }
+
     private CodeBlock buildGetAllBody(List<? extends VariableElement> parameters, StandardCrud crud,
             String methodName) {
         String filtersParam = parameters.get(0).getSimpleName().toString();
@@ -257,6 +652,8 @@ final class RepositoryImplGenerator {
         body.addStatement("stmt = $T.forGeneratedQuery($S, $S, $L, null, $T.class, this.rsqlParser, "
                 + "this.connectionHandler)", WireJTypes.DATABASE_STATEMENT, sql, queryName(crud, methodName),
                 filtersParam, entityName);
+        addQueryTimeout(body, "stmt");
+        addRowMapper(body, "stmt", crud.entityType());
         body.addStatement("return stmt.getResultList()");
         addStandardCatches(body, crud, methodName);
         return body.build();
@@ -278,6 +675,7 @@ final class RepositoryImplGenerator {
         body.addStatement("stmt = $T.forGeneratedQuery($S, $S, $L, null, $T.class, this.rsqlParser, "
                 + "this.connectionHandler)", WireJTypes.DATABASE_STATEMENT, sql, queryName(crud, methodName),
                 filtersParam, entityName);
+        addQueryTimeout(body, "stmt");
         body.addStatement("return stmt.getSingleValue()");
         addStandardCatches(body, crud, methodName);
         return body.build();
@@ -295,65 +693,84 @@ final class RepositoryImplGenerator {
         String filtersParam = parameters.get(0).getSimpleName().toString();
         String paginationParam = parameters.get(1).getSimpleName().toString();
         TypeName entityName = TypeName.get(crud.entityType());
-        TypeName longName = TypeName.get(Long.class);
-        String selectSql = "SELECT * FROM " + crud.tableName()
+        PageCountQuery countQuery = interfacePageOptions != null ? interfacePageOptions.countQuery()
+                : PageCountQuery.SEPARATE;
+        CountStrategy count = interfacePageOptions != null ? interfacePageOptions.count() : CountStrategy.EXACT;
+        long countCap = interfacePageOptions != null ? interfacePageOptions.countCap() : 1000;
+        if (countCap < 1) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "@PageOptions(countCap) must be at least 1",
+                    currentInterface);
+        }
+        // The window count adds a column the reflective mapper would try to
+        // map onto the entity; only a generated row mapper ignores it.
+        if (countQuery == PageCountQuery.WINDOW && rowMappers.mapperFor(crud.entityType()).isEmpty()) {
+            messager.printMessage(Diagnostic.Kind.WARNING, "@PageOptions(countQuery = WINDOW) needs a generated "
+                    + "row mapper for " + crud.entityType() + "; '" + methodName + "' counts with SEPARATE instead",
+                    currentInterface);
+            countQuery = PageCountQuery.SEPARATE;
+        }
+        String selectSql = "SELECT *"
+                + (countQuery == PageCountQuery.WINDOW
+                        ? DATABASE_STATEMENT_WINDOW_COUNT_SELECT
+                        : "")
+                + " FROM " + crud.tableName()
                 + " :filters :sorting OFFSET :initialPosition ROWS FETCH NEXT :pageSize ROWS ONLY";
-        String countSql = "SELECT count(*) FROM " + crud.tableName() + " :filters";
 
         CodeBlock.Builder body = CodeBlock.builder();
-        body.addStatement("$T dataStmt = null", ParameterizedTypeName.get(WireJTypes.DATABASE_STATEMENT, entityName));
-        body.addStatement("$T countStmt = null", ParameterizedTypeName.get(WireJTypes.DATABASE_STATEMENT, longName));
+        body.addStatement("$T stmt = null", ParameterizedTypeName.get(WireJTypes.DATABASE_STATEMENT, entityName));
         body.beginControlFlow("try");
-        body.addStatement("dataStmt = $T.forGeneratedQuery($S, $S, $L, $L, $T.class, this.rsqlParser, "
+        // The count statements are derived from this one, reusing its parsed
+        // filters, and close themselves.
+        body.addStatement("stmt = $T.forGeneratedQuery($S, $S, $L, $L, $T.class, this.rsqlParser, "
                 + "this.connectionHandler)", WireJTypes.DATABASE_STATEMENT, selectSql,
                 queryName(crud, methodName) + ".data", filtersParam, paginationParam, entityName);
-        body.addStatement("$T data = dataStmt.getResultList()", ArrayTypeName.of(entityName));
-        body.addStatement("countStmt = $T.forGeneratedQuery($S, $S, $L, null, $T.class, this.rsqlParser, "
-                + "this.connectionHandler)", WireJTypes.DATABASE_STATEMENT, countSql,
-                queryName(crud, methodName) + ".count", filtersParam, entityName);
-        body.addStatement("$T totalCount = countStmt.getSingleValue()", longName);
-        body.addStatement("return new $T<>(data, totalCount)", WireJTypes.PAGED_RESULT);
-        body.nextControlFlow("catch ($T e)", WireJTypes.SQL_EXCEPTION);
-        body.addStatement("$T.closeQuietly(dataStmt)", WireJTypes.DATABASE_STATEMENT);
-        body.addStatement("$T.closeQuietly(countStmt)", WireJTypes.DATABASE_STATEMENT);
-        body.addStatement("throw new $T($S + e.getMessage(), e)", WireJTypes.WIREJ_EXCEPTION,
-                "Query failed for repository method '" + methodName + "' (generated query: "
-                        + queryName(crud, methodName) + "): ");
-        body.nextControlFlow("catch ($T e)", WireJTypes.RUNTIME_EXCEPTION);
-        body.addStatement("$T.closeQuietly(dataStmt)", WireJTypes.DATABASE_STATEMENT);
-        body.addStatement("$T.closeQuietly(countStmt)", WireJTypes.DATABASE_STATEMENT);
-        body.addStatement("throw e");
-        body.endControlFlow();
+        addQueryTimeout(body, "stmt");
+        addRowMapper(body, "stmt", crud.entityType());
+        body.addStatement("return stmt.getPage($L, $T.$L, $T.$L, $LL, $S, $S)", paginationParam,
+                PageCountQuery.class, countQuery.name(), CountStrategy.class, count.name(), countCap,
+                crud.tableName(), queryName(crud, methodName) + ".count");
+        addStandardCatches(body, crud, methodName);
+        return body.build();
+    }
+
+    private CodeBlock buildGetKeysetPageBody(List<? extends VariableElement> parameters, StandardCrud crud,
+            String methodName) {
+        String filtersParam = parameters.get(0).getSimpleName().toString();
+        String paginationParam = parameters.get(1).getSimpleName().toString();
+        TypeName entityName = TypeName.get(crud.entityType());
+        // :seek and :sorting are filled in per call from the filters' sort
+        // plus the primary key, and the previous page's token.
+        String sql = "SELECT * FROM " + crud.tableName()
+                + " WHERE :seek :filters :sorting FETCH FIRST :rowLimit ROWS ONLY";
+
+        CodeBlock.Builder body = CodeBlock.builder();
+        body.addStatement("$T stmt = null", ParameterizedTypeName.get(WireJTypes.DATABASE_STATEMENT, entityName));
+        body.beginControlFlow("try");
+        body.addStatement("stmt = $T.forKeysetPage($S, $S, $L, $L, $S, $T.class, this.rsqlParser, "
+                + "this.connectionHandler)", WireJTypes.DATABASE_STATEMENT, sql, queryName(crud, methodName),
+                filtersParam, paginationParam, crud.pkColumn(), entityName);
+        addQueryTimeout(body, "stmt");
+        addRowMapper(body, "stmt", crud.entityType());
+        body.addStatement("return stmt.getKeysetPage()");
+        addStandardCatches(body, crud, methodName);
         return body.build();
     }
 
     private CodeBlock buildCreateBody(List<? extends VariableElement> parameters, StandardCrud crud,
             String methodName) {
         String entityParam = parameters.get(0).getSimpleName().toString();
-        List<VariableElement> fields = ProcessorSupport
-                .persistableFields((TypeElement) ((DeclaredType) crud.entityType()).asElement());
-
-        StringBuilder columns = new StringBuilder();
-        StringBuilder values = new StringBuilder();
-        for (VariableElement field : fields) {
-            String column = ProcessorSupport.resolveParameterName(field, field.getSimpleName().toString(), elements);
-            if (columns.length() > 0) {
-                columns.append(", ");
-                values.append(", ");
-            }
-            columns.append(column);
-            values.append(":").append(column);
-        }
-        String sql = "INSERT INTO " + crud.tableName() + " (" + columns + ") VALUES (" + values + ")";
+        String sql = insertSql(crud);
 
         CodeBlock.Builder body = CodeBlock.builder();
         body.addStatement("$T stmt = null",
                 ParameterizedTypeName.get(WireJTypes.DATABASE_STATEMENT, TypeName.get(Void.class)));
         body.beginControlFlow("try");
-        body.addStatement("stmt = $T.forGeneratedQuery($S, $S, null, null, void.class, this.rsqlParser, "
-                + "this.connectionHandler)", WireJTypes.DATABASE_STATEMENT, sql, queryName(crud, methodName));
-        body.addStatement("$T.bindObjectFields($L, stmt)", WireJTypes.PARAMETER_BINDER, entityParam);
+        body.addStatement("stmt = $T.forPlan($L, $S, null, void.class, this.connectionHandler)",
+                WireJTypes.DATABASE_STATEMENT, planConstant(sql, methodName), queryName(crud, methodName));
+        addQueryTimeout(body, "stmt");
+        addObjectBinding(body, crud.entityType(), entityParam);
         body.addStatement("stmt.execute()");
+        addEntityCacheEvict(body, crud, entityParam);
         body.addStatement("return $L", entityParam);
         addStandardCatches(body, crud, methodName);
         return body.build();
@@ -363,6 +780,9 @@ final class RepositoryImplGenerator {
             String methodName) {
         String idParam = parameters.get(0).getSimpleName().toString();
         String changesParam = parameters.get(1).getSimpleName().toString();
+        TypeName entityName = TypeName.get(crud.entityType());
+        String selectSql = "SELECT * FROM " + crud.tableName() + " WHERE " + crud.pkColumn() + " = :"
+                + crud.pkColumn();
 
         CodeBlock.Builder body = CodeBlock.builder();
         body.beginControlFlow("if ($L == null || $L.isEmpty())", changesParam, changesParam);
@@ -395,44 +815,59 @@ final class RepositoryImplGenerator {
                 + "this.rsqlParser, this.connectionHandler)", WireJTypes.DATABASE_STATEMENT,
                 "UPDATE " + crud.tableName() + " SET ", " WHERE " + crud.pkColumn() + " = :" + crud.pkColumn(),
                 queryName(crud, methodName));
+        addQueryTimeout(body, "stmt");
         body.addStatement("boundValues.forEach(stmt::setParameter)");
         body.addStatement("stmt.setParameter($S, $L)", crud.pkColumn(), idParam);
         body.addStatement("stmt.execute()");
-        body.addStatement("return this.get($L)", idParam);
         addStandardCatches(body, crud, methodName);
+
+        // The row is re-read with a statement of its own rather than through
+        // get(): a coalesced get already in flight, or a cached entry, would
+        // answer with the row as it was before this update.
+        body.addStatement("$T.invalidate($S)", WireJTypes.RESULT_CACHE, crud.tableName());
+        body.addStatement("$T selectStmt = null", ParameterizedTypeName.get(WireJTypes.DATABASE_STATEMENT, entityName));
+        body.beginControlFlow("try");
+        body.addStatement("selectStmt = $T.forPlan($L, $S, null, $T.class, this.connectionHandler)",
+                WireJTypes.DATABASE_STATEMENT, planConstant(selectSql, methodName),
+                queryName(crud, methodName) + ".select", entityName);
+        addQueryTimeout(body, "selectStmt");
+        addRowMapper(body, "selectStmt", crud.entityType());
+        body.addStatement("selectStmt.setParameter($S, $L)", crud.pkColumn(), idParam);
+        body.addStatement("$T row = selectStmt.getResult()", entityName);
+        if (entityCache != null) {
+            body.addStatement("this.entityCache.evict($L)", idParam);
+            body.beginControlFlow("if (row != null)");
+            addEntityCachePut(body, crud, "row");
+            body.endControlFlow();
+        }
+        body.addStatement("return row");
+        addReadBackCatches(body, crud, methodName);
         return body.build();
     }
 
     private CodeBlock buildCreateBatchBody(List<? extends VariableElement> parameters, StandardCrud crud,
             String methodName) {
         String entitiesParam = parameters.get(0).getSimpleName().toString();
-        List<VariableElement> fields = ProcessorSupport
-                .persistableFields((TypeElement) ((DeclaredType) crud.entityType()).asElement());
-
-        StringBuilder columns = new StringBuilder();
-        StringBuilder values = new StringBuilder();
-        for (VariableElement field : fields) {
-            String column = ProcessorSupport.resolveParameterName(field, field.getSimpleName().toString(), elements);
-            if (columns.length() > 0) {
-                columns.append(", ");
-                values.append(", ");
-            }
-            columns.append(column);
-            values.append(":").append(column);
-        }
-        String sql = "INSERT INTO " + crud.tableName() + " (" + columns + ") VALUES (" + values + ")";
+        String sql = insertSql(crud);
 
         CodeBlock.Builder body = CodeBlock.builder();
         body.addStatement("$T stmt = null",
                 ParameterizedTypeName.get(WireJTypes.DATABASE_STATEMENT, TypeName.get(Void.class)));
         body.beginControlFlow("try");
-        body.addStatement("stmt = $T.forGeneratedQuery($S, $S, null, null, void.class, this.rsqlParser, "
-                + "this.connectionHandler)", WireJTypes.DATABASE_STATEMENT, sql, queryName(crud, methodName));
+        body.addStatement("stmt = $T.forPlan($L, $S, null, void.class, this.connectionHandler)",
+                WireJTypes.DATABASE_STATEMENT, planConstant(sql, methodName), queryName(crud, methodName));
+        addQueryTimeout(body, "stmt");
+        addBatchOptions(body, interfaceBatchOptions);
         body.beginControlFlow("for ($T item : $L)", TypeName.get(crud.entityType()), entitiesParam);
-        body.addStatement("$T.bindObjectFields(item, stmt)", WireJTypes.PARAMETER_BINDER);
+        addObjectBinding(body, crud.entityType(), "item");
         body.addStatement("stmt.addBatch()");
         body.endControlFlow();
         body.addStatement("stmt.executeBatch()");
+        if (entityCache != null) {
+            body.beginControlFlow("for ($T item : $L)", TypeName.get(crud.entityType()), entitiesParam);
+            addEntityCacheEvict(body, crud, "item");
+            body.endControlFlow();
+        }
         body.addStatement("return $L", entitiesParam);
         addStandardCatches(body, crud, methodName);
         return body.build();
@@ -507,6 +942,7 @@ final class RepositoryImplGenerator {
                 + "this.rsqlParser, this.connectionHandler)", WireJTypes.DATABASE_STATEMENT,
                 "UPDATE " + crud.tableName() + " SET ", " WHERE " + crud.pkColumn() + " = :" + crud.pkColumn(),
                 queryName(crud, methodName));
+        addQueryTimeout(body, "stmt");
         body.beginControlFlow("for ($T item : group.getValue())", batchPatchItemOfId);
         body.beginControlFlow("for (int i = 0; i < orderedKeys.size(); i++)");
         body.addStatement("stmt.setParameter(paramNames.get(i), item.changes().get(orderedKeys.get(i)))");
@@ -537,19 +973,22 @@ final class RepositoryImplGenerator {
                 ")",
                 queryName(crud, methodName) + ".select",
                 entityName);
+        addQueryTimeout(body, "selectStmt");
+        addRowMapper(body, "selectStmt", crud.entityType());
         body.beginControlFlow("for (int i = 0; i < allIds.size(); i++)");
         body.addStatement("selectStmt.setParameter($S + i, allIds.get(i))", "batch_pk_");
         body.endControlFlow();
-        body.addStatement("return selectStmt.getResultList()");
-        body.nextControlFlow("catch ($T e)", WireJTypes.SQL_EXCEPTION);
-        body.addStatement("$T.closeQuietly(selectStmt)", WireJTypes.DATABASE_STATEMENT);
-        body.addStatement("throw new $T($S + e.getMessage(), e)", WireJTypes.WIREJ_EXCEPTION,
-                "Query failed for repository method '" + methodName + "' (generated query: "
-                        + queryName(crud, methodName) + ".select): ");
-        body.nextControlFlow("catch ($T e)", WireJTypes.RUNTIME_EXCEPTION);
-        body.addStatement("$T.closeQuietly(selectStmt)", WireJTypes.DATABASE_STATEMENT);
-        body.addStatement("throw e");
-        body.endControlFlow();
+        if (entityCache != null) {
+            body.addStatement("allIds.forEach(this.entityCache::evict)");
+            body.addStatement("$T[] rows = selectStmt.getResultList()", entityName);
+            body.beginControlFlow("for ($T row : rows)", entityName);
+            addEntityCachePut(body, crud, "row");
+            body.endControlFlow();
+            body.addStatement("return rows");
+        } else {
+            body.addStatement("return selectStmt.getResultList()");
+        }
+        addReadBackCatches(body, crud, methodName);
         return body.build();
     }
 
@@ -562,14 +1001,154 @@ final class RepositoryImplGenerator {
         body.addStatement("$T stmt = null",
                 ParameterizedTypeName.get(WireJTypes.DATABASE_STATEMENT, TypeName.get(Void.class)));
         body.beginControlFlow("try");
-        body.addStatement("stmt = $T.forGeneratedQuery($S, $S, null, null, void.class, this.rsqlParser, "
-                + "this.connectionHandler)", WireJTypes.DATABASE_STATEMENT, sql, queryName(crud, methodName));
+        body.addStatement("stmt = $T.forPlan($L, $S, null, void.class, this.connectionHandler)",
+                WireJTypes.DATABASE_STATEMENT, planConstant(sql, methodName), queryName(crud, methodName));
+        addQueryTimeout(body, "stmt");
         body.addStatement("stmt.setParameter($S, $L)", crud.pkColumn(), idParam);
         body.addStatement("stmt.execute()");
+        if (entityCache != null) {
+            body.addStatement("this.entityCache.evict($L)", idParam);
+        }
         addStandardCatches(body, crud, methodName);
         return body.build();
     }
 
+    /**
+     * Streams the entities through {@code COPY} on PostgreSQL, chunked batch
+     * inserts elsewhere (decided at runtime by {@code DatabaseStatement.copyIn}).
+     * Shares {@code create}'s INSERT plan - the COPY column list is the same
+     * list in the same order, which is what lets one bound row serve both.
+     */
+    private CodeBlock buildBulkLoadBody(List<? extends VariableElement> parameters, StandardCrud crud,
+            String methodName) {
+        String entitiesParam = parameters.get(0).getSimpleName().toString();
+        String copySql = "COPY " + crud.tableName() + " (" + String.join(", ", insertColumns(crud))
+                + ") FROM STDIN";
+
+        CodeBlock.Builder body = CodeBlock.builder();
+        body.addStatement("$T stmt = null",
+                ParameterizedTypeName.get(WireJTypes.DATABASE_STATEMENT, TypeName.get(Void.class)));
+        body.beginControlFlow("try");
+        body.addStatement("stmt = $T.forPlan($L, $S, null, void.class, this.connectionHandler)",
+                WireJTypes.DATABASE_STATEMENT, planConstant(insertSql(crud), methodName),
+                queryName(crud, methodName));
+        addQueryTimeout(body, "stmt");
+        addBatchOptions(body, interfaceBatchOptions);
+        entityBinders.binderFor(crud.entityType()).ifPresentOrElse(
+                binder -> body.addStatement("return stmt.copyIn($S, $L, $T.INSTANCE)", copySql, entitiesParam,
+                        binder),
+                () -> body.addStatement("return stmt.copyIn($S, $L, $T::bindObjectFields)", copySql, entitiesParam,
+                        WireJTypes.PARAMETER_BINDER));
+        addStandardCatches(body, crud, methodName);
+        return body.build();
+    }
+
+    /** The entity's persistable columns, in declaration order. */
+    private List<String> insertColumns(StandardCrud crud) {
+        return ProcessorSupport.persistableFields((TypeElement) ((DeclaredType) crud.entityType()).asElement())
+                .stream()
+                .map(field -> ProcessorSupport.resolveParameterName(field, field.getSimpleName().toString(), elements))
+                .toList();
+    }
+
+    private String insertSql(StandardCrud crud) {
+        List<String> columns = insertColumns(crud);
+        return "INSERT INTO " + crud.tableName() + " (" + String.join(", ", columns) + ") VALUES (:"
+                + String.join(", :", columns) + ")";
+    }
+
+    private void addObjectBinding(CodeBlock.Builder body, TypeMirror objectType, String objectVar) {
+        entityBinders.binderFor(objectType).ifPresentOrElse(
+                binder -> body.addStatement("$T.INSTANCE.bind($L, stmt)", binder, objectVar),
+                () -> body.addStatement("$T.bindObjectFields($L, stmt)", WireJTypes.PARAMETER_BINDER, objectVar));
+    }
+
+    private void addBatchOptions(CodeBlock.Builder body, BatchOptions options) {
+        if (options != null && (options.strategy() != BatchStrategy.JDBC_BATCH || options.chunkSize() != 0)) {
+            body.addStatement("stmt.setBatchOptions($T.$L, $L)", BatchStrategy.class, options.strategy().name(),
+                    options.chunkSize());
+        }
+    }
+
+    /**
+     * The {@code NearCache} every repository of an {@code @EntityCache}
+     * entity shares; each asks for it with the same settings.
+     */
+    private FieldSpec buildEntityCacheField(StandardCrud crud) {
+        if (entityCache.maxEntries() < 1) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "@EntityCache(maxEntries) must be at least 1",
+                    ((DeclaredType) crud.entityType()).asElement());
+        }
+        TypeName entityName = TypeName.get(crud.entityType());
+        return FieldSpec.builder(ParameterizedTypeName.get(WireJTypes.NEAR_CACHE, entityName,
+                TypeName.get(crud.idType()).box()), "entityCache", Modifier.PRIVATE, Modifier.FINAL)
+                .initializer("$T.forEntity($T.class, $S, $LL, $T.$L, $L)", WireJTypes.NEAR_CACHE, entityName,
+                        crud.tableName(), entityCache.ttl(), TimeUnit.class, entityCache.unit().name(),
+                        entityCache.maxEntries())
+                .build();
+    }
+
+    /** The BatchLoader {@code loader()} returns, sending its batches through {@code getMany}. */
+    private FieldSpec buildLoaderField(StandardCrud crud) {
+        TypeName entityName = TypeName.get(crud.entityType());
+        TypeName idName = TypeName.get(crud.idType()).box();
+        String getMany = crud.methods().stream().filter(m -> m.operation() == StandardOperationType.GET_MANY)
+                .map(m -> m.method().getSimpleName().toString()).findFirst().orElse("getMany");
+        String idAccessor = entityBinders.accessorFor(crud.entityType(), crud.pkFieldName());
+        if (idAccessor == null) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "loader() needs to read the primary key of "
+                    + entityName + ", but field '" + crud.pkFieldName() + "' has no getter", currentInterface);
+            idAccessor = crud.pkFieldName();
+        }
+        long window = interfaceLoaderOptions != null ? interfaceLoaderOptions.window() : 2;
+        String unit = interfaceLoaderOptions != null ? interfaceLoaderOptions.unit().name() : "MILLISECONDS";
+        int maxBatchSize = interfaceLoaderOptions != null ? interfaceLoaderOptions.maxBatchSize() : 1000;
+        if (maxBatchSize < 1) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "@LoaderOptions(maxBatchSize) must be at least 1",
+                    currentInterface);
+        }
+        return FieldSpec.builder(ParameterizedTypeName.get(WireJTypes.BATCH_LOADER, entityName, idName), "loader",
+                Modifier.PRIVATE, Modifier.FINAL)
+                .initializer("new $T<>(this::$L, row -> row.$L, $LL, $T.$L, $L)", WireJTypes.BATCH_LOADER, getMany,
+                        idAccessor, window, TimeUnit.class, unit, maxBatchSize)
+                .build();
+    }
+
+    /**
+     * Caches {@code rowVar}, a row just read back from the database, when the
+     * entity is cached and its primary key can be read; otherwise the next
+     * {@code get} loads it.
+     */
+    private void addEntityCachePut(CodeBlock.Builder body, StandardCrud crud, String rowVar) {
+        if (entityCache == null) {
+            return;
+        }
+        String idAccessor = entityBinders.accessorFor(crud.entityType(), crud.pkFieldName());
+        if (idAccessor != null) {
+            body.addStatement("this.entityCache.put($L.$L, $L)", rowVar, idAccessor, rowVar);
+        }
+    }
+
+    /**
+     * Evicts the entity {@code rowVar} was created from. The caller keeps
+     * that object and may go on changing it, so it is never cached itself;
+     * the next {@code get} loads the row.
+     */
+    private void addEntityCacheEvict(CodeBlock.Builder body, StandardCrud crud, String rowVar) {
+        if (entityCache == null) {
+            return;
+        }
+        String idAccessor = entityBinders.accessorFor(crud.entityType(), crud.pkFieldName());
+        if (idAccessor != null) {
+            body.addStatement("this.entityCache.evict($L.$L)", rowVar, idAccessor);
+        }
+    }
+
+    private void addRowMapper(CodeBlock.Builder body, String statementVar, TypeMirror entityType) {
+        rowMappers.mapperFor(entityType).ifPresent(
+                mapper -> body.addStatement("$L.setRowMapper($T.INSTANCE)", statementVar, mapper));
+    }
+
     private void addStandardCatches(CodeBlock.Builder body, StandardCrud crud, String methodName) {
         body.nextControlFlow("catch ($T e)", WireJTypes.SQL_EXCEPTION);
         body.addStatement("$T.closeQuietly(stmt)", WireJTypes.DATABASE_STATEMENT);
@@ -582,6 +1161,53 @@ final class RepositoryImplGenerator {
         body.endControlFlow();
     }
 
+    /** Like {@link #addStandardCatches}, for the {@code selectStmt} a write reads its rows back with. */
+    private void addReadBackCatches(CodeBlock.Builder body, StandardCrud crud, String methodName) {
+        body.nextControlFlow("catch ($T e)", WireJTypes.SQL_EXCEPTION);
+        body.addStatement("$T.closeQuietly(selectStmt)", WireJTypes.DATABASE_STATEMENT);
+        body.addStatement("throw new $T($S + e.getMessage(), e)", WireJTypes.WIREJ_EXCEPTION,
+                "Query failed for repository method '" + methodName + "' (generated query: "
+                        + queryName(crud, methodName) + ".select): ");
+        body.nextControlFlow("catch ($T e)", WireJTypes.RUNTIME_EXCEPTION);
+        body.addStatement("$T.closeQuietly(selectStmt)", WireJTypes.DATABASE_STATEMENT);
+        body.addStatement("throw e");
+        body.endControlFlow();
+    }
+
+    /**
+     * Returns the name of the {@code QueryPlan} constant compiled from
+     * {@code namedSql}, declaring it on first use. Named after the first
+     * method that needed it ({@code findById} -> {@code FIND_BY_ID_PLAN}),
+     * suffixed only if an overload already took that name for different SQL.
+     */
+    private String planConstant(String namedSql, String methodName) {
+        FieldSpec existing = planFields.get(namedSql);
+        if (existing != null) {
+            return existing.name;
+        }
+
+        String baseName = ProcessorSupport.toSnakeCase(methodName).toUpperCase() + "_PLAN";
+        String fieldName = baseName;
+        for (int suffix = 2; isPlanFieldNameTaken(fieldName); suffix++) {
+            fieldName = baseName + "_" + suffix;
+        }
+
+        ProcessorSupport.CompiledQuery compiled = ProcessorSupport.compileQuery(namedSql);
+        CodeBlock.Builder initializer = CodeBlock.builder().add("new $T($S", WireJTypes.QUERY_PLAN, compiled.sql());
+        for (String parameterName : compiled.parameterNames()) {
+            initializer.add(", $S", parameterName);
+        }
+        initializer.add(")");
+
+        planFields.put(namedSql, FieldSpec.builder(WireJTypes.QUERY_PLAN, fieldName, Modifier.PRIVATE,
+                Modifier.STATIC, Modifier.FINAL).initializer(initializer.build()).build());
+        return fieldName;
+    }
+
+    private boolean isPlanFieldNameTaken(String fieldName) {
+        return planFields.values().stream().anyMatch(field -> field.name.equals(fieldName));
+    }
+
     private String queryName(StandardCrud crud, String methodName) {
         return ((DeclaredType) crud.entityType()).asElement().getSimpleName() + "." + methodName;
     }
@@ -633,7 +1259,7 @@ final class RepositoryImplGenerator {
             if (ProcessorSupport.isBasicType(parameter.asType())) {
                 body.addStatement("stmt.setParameter($S, $L)", resolvedName, name);
             } else {
-                body.addStatement("$T.bindObjectFields($L, stmt)", WireJTypes.PARAMETER_BINDER, name);
+                addObjectBinding(body, parameter.asType(), name);
             }
         }
     }
@@ -652,7 +1278,7 @@ final class RepositoryImplGenerator {
             if (ProcessorSupport.isBasicType(componentType)) {
                 body.addStatement("stmt.setParameter($S, $L)", resolvedName, itemVar);
             } else {
-                body.addStatement("$T.bindObjectFields($L, stmt)", WireJTypes.PARAMETER_BINDER, itemVar);
+                addObjectBinding(body, componentType, itemVar);
             }
             body.addStatement("stmt.addBatch()");
             body.endControlFlow();
@@ -660,7 +1286,8 @@ final class RepositoryImplGenerator {
     }
 
     private void addDispatch(CodeBlock.Builder body, boolean isSelect, boolean isCount, boolean isBatch,
-            TypeMirror returnType) {
+            boolean unique, TypeMirror returnType, boolean isOptional) {
+        String singleRow = unique ? "stmt.getUniqueResult()" : "stmt.getResult()";
         if (isSelect) {
             if (returnType.getKind() == TypeKind.ARRAY) {
                 TypeMirror component = ((ArrayType) returnType).getComponentType();
@@ -669,20 +1296,20 @@ final class RepositoryImplGenerator {
             } else if (ProcessorSupport.isType(returnType, "java.lang.Long")
                     || ProcessorSupport.isType(returnType, "java.lang.Integer")
                     || ProcessorSupport.isType(returnType, "java.lang.Boolean")) {
-                body.addStatement("return stmt.getSingleValue()");
+                addReturn(body, "stmt.getSingleValue()", isOptional);
             } else {
-                body.addStatement("return stmt.getResult()");
+                addReturn(body, singleRow, isOptional);
             }
         } else if (isCount) {
-            body.addStatement("return stmt.getSingleValue()");
+            addReturn(body, "stmt.getSingleValue()", isOptional);
         } else if (!isBatch) {
-            if (returnType.getKind() == TypeKind.VOID) {
+            if (ProcessorSupport.isVoid(returnType)) {
                 body.addStatement("stmt.execute()");
             } else {
-                body.addStatement("return stmt.getResult()");
+                addReturn(body, singleRow, isOptional);
             }
         } else {
-            if (returnType.getKind() == TypeKind.VOID) {
+            if (ProcessorSupport.isVoid(returnType)) {
                 body.addStatement("stmt.executeBatch()");
             } else {
                 body.addStatement("return stmt.executeBatch()");
@@ -690,6 +1317,14 @@ final class RepositoryImplGenerator {
         }
     }
 
+    private void addReturn(CodeBlock.Builder body, String result, boolean isOptional) {
+        if (isOptional) {
+            body.addStatement("return $T.ofNullable($L)", Optional.class, result);
+        } else {
+            body.addStatement("return $L", result);
+        }
+    }
+
     private CodeBlock resolveEntityClassExpr(TypeMirror returnType, VariableElement classParam) {
         if (classParam != null) {
             return CodeBlock.of("$L", classParam.getSimpleName().toString());
@@ -698,7 +1333,7 @@ final class RepositoryImplGenerator {
             TypeMirror component = ((ArrayType) returnType).getComponentType();
             return CodeBlock.of("$T.class", TypeName.get(component));
         }
-        if (returnType.getKind() == TypeKind.VOID) {
+        if (ProcessorSupport.isVoid(returnType)) {
             return CodeBlock.of("void.class");
         }
         return CodeBlock.of("$T.class", TypeName.get(returnType));
@@ -0,0 +1,413 @@
+package io.github.gergilcan.wirej.processor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+
+/**
+ * Generates a {@code <Entity>RowMapper} next to each entity a repository
+ * returns, so generated repositories map result rows with typed
+ * {@code ResultSet} getters and direct setter calls instead of the reflective
+ * {@code PostgresEntityMapper} (which builds a column map per row and runs it
+ * through Jackson).
+ *
+ * A column maps to a field under the same names Jackson would have matched:
+ * the field name (or its {@code @JsonProperty} override) and every
+ * {@code @JsonAlias}. Only plain top-level classes with an accessible no-arg
+ * constructor qualify, and every field must have a supported getter and be
+ * settable through a setter (declared, or implied by Lombok's
+ * {@code @Data}/{@code @Setter}) or a non-private field. Anything else -
+ * inheritance, records, collection or JSON fields - gets no mapper and keeps
+ * the reflective path, so generating mappers never changes which entities
+ * can be returned.
+ */
+final class RowMapperGenerator {
+    private static final String JSON_ALIAS = "com.fasterxml.jackson.annotation.JsonAlias";
+    private static final String JSON_PROPERTY = "com.fasterxml.jackson.annotation.JsonProperty";
+    private static final String JSON_IGNORE = "com.fasterxml.jackson.annotation.JsonIgnore";
+    private static final String LOMBOK_DATA = "lombok.Data";
+    private static final String LOMBOK_SETTER = "lombok.Setter";
+    private static final String LOMBOK_NO_ARGS_CONSTRUCTOR = "lombok.NoArgsConstructor";
+    // Lombok annotations that replace the implicit no-arg constructor.
+    private static final List<String> LOMBOK_ARGS_CONSTRUCTORS = List.of(
+            "lombok.AllArgsConstructor", "lombok.Builder", "lombok.Value");
+
+    private static final ClassName ROW_MAPPER = ClassName.get("io.github.gergilcan.wirej.database", "RowMapper");
+    private static final ClassName RESULT_SET = ClassName.get("java.sql", "ResultSet");
+    private static final ClassName RESULT_SET_META_DATA = ClassName.get("java.sql", "ResultSetMetaData");
+
+    // Reference types with a dedicated JDBC getter, keyed by qualified name.
+    private static final Map<String, String> OBJECT_GETTERS = Map.of(
+            "java.lang.String", "getString",
+            "java.math.BigDecimal", "getBigDecimal",
+            "java.sql.Timestamp", "getTimestamp",
+            "java.sql.Date", "getDate",
+            "java.sql.Time", "getTime",
+            "java.util.Date", "getTimestamp");
+
+    // Boxed types read through their primitive getter plus wasNull().
+    private static final Map<String, TypeKind> BOXED_PRIMITIVES = Map.of(
+            "java.lang.Long", TypeKind.LONG,
+            "java.lang.Integer", TypeKind.INT,
+            "java.lang.Short", TypeKind.SHORT,
+            "java.lang.Byte", TypeKind.BYTE,
+            "java.lang.Double", TypeKind.DOUBLE,
+            "java.lang.Float", TypeKind.FLOAT,
+            "java.lang.Boolean", TypeKind.BOOLEAN);
+
+    // Types JDBC 4.2 drivers (PostgreSQL, H2) convert through getObject(int, Class).
+    private static final Set<String> CONVERTED_TYPES = Set.of(
+            "java.time.LocalDate", "java.time.LocalDateTime", "java.time.LocalTime",
+            "java.time.OffsetDateTime", "java.util.UUID");
+
+    private record MappedField(String propertyName, TypeMirror type, List<String> columnLabels, String setter) {
+    }
+
+    private final Filer filer;
+    private final Messager messager;
+    private final Elements elements;
+    private final Types types;
+
+    // Per qualified entity name: the generated mapper, or empty if the entity
+    // doesn't qualify. Lives as long as the processor, so an entity shared by
+    // several repositories (or seen again in a later round) is generated once.
+    private final Map<String, Optional<ClassName>> mappers = new HashMap<>();
+
+    RowMapperGenerator(Filer filer, Messager messager, Elements elements, Types types) {
+        this.filer = filer;
+        this.messager = messager;
+        this.elements = elements;
+        this.types = types;
+    }
+
+    /**
+     * Returns the row mapper for {@code entityType}, generating it on first
+     * request, or empty when the type has to go through reflective mapping.
+     */
+    Optional<ClassName> mapperFor(TypeMirror entityType) {
+        if (entityType.getKind() != TypeKind.DECLARED) {
+            return Optional.empty();
+        }
+        TypeElement entity = (TypeElement) ((DeclaredType) entityType).asElement();
+        return mappers.computeIfAbsent(entity.getQualifiedName().toString(), name -> generate(entity));
+    }
+
+    private Optional<ClassName> generate(TypeElement entity) {
+        String packageName = elements.getPackageOf(entity).getQualifiedName().toString();
+        if (packageName.startsWith("java.") || packageName.startsWith("javax.")) {
+            return Optional.empty();
+        }
+
+        String reason = checkEntityShape(entity);
+        List<MappedField> fields = new ArrayList<>();
+        if (reason == null) {
+            reason = collectFields(entity, fields);
+        }
+        if (reason != null) {
+            messager.printMessage(Diagnostic.Kind.NOTE, "No row mapper generated for " + entity.getQualifiedName()
+                    + " (" + reason + "); results are mapped reflectively.");
+            return Optional.empty();
+        }
+
+        ClassName entityName = ClassName.get(entity);
+        ClassName mapperName = ClassName.get(packageName, entity.getSimpleName() + "RowMapper");
+
+        TypeSpec mapper = TypeSpec.classBuilder(mapperName)
+                .addOriginatingElement(entity)
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .addSuperinterface(ParameterizedTypeName.get(ROW_MAPPER, entityName))
+                .addField(FieldSpec.builder(mapperName, "INSTANCE", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("new $T()", mapperName)
+                        .build())
+                .addMethod(MethodSpec.constructorBuilder().addModifiers(Modifier.PRIVATE).build())
+                .addMethod(buildResolveColumns(fields))
+                .addMethod(buildMapRow(entityName, fields))
+                .build();
+
+        try {
+            JavaFile.builder(packageName, mapper).build().writeTo(filer);
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.NOTE, "No row mapper generated for " + entity.getQualifiedName()
+                    + " (" + e.getMessage() + "); results are mapped reflectively.");
+            return Optional.empty();
+        }
+        return Optional.of(mapperName);
+    }
+
+    private String checkEntityShape(TypeElement entity) {
+        if (entity.getKind() != ElementKind.CLASS || entity.getNestingKind() != NestingKind.TOP_LEVEL
+                || entity.getModifiers().contains(Modifier.ABSTRACT)) {
+            return "not a concrete top-level class";
+        }
+        if (!entity.getTypeParameters().isEmpty()) {
+            return "generic class";
+        }
+        if (!ProcessorSupport.isType(entity.getSuperclass(), "java.lang.Object")) {
+            return "inherited fields";
+        }
+        if (!hasAccessibleNoArgConstructor(entity)) {
+            return "no accessible no-arg constructor";
+        }
+        return null;
+    }
+
+    private boolean hasAccessibleNoArgConstructor(TypeElement entity) {
+        if (ProcessorSupport.hasAnnotation(entity, LOMBOK_NO_ARGS_CONSTRUCTOR)) {
+            return true;
+        }
+        // Lombok may not have run yet, in which case javac still reports the
+        // implicit default constructor that Lombok's own will replace.
+        boolean lombokReplacesDefault = LOMBOK_ARGS_CONSTRUCTORS.stream()
+                .anyMatch(name -> ProcessorSupport.hasAnnotation(entity, name));
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(entity.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                return !(lombokReplacesDefault && elements.getOrigin(constructor) == Elements.Origin.MANDATED);
+            }
+        }
+        return false;
+    }
+
+    private String collectFields(TypeElement entity, List<MappedField> fields) {
+        Set<String> claimedLabels = new HashSet<>();
+        for (VariableElement field : ProcessorSupport.persistableFields(entity)) {
+            if (ProcessorSupport.hasAnnotation(field, JSON_IGNORE)) {
+                continue;
+            }
+            String fieldName = field.getSimpleName().toString();
+            if (!isReadable(field.asType())) {
+                return "field '" + fieldName + "' has no typed ResultSet getter";
+            }
+
+            String setter = findSetter(entity, field);
+            if (setter == null && (field.getModifiers().contains(Modifier.PRIVATE)
+                    || field.getModifiers().contains(Modifier.FINAL))) {
+                return "field '" + fieldName + "' has no setter";
+            }
+
+            // A label two fields both answer to goes to the first, as a
+            // duplicate case label wouldn't compile.
+            List<String> labels = new ArrayList<>();
+            String propertyName = annotationStringValues(field, JSON_PROPERTY).stream()
+                    .filter(name -> !name.isEmpty()).findFirst().orElse(fieldName);
+            for (String label : concat(propertyName, annotationStringValues(field, JSON_ALIAS))) {
+                if (claimedLabels.add(label)) {
+                    labels.add(label);
+                }
+            }
+            fields.add(new MappedField(fieldName, field.asType(), labels, setter));
+        }
+        return null;
+    }
+
+    private static List<String> concat(String first, List<String> rest) {
+        List<String> all = new ArrayList<>();
+        all.add(first);
+        all.addAll(rest);
+        return all;
+    }
+
+    private boolean isReadable(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return type.getKind() != TypeKind.CHAR;
+        }
+        if (type.getKind() == TypeKind.ARRAY) {
+            return ((ArrayType) type).getComponentType().getKind() == TypeKind.BYTE;
+        }
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+        String name = element.getQualifiedName().toString();
+        return element.getKind() == ElementKind.ENUM || OBJECT_GETTERS.containsKey(name)
+                || BOXED_PRIMITIVES.containsKey(name) || CONVERTED_TYPES.contains(name);
+    }
+
+    /**
+     * Returns the setter to call for {@code field}, or null to fall back to
+     * direct assignment. Lombok's annotations count as a setter even when its
+     * methods aren't visible yet; a private or NONE access level doesn't.
+     */
+    private String findSetter(TypeElement entity, VariableElement field) {
+        String fieldName = field.getSimpleName().toString();
+        String baseName = field.asType().getKind() == TypeKind.BOOLEAN && fieldName.startsWith("is")
+                && fieldName.length() > 2 && Character.isUpperCase(fieldName.charAt(2))
+                        ? fieldName.substring(2)
+                        : fieldName;
+        String setterName = "set" + Character.toUpperCase(baseName.charAt(0)) + baseName.substring(1);
+
+        for (ExecutableElement method : ElementFilter.methodsIn(entity.getEnclosedElements())) {
+            if (method.getSimpleName().contentEquals(setterName) && method.getParameters().size() == 1
+                    && !method.getModifiers().contains(Modifier.PRIVATE)
+                    && !method.getModifiers().contains(Modifier.STATIC)
+                    && types.isSameType(method.getParameters().get(0).asType(), field.asType())) {
+                return setterName;
+            }
+        }
+
+        Optional<Boolean> lombokSetter = ProcessorSupport.lombokAccessorAllowed(field, LOMBOK_SETTER)
+                .or(() -> ProcessorSupport.lombokAccessorAllowed(entity, LOMBOK_SETTER));
+        if (lombokSetter.isPresent()) {
+            return lombokSetter.get() ? setterName : null;
+        }
+        return ProcessorSupport.hasAnnotation(entity, LOMBOK_DATA) ? setterName : null;
+    }
+
+    private List<String> annotationStringValues(Element element, String annotationName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+            if (!annotationType.getQualifiedName().contentEquals(annotationName)) {
+                continue;
+            }
+            for (var entry : mirror.getElementValues().entrySet()) {
+                if (!entry.getKey().getSimpleName().contentEquals("value")) {
+                    continue;
+                }
+                Object value = entry.getValue().getValue();
+                if (value instanceof List<?> values) {
+                    return values.stream().map(item -> String.valueOf(((AnnotationValue) item).getValue())).toList();
+                }
+                return List.of(String.valueOf(value));
+            }
+        }
+        return List.of();
+    }
+
+    private MethodSpec buildResolveColumns(List<MappedField> fields) {
+        CodeBlock.Builder body = CodeBlock.builder();
+        body.addStatement("int[] columns = new int[$L]", fields.size());
+        body.beginControlFlow("for (int i = 1; i <= metaData.getColumnCount(); i++)");
+        body.beginControlFlow("switch (metaData.getColumnLabel(i))");
+        for (int i = 0; i < fields.size(); i++) {
+            List<String> labels = fields.get(i).columnLabels();
+            if (labels.isEmpty()) {
+                continue;
+            }
+            for (String label : labels) {
+                body.add("case $S:\n", label);
+            }
+            body.indent();
+            body.addStatement("columns[$L] = i", i);
+            body.addStatement("break");
+            body.unindent();
+        }
+        body.add("default:\n").indent().addStatement("break").unindent();
+        body.endControlFlow();
+        body.endControlFlow();
+        body.addStatement("return columns");
+
+        return MethodSpec.methodBuilder("resolveColumns")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(int[].class)
+                .addParameter(RESULT_SET_META_DATA, "metaData")
+                .addException(WireJTypes.SQL_EXCEPTION)
+                .addCode(body.build())
+                .build();
+    }
+
+    private MethodSpec buildMapRow(ClassName entityName, List<MappedField> fields) {
+        CodeBlock.Builder body = CodeBlock.builder();
+        body.addStatement("$T row = new $T()", entityName, entityName);
+        for (int i = 0; i < fields.size(); i++) {
+            MappedField field = fields.get(i);
+            if (field.columnLabels().isEmpty()) {
+                continue;
+            }
+            body.beginControlFlow("if (columns[$L] != 0)", i);
+            addRead(body, field, CodeBlock.of("columns[$L]", i));
+            body.endControlFlow();
+        }
+        body.addStatement("return row");
+
+        return MethodSpec.methodBuilder("mapRow")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(entityName)
+                .addParameter(RESULT_SET, "resultSet")
+                .addParameter(int[].class, "columns")
+                .addException(WireJTypes.SQL_EXCEPTION)
+                .addCode(body.build())
+                .build();
+    }
+
+    private void addRead(CodeBlock.Builder body, MappedField field, CodeBlock column) {
+        TypeMirror type = field.type();
+        if (type.getKind().isPrimitive()) {
+            addAssignment(body, field, CodeBlock.of("resultSet.$L($L)", primitiveGetter(type.getKind()), column));
+            return;
+        }
+        if (type.getKind() == TypeKind.ARRAY) {
+            addAssignment(body, field, CodeBlock.of("resultSet.getBytes($L)", column));
+            return;
+        }
+
+        TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+        String name = element.getQualifiedName().toString();
+        if (BOXED_PRIMITIVES.containsKey(name)) {
+            TypeKind primitive = BOXED_PRIMITIVES.get(name);
+            body.addStatement("$T value = resultSet.$L($L)", TypeName.get(types.getPrimitiveType(primitive)),
+                    primitiveGetter(primitive), column);
+            addAssignment(body, field, CodeBlock.of("resultSet.wasNull() ? null : value"));
+        } else if (element.getKind() == ElementKind.ENUM) {
+            body.addStatement("$T value = resultSet.getString($L)", String.class, column);
+            addAssignment(body, field, CodeBlock.of("value == null ? null : $T.valueOf(value)", TypeName.get(type)));
+        } else if (OBJECT_GETTERS.containsKey(name)) {
+            addAssignment(body, field, CodeBlock.of("resultSet.$L($L)", OBJECT_GETTERS.get(name), column));
+        } else {
+            addAssignment(body, field, CodeBlock.of("resultSet.getObject($L, $T.class)", column, TypeName.get(type)));
+        }
+    }
+
+    private void addAssignment(CodeBlock.Builder body, MappedField field, CodeBlock value) {
+        if (field.setter() != null) {
+            body.addStatement("row.$L($L)", field.setter(), value);
+        } else {
+            body.addStatement("row.$L = $L", field.propertyName(), value);
+        }
+    }
+
+    private static String primitiveGetter(TypeKind kind) {
+        return switch (kind) {
+            case LONG -> "getLong";
+            case INT -> "getInt";
+            case SHORT -> "getShort";
+            case BYTE -> "getByte";
+            case DOUBLE -> "getDouble";
+            case FLOAT -> "getFloat";
+            case BOOLEAN -> "getBoolean";
+            default -> throw new IllegalArgumentException("No ResultSet getter for " + kind);
+        };
+    }
+}
@@ -1,10 +1,16 @@
 package io.github.gergilcan.wirej.processor;
 
 import com.google.auto.service.AutoService;
+import io.github.gergilcan.wirej.annotations.BatchOptions;
+import io.github.gergilcan.wirej.annotations.BatchStrategy;
+import io.github.gergilcan.wirej.annotations.LoaderOptions;
+import io.github.gergilcan.wirej.annotations.PageOptions;
 import io.github.gergilcan.wirej.annotations.QueryFile;
+import io.github.gergilcan.wirej.annotations.QueryOperation;
 import io.github.gergilcan.wirej.annotations.ServiceClass;
 import io.github.gergilcan.wirej.annotations.ServiceMethod;
 import io.github.gergilcan.wirej.annotations.StandardOperation;
+import io.github.gergilcan.wirej.annotations.StandardOperationType;
 
 import javax.annotation.processing.*;
 import javax.lang.model.SourceVersion;
@@ -20,6 +26,8 @@ import javax.tools.Diagnostic;
 import javax.tools.StandardLocation;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
@@ -29,6 +37,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 // Explicitly list all annotations the processor might interact with.
@@ -55,8 +64,12 @@ public class ServiceMethodProcessor extends AbstractProcessor {
         messager = processingEnv.getMessager();
         controllerImplGenerator = new ControllerImplGenerator(processingEnv.getFiler(), messager,
                 processingEnv.getElementUtils());
+        RowMapperGenerator rowMapperGenerator = new RowMapperGenerator(processingEnv.getFiler(), messager,
+                processingEnv.getElementUtils(), processingEnv.getTypeUtils());
+        EntityBinderGenerator entityBinderGenerator = new EntityBinderGenerator(processingEnv.getFiler(), messager,
+                processingEnv.getElementUtils(), processingEnv.getTypeUtils());
         repositoryImplGenerator = new RepositoryImplGenerator(processingEnv.getFiler(), messager,
-                processingEnv.getElementUtils());
+                processingEnv.getElementUtils(), rowMapperGenerator, entityBinderGenerator);
         messager.printMessage(Diagnostic.Kind.NOTE, "ServiceMethodProcessor initialized.");
     }
 
@@ -326,7 +339,9 @@ public class ServiceMethodProcessor extends AbstractProcessor {
         for (TypeElement repositoryInterface : repositoryInterfaces) {
             List<ExecutableElement> queryFileMethods = queryFileMethodsByInterface.getOrDefault(repositoryInterface,
                     List.of());
-            boolean allValid = true;
+            Map<ExecutableElement, String> queryTexts = new LinkedHashMap<>();
+            boolean allValid = validateBatchChunkSize(repositoryInterface,
+                    repositoryInterface.getAnnotation(BatchOptions.class));
 
             for (ExecutableElement annotatedMethod : queryFileMethods) {
                 QueryFile queryFileAnnotation = annotatedMethod.getAnnotation(QueryFile.class);
@@ -337,14 +352,24 @@ public class ServiceMethodProcessor extends AbstractProcessor {
                     continue;
                 }
 
+                if (!validateAsyncReturnType(annotatedMethod)
+                        || !validateCursorReturnType(annotatedMethod, queryFileAnnotation)
+                        || !validateSingleRowReturnType(annotatedMethod, queryFileAnnotation)) {
+                    allValid = false;
+                    continue;
+                }
+
                 String resourcePath = queryFilePath.startsWith("/") ? queryFilePath.substring(1) : queryFilePath;
-                if (!validateQueryFileExists(annotatedMethod, resourcePath)) {
+                String queryText = loadQueryFile(annotatedMethod, resourcePath);
+                if (queryText == null || !validateBatchOptions(annotatedMethod, queryFileAnnotation, queryText)) {
                     allValid = false;
+                } else {
+                    queryTexts.put(annotatedMethod, queryText);
                 }
             }
 
             if (allValid) {
-                repositoryImplGenerator.generate(repositoryInterface, queryFileMethods,
+                repositoryImplGenerator.generate(repositoryInterface, queryFileMethods, queryTexts,
                         standardCrudByInterface.get(repositoryInterface));
             }
         }
@@ -433,6 +458,19 @@ public class ServiceMethodProcessor extends AbstractProcessor {
                         standardMethod.getAnnotation(StandardOperation.class).value()));
             }
 
+            if (repositoryInterface.getAnnotation(PageOptions.class) != null && resolvedMethods.stream()
+                    .noneMatch(method -> method.operation() == StandardOperationType.GET_PAGE)) {
+                messager.printMessage(Diagnostic.Kind.WARNING, "@PageOptions is ignored: '"
+                        + repositoryInterface.getSimpleName() + "' doesn't extend PagedRepository", repositoryInterface);
+            }
+
+            if (repositoryInterface.getAnnotation(LoaderOptions.class) != null && resolvedMethods.stream()
+                    .noneMatch(method -> method.operation() == StandardOperationType.LOADER)) {
+                messager.printMessage(Diagnostic.Kind.WARNING, "@LoaderOptions is ignored: '"
+                        + repositoryInterface.getSimpleName() + "' doesn't extend BatchLoadingRepository",
+                        repositoryInterface);
+            }
+
             result.put(repositoryInterface, new RepositoryImplGenerator.StandardCrud(entityType, idType,
                     tableName.get(), pkFieldName, pkColumn, resolvedMethods));
         }
@@ -501,8 +539,12 @@ public class ServiceMethodProcessor extends AbstractProcessor {
      * Falls back to the old classpath-scanning behavior only when the module
      * root can't be determined at all (e.g. some non-Maven/non-Gradle build) -
      * better than nothing for an unusual setup, but not relied on otherwise.
+     *
+     * Returns the file's contents (so the generator can compile its query plan
+     * at build time), or null after reporting an error when it can't be found
+     * or read.
      */
-    private boolean validateQueryFileExists(ExecutableElement method, String resourcePath) {
+    private String loadQueryFile(ExecutableElement method, String resourcePath) {
         File moduleRoot = resolveModuleRoot();
         boolean canCheckSource = moduleRoot != null && SOURCE_RESOURCE_ROOTS.stream()
                 .anyMatch(root -> new File(moduleRoot, root).isDirectory());
@@ -515,14 +557,20 @@ public class ServiceMethodProcessor extends AbstractProcessor {
                     messager.printMessage(Diagnostic.Kind.NOTE,
                             "✓ Found query file: " + resourcePath + " at " + candidate + " for method "
                                     + method.getSimpleName());
-                    return true;
+                    try {
+                        return Files.readString(candidate.toPath());
+                    } catch (IOException e) {
+                        error(method, "Query file " + candidate + " for method " + method.getSimpleName()
+                                + " could not be read: " + e.getMessage());
+                        return null;
+                    }
                 }
             }
 
             error(method, "Query file not found: " + resourcePath + " for method " + method.getSimpleName() +
                     ". Checked " + moduleRoot + "/src/main/resources/" + resourcePath + " and " +
                     moduleRoot + "/src/test/resources/" + resourcePath + ".");
-            return false;
+            return null;
         }
 
         for (StandardLocation location : CLASSPATH_LOOKUP_LOCATIONS) {
@@ -530,7 +578,7 @@ public class ServiceMethodProcessor extends AbstractProcessor {
                 messager.printMessage(Diagnostic.Kind.NOTE,
                         "✓ Found query file: " + resourcePath + " in " + location + " for method "
                                 + method.getSimpleName());
-                return true;
+                return new String(in.readAllBytes(), StandardCharsets.UTF_8);
             } catch (IOException e) {
             }
         }
@@ -539,7 +587,7 @@ public class ServiceMethodProcessor extends AbstractProcessor {
                 " for method " + method.getSimpleName() +
                 ". Module root could not be resolved, so only the compile classpath was checked (not " +
                 "src/main/resources/" + resourcePath + " or src/test/resources/" + resourcePath + " directly).");
-        return false;
+        return null;
     }
 
     /**
@@ -598,8 +646,157 @@ public class ServiceMethodProcessor extends AbstractProcessor {
         return true;
     }
 
+    /**
+     * {@code CompletableFuture<T>} runs the method on the async executor and
+     * otherwise behaves as a {@code T} return would, so it needs a concrete T.
+     * A cursor can't be one: it would hold its connection open on a thread
+     * the caller no longer controls.
+     */
+    private boolean validateAsyncReturnType(ExecutableElement method) {
+        TypeMirror returnType = method.getReturnType();
+        if (!ProcessorSupport.isType(returnType, ProcessorSupport.COMPLETABLE_FUTURE)) {
+            return true;
+        }
+        List<? extends TypeMirror> typeArguments = ((DeclaredType) returnType).getTypeArguments();
+        if (typeArguments.size() != 1 || (typeArguments.get(0).getKind() != TypeKind.DECLARED
+                && typeArguments.get(0).getKind() != TypeKind.ARRAY)) {
+            error(method, "@QueryFile method '%s' must declare a concrete result type, e.g. CompletableFuture<User>",
+                    method.getSimpleName());
+            return false;
+        }
+        TypeMirror resultType = typeArguments.get(0);
+        if (ProcessorSupport.isCursorType(resultType) || ProcessorSupport.isType(resultType, ProcessorSupport.ITERATOR)
+                || ProcessorSupport.isType(resultType, ProcessorSupport.COMPLETABLE_FUTURE)) {
+            error(method, "@QueryFile method '%s' returns %s, which is not supported; a streamed result can't be "
+                    + "completed asynchronously", method.getSimpleName(), returnType);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Streaming results hold a connection until the caller closes them, so the
+     * caller has to be code that can: a bare Iterator offers no close() at
+     * all, and streaming only makes sense for a single non-batch SELECT.
+     */
+    private boolean validateCursorReturnType(ExecutableElement method, QueryFile queryFile) {
+        TypeMirror returnType = ProcessorSupport.resultType(method.getReturnType());
+        if (ProcessorSupport.isType(returnType, ProcessorSupport.ITERATOR)) {
+            error(method, "@QueryFile method '%s' returns Iterator, which gives the caller no way to release the "
+                    + "connection behind it; return ResultCursor<T> (an AutoCloseable Iterator) or Stream<T> instead",
+                    method.getSimpleName());
+            return false;
+        }
+        if (!ProcessorSupport.isCursorType(returnType)) {
+            if (queryFile.fetchSize() != 0) {
+                messager.printMessage(Diagnostic.Kind.WARNING, "fetchSize is ignored: '" + method.getSimpleName()
+                        + "' doesn't return Stream<T> or ResultCursor<T>", method);
+            }
+            return true;
+        }
+
+        List<? extends TypeMirror> typeArguments = ((DeclaredType) returnType).getTypeArguments();
+        if (typeArguments.size() != 1 || typeArguments.get(0).getKind() != TypeKind.DECLARED) {
+            error(method, "@QueryFile method '%s' must declare a concrete element type, e.g. Stream<User>",
+                    method.getSimpleName());
+            return false;
+        }
+        if (queryFile.isBatch() || (queryFile.operation() != QueryOperation.AUTO
+                && queryFile.operation() != QueryOperation.SELECT)) {
+            error(method, "@QueryFile method '%s' returns %s, which is only supported for non-batch SELECT queries",
+                    method.getSimpleName(), returnType);
+            return false;
+        }
+        if (queryFile.fetchSize() < 0) {
+            error(method, "@QueryFile fetchSize must not be negative on '%s'", method.getSimpleName());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * {@code Optional<T>} wraps a single row (or single value) of T, so it
+     * needs a concrete T and can't come from a batch. {@code unique} only
+     * means something for those single-row returns.
+     */
+    private boolean validateSingleRowReturnType(ExecutableElement method, QueryFile queryFile) {
+        TypeMirror returnType = ProcessorSupport.resultType(method.getReturnType());
+        boolean isOptional = ProcessorSupport.isType(returnType, ProcessorSupport.OPTIONAL);
+        if (isOptional) {
+            List<? extends TypeMirror> typeArguments = ((DeclaredType) returnType).getTypeArguments();
+            if (typeArguments.size() != 1 || typeArguments.get(0).getKind() != TypeKind.DECLARED) {
+                error(method, "@QueryFile method '%s' must declare a concrete element type, e.g. Optional<User>",
+                        method.getSimpleName());
+                return false;
+            }
+            if (queryFile.isBatch()) {
+                error(method, "@QueryFile method '%s' returns %s, which is not supported for batch queries",
+                        method.getSimpleName(), returnType);
+                return false;
+            }
+        }
+        boolean singleRow = isOptional || (returnType.getKind() == TypeKind.DECLARED
+                && !ProcessorSupport.isCursorType(returnType) && !queryFile.isBatch());
+        if (queryFile.unique() && !singleRow) {
+            messager.printMessage(Diagnostic.Kind.WARNING, "unique is ignored: '" + method.getSimpleName()
+                    + "' doesn't return a single row", method);
+        }
+        return true;
+    }
+
+    private static final Pattern SINGLE_ROW_INSERT = Pattern.compile("(?is)^\\s*INSERT\\b.*\\bVALUES\\s*\\(.*");
+
+    /**
+     * {@code @BatchOptions} only affects batch queries, and the rewriting
+     * strategies rebuild the query's VALUES tuple per chunk, so they need a
+     * query that has one. The runtime re-checks the finer points (every
+     * parameter inside the tuple) when it first parses the query.
+     */
+    private boolean validateBatchOptions(ExecutableElement method, QueryFile queryFile, String queryText) {
+        BatchOptions options = method.getAnnotation(BatchOptions.class);
+        if (options == null) {
+            return true;
+        }
+        if (!queryFile.isBatch()) {
+            messager.printMessage(Diagnostic.Kind.WARNING, "@BatchOptions is ignored: '" + method.getSimpleName()
+                    + "' isn't an isBatch query", method);
+            return true;
+        }
+        if (options.strategy() != BatchStrategy.JDBC_BATCH && !SINGLE_ROW_INSERT.matcher(queryText).matches()) {
+            error(method, "@BatchOptions(strategy = %s) on '%s' needs an INSERT ... VALUES (...) query",
+                    options.strategy(), method.getSimpleName());
+            return false;
+        }
+        return validateBatchChunkSize(method, options);
+    }
+
+    private boolean validateBatchChunkSize(Element element, BatchOptions options) {
+        if (options != null && options.chunkSize() < 0) {
+            error(element, "@BatchOptions chunkSize must not be negative on '%s'", element.getSimpleName());
+            return false;
+        }
+        return true;
+    }
+
     private void checkReturnTypeCompatible(Element diagnosticAnchor, TypeMirror substitutedReturnType,
             ExecutableElement targetMethod, String methodName, TypeMirror targetClass) {
+        // The generated controller hands the service result straight to
+        // ResponseEntity and never closes it, so an open cursor would leak
+        // its connection on every request.
+        if (ProcessorSupport.isCursorType(targetMethod.getReturnType())) {
+            error(diagnosticAnchor,
+                    "Method '%s' in class %s returns %s, which must be closed by its caller and can't be returned "
+                            + "from a generated controller; collect it in the service instead",
+                    methodName, targetClass.toString(), targetMethod.getReturnType().toString());
+            return;
+        }
+        if (ProcessorSupport.isType(targetMethod.getReturnType(), ProcessorSupport.COMPLETABLE_FUTURE)) {
+            error(diagnosticAnchor,
+                    "Method '%s' in class %s returns %s, which a generated controller can't return as a response "
+                            + "body; join it in the service instead",
+                    methodName, targetClass.toString(), targetMethod.getReturnType().toString());
+            return;
+        }
         if (substitutedReturnType.getKind() != TypeKind.DECLARED) {
             return;
         }
@@ -19,12 +19,23 @@ final class WireJTypes {
             "DatabaseStatement");
     static final ClassName CONNECTION_HANDLER = ClassName.get("io.github.gergilcan.wirej.database",
             "ConnectionHandler");
+    static final ClassName UNIT_OF_WORK = ClassName.get("io.github.gergilcan.wirej.database", "UnitOfWork");
+    static final ClassName QUERY_PLAN = ClassName.get("io.github.gergilcan.wirej.database", "QueryPlan");
+    static final ClassName RESULT_CACHE = ClassName.get("io.github.gergilcan.wirej.database", "ResultCache");
+    static final ClassName NEAR_CACHE = ClassName.get("io.github.gergilcan.wirej.database", "NearCache");
+    static final ClassName BATCH_LOADER = ClassName.get("io.github.gergilcan.wirej.database", "BatchLoader");
+    static final ClassName SINGLE_FLIGHT = ClassName.get("io.github.gergilcan.wirej.database", "SingleFlight");
+    static final ClassName METHOD_OBSERVATION = ClassName.get("io.github.gergilcan.wirej.database",
+            "MethodObservation");
     static final ClassName PARAMETER_BINDER = ClassName.get("io.github.gergilcan.wirej.database", "ParameterBinder");
     static final ClassName RSQL_PARSER = ClassName.get("io.github.gergilcan.wirej.rsql", "RsqlParser");
     static final ClassName WIREJ_EXCEPTION = ClassName.get("io.github.gergilcan.wirej.exceptions", "WireJException");
     static final ClassName PAGED_RESULT = ClassName.get("io.github.gergilcan.wirej.core", "PagedResult");
     static final ClassName BATCH_PATCH_ITEM = ClassName.get("io.github.gergilcan.wirej.core", "BatchPatchItem");
 
+    static final ClassName OBSERVATION_REGISTRY = ClassName.get("io.micrometer.observation",
+            "ObservationRegistry");
+    static final ClassName OBJECT_PROVIDER = ClassName.get("org.springframework.beans.factory", "ObjectProvider");
     static final ClassName RESPONSE_ENTITY = ClassName.get("org.springframework.http", "ResponseEntity");
     static final ClassName HTTP_STATUS = ClassName.get("org.springframework.http", "HttpStatus");
     static final ClassName JSON_NODE = ClassName.get("com.fasterxml.jackson.databind", "JsonNode");
@@ -0,0 +1,85 @@
+package io.github.gergilcan.wirej.benchmarks;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.h2.jdbcx.JdbcDataSource;
+
+import io.github.gergilcan.wirej.database.ConnectionHandler;
+
+/**
+ * An in-memory H2 database for one benchmark fork, with the settings the
+ * wirej test suite runs H2 with, and a {@code ConnectionHandler} on it.
+ * Tables are created from entity classes, one column per field, named as
+ * the generated binders and row mappers expect.
+ */
+public final class BenchmarkDatabase {
+    private static final Map<Class<?>, String> COLUMN_TYPES = Map.of(
+            Long.class, "BIGINT", Integer.class, "INT", String.class, "VARCHAR(64)",
+            Double.class, "DOUBLE PRECISION", Boolean.class, "BOOLEAN");
+
+    private final JdbcDataSource dataSource = new JdbcDataSource();
+    private final ConnectionHandler connectionHandler;
+
+    public BenchmarkDatabase(String name) {
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1;DATABASE_TO_UPPER=FALSE");
+        dataSource.setUser("sa");
+        connectionHandler = new ConnectionHandler(dataSource);
+    }
+
+    public ConnectionHandler connectionHandler() {
+        return connectionHandler;
+    }
+
+    /** (Re)creates {@code table} for {@code entityType} and fills it with {@code rows} sample rows. */
+    public void createTable(String table, Class<?> entityType, int rows) throws SQLException {
+        Field[] fields = entityType.getDeclaredFields();
+        AccessibleObject.setAccessible(fields, true);
+        String columns = Arrays.stream(fields).map(Field::getName).collect(Collectors.joining(", "));
+        try (var connection = dataSource.getConnection(); var ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE IF EXISTS " + table);
+            ddl.execute("CREATE TABLE " + table + " (" + Arrays.stream(fields)
+                    .map(field -> field.getName() + " " + COLUMN_TYPES.get(field.getType())
+                            + (field.getName().equals("id") ? " PRIMARY KEY" : ""))
+                    .collect(Collectors.joining(", ")) + ")");
+            try (var insert = connection.prepareStatement("INSERT INTO " + table + " (" + columns + ") VALUES ("
+                    + Arrays.stream(fields).map(field -> "?").collect(Collectors.joining(", ")) + ")")) {
+                for (int row = 1; row <= rows; row++) {
+                    Object entity = sample(entityType, row);
+                    for (int i = 0; i < fields.length; i++) {
+                        insert.setObject(i + 1, fields[i].get(entity));
+                    }
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /** An entity with key {@code id} and every other field set to a value of its type. */
+    public static <T> T sample(Class<T> entityType, long id) {
+        try {
+            T entity = entityType.getDeclaredConstructor().newInstance();
+            for (Field field : entityType.getDeclaredFields()) {
+                field.setAccessible(true);
+                field.set(entity, switch (field.getType().getSimpleName()) {
+                    case "Long" -> id;
+                    case "Integer" -> (int) (id % 1000);
+                    case "String" -> field.getName() + "-" + id;
+                    case "Double" -> id / 4.0;
+                    case "Boolean" -> id % 2 == 0;
+                    default -> throw new IllegalArgumentException("No sample value for " + field);
+                });
+            }
+            return entity;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
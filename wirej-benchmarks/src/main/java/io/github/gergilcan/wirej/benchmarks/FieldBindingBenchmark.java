@@ -0,0 +1,91 @@
+package io.github.gergilcan.wirej.benchmarks;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.gergilcan.wirej.benchmarks.entities.Fields20;
+import io.github.gergilcan.wirej.benchmarks.entities.Fields20Binder;
+import io.github.gergilcan.wirej.benchmarks.entities.Fields5;
+import io.github.gergilcan.wirej.benchmarks.entities.Fields50;
+import io.github.gergilcan.wirej.benchmarks.entities.Fields50Binder;
+import io.github.gergilcan.wirej.benchmarks.entities.Fields5Binder;
+import io.github.gergilcan.wirej.database.DatabaseStatement;
+import io.github.gergilcan.wirej.database.EntityBinder;
+import io.github.gergilcan.wirej.database.ParameterBinder;
+import io.github.gergilcan.wirej.database.QueryPlan;
+
+/**
+ * Binding an entity's fields as named parameters, through the binder the
+ * processor generates and through the reflective {@code ParameterBinder}
+ * fallback, for entities of 5, 20 and 50 fields.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldBindingBenchmark {
+
+    @Param({ "5", "20", "50" })
+    public int fields;
+
+    private Object entity;
+    private EntityBinder<Object> binder;
+    private DatabaseStatement<Void> statement;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void createStatement() {
+        EntityBinder<?> generated = switch (fields) {
+            case 5 -> {
+                entity = BenchmarkDatabase.sample(Fields5.class, 1);
+                yield Fields5Binder.INSTANCE;
+            }
+            case 20 -> {
+                entity = BenchmarkDatabase.sample(Fields20.class, 1);
+                yield Fields20Binder.INSTANCE;
+            }
+            case 50 -> {
+                entity = BenchmarkDatabase.sample(Fields50.class, 1);
+                yield Fields50Binder.INSTANCE;
+            }
+            default -> throw new IllegalArgumentException("No entity with " + fields + " fields");
+        };
+        binder = (EntityBinder<Object>) generated;
+        // Binding only fills the statement's parameters, so one statement
+        // serves every invocation.
+        statement = DatabaseStatement.forPlan(new QueryPlan("SELECT 1"), "benchmark.bind", null, Void.class,
+                new BenchmarkDatabase("field-binding").connectionHandler());
+    }
+
+    @TearDown
+    public void closeStatement() throws SQLException {
+        statement.closeStatement();
+    }
+
+    @Benchmark
+    public DatabaseStatement<Void> generatedBinder() {
+        binder.bind(entity, statement);
+        return statement;
+    }
+
+    @Benchmark
+    public DatabaseStatement<Void> reflectiveBinder() {
+        ParameterBinder.bindObjectFields(entity, statement);
+        return statement;
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.gergilcan.wirej.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.gergilcan.wirej.database.QueryPlan;
+
+/**
+ * Named-parameter rewriting: compiling {@code :name} SQL into JDBC's
+ * positional form, as runtime query text (filters, dynamic updates) is on
+ * first use, against the cached lookup every later execution makes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryPlanBenchmark {
+
+    /** Named parameters in the statement, each followed by a {@code ::} cast that must not be taken for one. */
+    @Param({ "1", "10", "50" })
+    public int parameters;
+
+    private String namedSql;
+
+    @Setup
+    public void buildQuery() {
+        namedSql = "INSERT INTO fields50 ("
+                + IntStream.rangeClosed(1, parameters).mapToObj(i -> "c" + i).collect(Collectors.joining(", "))
+                + ") VALUES ("
+                + IntStream.rangeClosed(1, parameters).mapToObj(i -> ":c" + i + "::text")
+                        .collect(Collectors.joining(", "))
+                + ")";
+    }
+
+    @Benchmark
+    public QueryPlan compile() {
+        return QueryPlan.compile(namedSql);
+    }
+
+    @Benchmark
+    public QueryPlan cached() {
+        return QueryPlan.cached(namedSql);
+    }
+}
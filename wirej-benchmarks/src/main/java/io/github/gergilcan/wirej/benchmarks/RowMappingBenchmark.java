@@ -0,0 +1,71 @@
+package io.github.gergilcan.wirej.benchmarks;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.gergilcan.wirej.benchmarks.entities.Fields20;
+import io.github.gergilcan.wirej.benchmarks.entities.Fields20RowMapper;
+import io.github.gergilcan.wirej.database.ConnectionHandler;
+import io.github.gergilcan.wirej.database.DatabaseStatement;
+import io.github.gergilcan.wirej.database.QueryPlan;
+
+/**
+ * Running a query against in-memory H2 and mapping its rows of a 20-column
+ * entity, through the processor-generated row mapper and through the
+ * reflective {@code PostgresEntityMapper} fallback. Each invocation
+ * borrows a connection, prepares, executes and maps, as a repository call
+ * does, so the per-row share shows in how the time grows with the rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RowMappingBenchmark {
+    private static final int TABLE_ROWS = 10_000;
+    private static final QueryPlan SELECT_ROWS = QueryPlan.compile("SELECT * FROM fields20 ORDER BY id LIMIT :rows");
+
+    @Param({ "1", "100", "1000", "10000" })
+    public int rows;
+
+    private ConnectionHandler connectionHandler;
+
+    @Setup
+    public void createTable() throws SQLException {
+        var database = new BenchmarkDatabase("row-mapping");
+        database.createTable("fields20", Fields20.class, TABLE_ROWS);
+        connectionHandler = database.connectionHandler();
+    }
+
+    @Benchmark
+    public Fields20[] generatedMapper() throws SQLException {
+        DatabaseStatement<Fields20> statement = select();
+        statement.setRowMapper(Fields20RowMapper.INSTANCE);
+        return statement.getResultList();
+    }
+
+    @Benchmark
+    public Fields20[] reflectiveMapper() throws SQLException {
+        return select().getResultList();
+    }
+
+    private DatabaseStatement<Fields20> select() {
+        DatabaseStatement<Fields20> statement = DatabaseStatement.forPlan(SELECT_ROWS, "benchmark.rows", null,
+                Fields20.class, connectionHandler);
+        statement.setParameter("rows", rows);
+        return statement;
+    }
+}
@@ -0,0 +1,70 @@
+package io.github.gergilcan.wirej.benchmarks;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.gergilcan.wirej.benchmarks.entities.Fields50;
+import io.github.gergilcan.wirej.database.DatabaseStatement;
+import io.github.gergilcan.wirej.rsql.RsqlParser;
+
+/**
+ * Turning a request's RSQL filter into its SQL {@code WHERE} clause and
+ * bound values, for a single comparison and for a deeply nested mix of
+ * {@code AND}s and {@code OR}s over every operator; and its sort into an
+ * {@code ORDER BY}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RsqlBenchmark {
+    private static final String SIMPLE = "c1==alpha";
+    private static final String NESTED = "(c1==alpha;c2>5;(c3<10,c4>=2.5));((c5==true,c6=in=beta);"
+            + "(c7!=7,(c8<=100;c9>1.5;(c10==false,c11=out=eps,c12==42))))";
+
+    @Param({ "simple", "nested" })
+    public String filter;
+
+    private final RsqlParser parser = new RsqlParser();
+    private String rsql;
+    private DatabaseStatement<Fields50> statement;
+
+    @Setup
+    public void createStatement() {
+        rsql = filter.equals("simple") ? SIMPLE : NESTED;
+        // Parsing only sets the statement's filter values, so one statement
+        // serves every invocation.
+        statement = DatabaseStatement.forGeneratedQuery("SELECT * FROM fields50 WHERE :filters", "benchmark.rsql",
+                null, null, Fields50.class, parser, new BenchmarkDatabase("rsql").connectionHandler());
+    }
+
+    @TearDown
+    public void closeStatement() throws SQLException {
+        statement.closeStatement();
+    }
+
+    @Benchmark
+    public String parse() {
+        return parser.parse(rsql, Fields50.class, statement);
+    }
+
+    @Benchmark
+    public String parseSorting() {
+        return parser.parseSorting("c1==ASC;c2==DESC;id==ASC", Fields50.class);
+    }
+}
@@ -0,0 +1,32 @@
+package io.github.gergilcan.wirej.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of {@code benchmarks.jar}: JMH's own command line, with the GC
+ * profiler always on, so every result comes with
+ * {@code gc.alloc.rate.norm} - the bytes allocated per operation.
+ *
+ * <pre>
+ * mvn -Pbenchmarks -pl wirej-benchmarks -am package -DskipTests
+ * java -jar wirej-benchmarks/target/benchmarks.jar [JMH options] [benchmark regex]
+ * </pre>
+ */
+public final class WireJBenchmarks {
+
+    private WireJBenchmarks() {
+    }
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        var options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.gergilcan.wirej.benchmarks.comparison;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+// One entity for all three stores: WireJ reads the table and key from the
+// JPA annotations, and the hand-written JDBC store maps its columns itself.
+@Entity
+@Table(name = "articles")
+@Data
+public class Article {
+    @Id
+    private Long id;
+
+    private String name;
+
+    private String category;
+
+    private Double price;
+}
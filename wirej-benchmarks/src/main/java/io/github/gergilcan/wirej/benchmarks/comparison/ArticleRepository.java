@@ -0,0 +1,9 @@
+package io.github.gergilcan.wirej.benchmarks.comparison;
+
+import org.springframework.stereotype.Repository;
+
+import io.github.gergilcan.wirej.repository.PagedRepository;
+
+@Repository
+public interface ArticleRepository extends PagedRepository<Article, Long> {
+}
@@ -0,0 +1,24 @@
+package io.github.gergilcan.wirej.benchmarks.comparison;
+
+import io.github.gergilcan.wirej.core.PagedResult;
+
+/**
+ * The workload {@link CrudComparisonBenchmark} runs, implemented once per
+ * data access approach. The WireJ and JDBC stores make the same round trips
+ * for each operation, so the difference between them is in what each does
+ * around those; {@link JpaArticleStore} says where JPA makes more.
+ */
+public interface ArticleStore {
+
+    Article get(long id);
+
+    Article create(Article article);
+
+    /** Sets the price and returns the row as stored. */
+    Article updatePrice(long id, double price);
+
+    void delete(long id);
+
+    /** A page of the articles in {@code category} priced over {@code minPrice}, newest id first, with their total. */
+    PagedResult<Article> page(String category, double minPrice, int pageNumber, int pageSize);
+}
@@ -0,0 +1,11 @@
+package io.github.gergilcan.wirej.benchmarks.comparison;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * The application {@link CrudComparisonBenchmark} runs: the three
+ * {@link ArticleStore}s on one H2 database and connection pool.
+ */
+@SpringBootApplication
+public class ComparisonApplication {
+}
@@ -0,0 +1,127 @@
+package io.github.gergilcan.wirej.benchmarks.comparison;
+
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import io.github.gergilcan.wirej.core.PagedResult;
+
+/**
+ * The same CRUD and filtered-list workload through the generated WireJ
+ * repository, hand-written {@code NamedParameterJdbcTemplate} code and
+ * Spring Data JPA, on one in-memory H2 database and connection pool. The
+ * WireJ and hand-written stores do the same database work, so the gap
+ * between them is the per-call overhead WireJ adds, which should stay near
+ * zero; JPA is the alternative a WireJ repository usually replaces.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CrudComparisonBenchmark {
+    private static final int SEEDED_ARTICLES = 10_000;
+    private static final int CATEGORIES = 20;
+
+    /** The {@link ArticleStore} bean: {@code wirej}, {@code jdbc} or {@code jpa}. */
+    @Param({ "wirej", "jdbc", "jpa" })
+    public String store;
+
+    private final AtomicLong nextId = new AtomicLong(SEEDED_ARTICLES);
+    private ConfigurableApplicationContext application;
+    private ArticleStore articles;
+
+    @Setup
+    public void startApplication() throws SQLException {
+        application = new SpringApplicationBuilder(ComparisonApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:articles;DB_CLOSE_DELAY=-1;DATABASE_TO_UPPER=FALSE",
+                        "spring.datasource.username=sa",
+                        "spring.jpa.hibernate.ddl-auto=none",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+        createArticles(application.getBean(DataSource.class));
+        articles = application.getBean(store, ArticleStore.class);
+    }
+
+    private static void createArticles(DataSource dataSource) throws SQLException {
+        try (var connection = dataSource.getConnection(); var ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE IF EXISTS articles");
+            ddl.execute("CREATE TABLE articles (id BIGINT PRIMARY KEY, name VARCHAR(64), category VARCHAR(32), "
+                    + "price DOUBLE PRECISION)");
+            ddl.execute("CREATE INDEX articles_category ON articles (category)");
+            try (var insert = connection.prepareStatement(
+                    "INSERT INTO articles (id, name, category, price) VALUES (?, ?, ?, ?)")) {
+                for (long id = 1; id <= SEEDED_ARTICLES; id++) {
+                    insert.setLong(1, id);
+                    insert.setString(2, "article-" + id);
+                    insert.setString(3, "category-" + id % CATEGORIES);
+                    insert.setDouble(4, id % 100);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+        }
+    }
+
+    @TearDown
+    public void stopApplication() {
+        application.close();
+    }
+
+    @Benchmark
+    public Article get() {
+        return articles.get(randomId());
+    }
+
+    @Benchmark
+    public Article updatePrice() {
+        return articles.updatePrice(randomId(), ThreadLocalRandom.current().nextInt(100));
+    }
+
+    // Deleting what was just created keeps the table the same size however
+    // long the benchmark runs.
+    @Benchmark
+    public Article createThenDelete() {
+        Article article = new Article();
+        article.setId(nextId.incrementAndGet());
+        article.setName("article-" + article.getId());
+        article.setCategory("created");
+        article.setPrice(1.5);
+        Article created = articles.create(article);
+        articles.delete(created.getId());
+        return created;
+    }
+
+    @Benchmark
+    public PagedResult<Article> filteredPage() {
+        var random = ThreadLocalRandom.current();
+        return articles.page("category-" + random.nextInt(CATEGORIES), 50, random.nextInt(5), 20);
+    }
+
+    private static long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, SEEDED_ARTICLES + 1);
+    }
+}
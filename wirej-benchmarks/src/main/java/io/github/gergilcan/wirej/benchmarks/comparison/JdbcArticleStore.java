@@ -0,0 +1,68 @@
+package io.github.gergilcan.wirej.benchmarks.comparison;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import io.github.gergilcan.wirej.core.PagedResult;
+import lombok.RequiredArgsConstructor;
+
+/** What the same repository looks like written by hand on {@code NamedParameterJdbcTemplate}. */
+@Component("jdbc")
+@RequiredArgsConstructor
+public class JdbcArticleStore implements ArticleStore {
+    private static final RowMapper<Article> ROW_MAPPER = (resultSet, rowNumber) -> {
+        Article article = new Article();
+        article.setId(resultSet.getLong("id"));
+        article.setName(resultSet.getString("name"));
+        article.setCategory(resultSet.getString("category"));
+        article.setPrice(resultSet.getObject("price", Double.class));
+        return article;
+    };
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    @Override
+    public Article get(long id) {
+        List<Article> found = jdbc.query("SELECT * FROM articles WHERE id = :id", Map.of("id", id), ROW_MAPPER);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    @Override
+    public Article create(Article article) {
+        jdbc.update("INSERT INTO articles (id, name, category, price) VALUES (:id, :name, :category, :price)",
+                new BeanPropertySqlParameterSource(article));
+        return article;
+    }
+
+    @Override
+    public Article updatePrice(long id, double price) {
+        jdbc.update("UPDATE articles SET price = :price WHERE id = :id", Map.of("id", id, "price", price));
+        return get(id);
+    }
+
+    @Override
+    public void delete(long id) {
+        jdbc.update("DELETE FROM articles WHERE id = :id", Map.of("id", id));
+    }
+
+    @Override
+    public PagedResult<Article> page(String category, double minPrice, int pageNumber, int pageSize) {
+        var parameters = new MapSqlParameterSource()
+                .addValue("category", category)
+                .addValue("minPrice", minPrice)
+                .addValue("offset", pageNumber * pageSize)
+                .addValue("pageSize", pageSize);
+        List<Article> data = jdbc.query("SELECT * FROM articles WHERE category = :category AND price > :minPrice "
+                + "ORDER BY id DESC OFFSET :offset ROWS FETCH NEXT :pageSize ROWS ONLY", parameters, ROW_MAPPER);
+        Long total = jdbc.queryForObject(
+                "SELECT count(*) FROM articles WHERE category = :category AND price > :minPrice", parameters,
+                Long.class);
+        return new PagedResult<>(data.toArray(Article[]::new), total);
+    }
+}
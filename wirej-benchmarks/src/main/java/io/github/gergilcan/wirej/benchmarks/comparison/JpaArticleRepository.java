@@ -0,0 +1,10 @@
+package io.github.gergilcan.wirej.benchmarks.comparison;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface JpaArticleRepository extends JpaRepository<Article, Long> {
+
+    Page<Article> findByCategoryAndPriceGreaterThan(String category, Double price, Pageable pageable);
+}
@@ -0,0 +1,53 @@
+package io.github.gergilcan.wirej.benchmarks.comparison;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.github.gergilcan.wirej.core.PagedResult;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The same repository on Spring Data JPA, used the way it usually is. The
+ * ids are assigned, so {@code save} merges and {@code deleteById} loads the
+ * entity to remove it: both read the row before writing it, one round trip
+ * more than the other stores make. That is what this usage costs, so it is
+ * measured as it is.
+ */
+@Component("jpa")
+@RequiredArgsConstructor
+public class JpaArticleStore implements ArticleStore {
+    private final JpaArticleRepository repository;
+
+    @Override
+    public Article get(long id) {
+        return repository.findById(id).orElse(null);
+    }
+
+    @Override
+    public Article create(Article article) {
+        return repository.save(article);
+    }
+
+    @Override
+    @Transactional
+    public Article updatePrice(long id, double price) {
+        Article article = repository.findById(id).orElseThrow();
+        article.setPrice(price);
+        return article;
+    }
+
+    @Override
+    public void delete(long id) {
+        repository.deleteById(id);
+    }
+
+    @Override
+    public PagedResult<Article> page(String category, double minPrice, int pageNumber, int pageSize) {
+        Page<Article> page = repository.findByCategoryAndPriceGreaterThan(category, minPrice,
+                PageRequest.of(pageNumber, pageSize, Sort.by(Sort.Direction.DESC, "id")));
+        return new PagedResult<>(page.getContent().toArray(Article[]::new), page.getTotalElements());
+    }
+}
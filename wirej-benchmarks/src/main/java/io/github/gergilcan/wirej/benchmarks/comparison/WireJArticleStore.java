@@ -0,0 +1,45 @@
+package io.github.gergilcan.wirej.benchmarks.comparison;
+
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import io.github.gergilcan.wirej.core.PagedResult;
+import io.github.gergilcan.wirej.core.RequestFilters;
+import io.github.gergilcan.wirej.core.RequestPagination;
+import lombok.RequiredArgsConstructor;
+
+/** The generated {@link ArticleRepository}. */
+@Component("wirej")
+@RequiredArgsConstructor
+public class WireJArticleStore implements ArticleStore {
+    private final ArticleRepository repository;
+
+    @Override
+    public Article get(long id) {
+        return repository.get(id);
+    }
+
+    @Override
+    public Article create(Article article) {
+        return repository.create(article);
+    }
+
+    @Override
+    public Article updatePrice(long id, double price) {
+        return repository.update(id, Map.of("price", price));
+    }
+
+    @Override
+    public void delete(long id) {
+        repository.delete(id);
+    }
+
+    @Override
+    public PagedResult<Article> page(String category, double minPrice, int pageNumber, int pageSize) {
+        var filters = RequestFilters.builder()
+                .filters("category==" + category + ";price>" + minPrice)
+                .build();
+        return repository.getAll(filters, new RequestPagination(pageNumber, pageSize));
+    }
+}
@@ -0,0 +1,31 @@
+package io.github.gergilcan.wirej.benchmarks.entities;
+
+import io.github.gergilcan.wirej.annotations.WireJTable;
+import lombok.Data;
+
+/** A 20-column row: the key, then columns cycling through String, Long, Integer, Double and Boolean. */
+@Data
+@WireJTable("fields20")
+public class Fields20 {
+    private Long id;
+
+    private String c1;
+    private Long c2;
+    private Integer c3;
+    private Double c4;
+    private Boolean c5;
+    private String c6;
+    private Long c7;
+    private Integer c8;
+    private Double c9;
+    private Boolean c10;
+    private String c11;
+    private Long c12;
+    private Integer c13;
+    private Double c14;
+    private Boolean c15;
+    private String c16;
+    private Long c17;
+    private Integer c18;
+    private Double c19;
+}
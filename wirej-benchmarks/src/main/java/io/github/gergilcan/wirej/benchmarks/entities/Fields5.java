@@ -0,0 +1,16 @@
+package io.github.gergilcan.wirej.benchmarks.entities;
+
+import io.github.gergilcan.wirej.annotations.WireJTable;
+import lombok.Data;
+
+/** A 5-column row: the key, then columns cycling through String, Long, Integer, Double and Boolean. */
+@Data
+@WireJTable("fields5")
+public class Fields5 {
+    private Long id;
+
+    private String c1;
+    private Long c2;
+    private Integer c3;
+    private Double c4;
+}
@@ -0,0 +1,61 @@
+package io.github.gergilcan.wirej.benchmarks.entities;
+
+import io.github.gergilcan.wirej.annotations.WireJTable;
+import lombok.Data;
+
+/** A 50-column row: the key, then columns cycling through String, Long, Integer, Double and Boolean. */
+@Data
+@WireJTable("fields50")
+public class Fields50 {
+    private Long id;
+
+    private String c1;
+    private Long c2;
+    private Integer c3;
+    private Double c4;
+    private Boolean c5;
+    private String c6;
+    private Long c7;
+    private Integer c8;
+    private Double c9;
+    private Boolean c10;
+    private String c11;
+    private Long c12;
+    private Integer c13;
+    private Double c14;
+    private Boolean c15;
+    private String c16;
+    private Long c17;
+    private Integer c18;
+    private Double c19;
+    private Boolean c20;
+    private String c21;
+    private Long c22;
+    private Integer c23;
+    private Double c24;
+    private Boolean c25;
+    private String c26;
+    private Long c27;
+    private Integer c28;
+    private Double c29;
+    private Boolean c30;
+    private String c31;
+    private Long c32;
+    private Integer c33;
+    private Double c34;
+    private Boolean c35;
+    private String c36;
+    private Long c37;
+    private Integer c38;
+    private Double c39;
+    private Boolean c40;
+    private String c41;
+    private Long c42;
+    private Integer c43;
+    private Double c44;
+    private Boolean c45;
+    private String c46;
+    private Long c47;
+    private Integer c48;
+    private Double c49;
+}
@@ -0,0 +1,171 @@
+package io.github.gergilcan.wirej.benchmarks.http;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * The whole stack under load: HTTP requests to the generated
+ * {@link ItemController} on embedded Tomcat, through {@link ItemService} to
+ * the generated {@link ItemRepository} on in-memory H2, from a fixed number
+ * of client threads (8, or JMH's {@code -t}) each sending its next request
+ * as soon as the last one is answered.
+ *
+ * Each operation reports requests per millisecond (throughput) and the
+ * latency distribution (sample time), whose p0.50 and p0.99 are the median
+ * and tail. The client runs in the same JVM, so its share - building the
+ * request, reading the response - is in every figure, including the GC
+ * profiler's bytes per operation; compare runs of one release against
+ * another on the same machine, not against numbers measured elsewhere.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(8)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class ControllerThroughputBenchmark {
+    private static final int SEEDED_ITEMS = 10_000;
+    private static final int CATEGORIES = 20;
+    private static final int BATCH_SIZE = 10;
+    private static final String FILTER = URLEncoder.encode("category==category-3;price>50", StandardCharsets.UTF_8);
+
+    private final AtomicLong nextId = new AtomicLong(SEEDED_ITEMS);
+    private ConfigurableApplicationContext application;
+    private HttpClient client;
+    private String items;
+
+    @Setup
+    public void startApplication() throws SQLException {
+        application = new SpringApplicationBuilder(ItemApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:items;DB_CLOSE_DELAY=-1;DATABASE_TO_UPPER=FALSE",
+                        "spring.datasource.username=sa",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+        createItems(application.getBean(DataSource.class), application.getBean(ItemRepository.class));
+        int port = ((WebServerApplicationContext) application).getWebServer().getPort();
+        items = "http://localhost:" + port + "/items/";
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    private static void createItems(DataSource dataSource, ItemRepository repository) throws SQLException {
+        try (var connection = dataSource.getConnection(); var ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE IF EXISTS items");
+            ddl.execute("CREATE TABLE items (id BIGINT PRIMARY KEY, name VARCHAR(64), category VARCHAR(32), "
+                    + "price DOUBLE PRECISION, quantity INT)");
+            // Created items get a category of their own, so the filtered page
+            // reads the same rows however many the create benchmark has added.
+            ddl.execute("CREATE INDEX items_category ON items (category)");
+        }
+        for (long first = 1; first <= SEEDED_ITEMS; first += 1000) {
+            repository.createBatch(LongStream.range(first, first + 1000)
+                    .mapToObj(id -> item(id, "category-" + id % CATEGORIES))
+                    .toArray(Item[]::new));
+        }
+    }
+
+    private static Item item(long id, String category) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName("item-" + id);
+        item.setCategory(category);
+        item.setPrice((double) (id % 100));
+        item.setQuantity((int) (id % 7));
+        return item;
+    }
+
+    @TearDown
+    public void stopApplication() {
+        application.close();
+    }
+
+    @Benchmark
+    public byte[] getById() throws IOException, InterruptedException {
+        long id = ThreadLocalRandom.current().nextLong(1, SEEDED_ITEMS + 1);
+        return send(HttpRequest.newBuilder(URI.create(items + id)).GET(), 200);
+    }
+
+    @Benchmark
+    public byte[] filteredPage() throws IOException, InterruptedException {
+        int page = ThreadLocalRandom.current().nextInt(5);
+        return send(HttpRequest.newBuilder(
+                URI.create(items + "?filters=" + FILTER + "&pageNumber=" + page + "&pageSize=20")).GET(), 200);
+    }
+
+    @Benchmark
+    public byte[] batchCreate() throws IOException, InterruptedException {
+        long first = nextId.getAndAdd(BATCH_SIZE) + 1;
+        var body = new StringBuilder("[");
+        for (long id = first; id < first + BATCH_SIZE; id++) {
+            body.append(id == first ? "" : ",")
+                    .append("{\"id\":").append(id)
+                    .append(",\"name\":\"item-").append(id)
+                    .append("\",\"category\":\"created\",\"price\":1.5,\"quantity\":1}");
+        }
+        body.append(']');
+        return send(json().POST(BodyPublishers.ofString(body.toString())), 201);
+    }
+
+    @Benchmark
+    public byte[] batchPatch() throws IOException, InterruptedException {
+        var random = ThreadLocalRandom.current();
+        // Ascending ids, so concurrent batches lock their rows in the same order.
+        long[] ids = random.longs(1, SEEDED_ITEMS + 1).distinct().limit(BATCH_SIZE).sorted().toArray();
+        var body = new StringBuilder("[");
+        // Only quantity, which the filtered page doesn't read, so its rows
+        // stay the same however many patches have run.
+        for (long id : ids) {
+            body.append(body.length() == 1 ? "" : ",")
+                    .append("{\"id\":").append(id)
+                    .append(",\"quantity\":").append(random.nextInt(7)).append('}');
+        }
+        body.append(']');
+        return send(json().method("PATCH", BodyPublishers.ofString(body.toString())), 200);
+    }
+
+    private HttpRequest.Builder json() {
+        return HttpRequest.newBuilder(URI.create(items)).header("Content-Type", "application/json");
+    }
+
+    private byte[] send(HttpRequest.Builder request, int expectedStatus) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request.build(), BodyHandlers.ofByteArray());
+        if (response.statusCode() != expectedStatus) {
+            throw new IllegalStateException(response.request().method() + " " + response.request().uri() + " returned "
+                    + response.statusCode() + ": " + new String(response.body(), StandardCharsets.UTF_8));
+        }
+        return response.body();
+    }
+}
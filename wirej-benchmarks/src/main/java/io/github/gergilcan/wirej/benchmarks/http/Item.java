@@ -0,0 +1,18 @@
+package io.github.gergilcan.wirej.benchmarks.http;
+
+import io.github.gergilcan.wirej.annotations.WireJTable;
+import lombok.Data;
+
+@Data
+@WireJTable("items")
+public class Item {
+    private Long id;
+
+    private String name;
+
+    private String category;
+
+    private Double price;
+
+    private Integer quantity;
+}
@@ -0,0 +1,15 @@
+package io.github.gergilcan.wirej.benchmarks.http;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+
+/**
+ * The application {@link ControllerThroughputBenchmark} serves: the
+ * generated {@code ItemControllerImpl} and {@code ItemRepositoryImpl} with
+ * {@link ItemService} between them. Its component scan stops at this
+ * package, so the other benchmarks' repositories are not part of it, and
+ * the JPA the comparison benchmark brings onto the classpath is left off.
+ */
+@SpringBootApplication(exclude = HibernateJpaAutoConfiguration.class)
+public class ItemApplication {
+}
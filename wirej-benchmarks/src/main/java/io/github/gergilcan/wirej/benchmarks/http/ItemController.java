@@ -0,0 +1,13 @@
+package io.github.gergilcan.wirej.benchmarks.http;
+
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.github.gergilcan.wirej.annotations.ServiceClass;
+import io.github.gergilcan.wirej.rest.PagedBatchController;
+
+@RestController
+@RequestMapping("/items")
+@ServiceClass(ItemService.class)
+public interface ItemController extends PagedBatchController<Item, Long> {
+}
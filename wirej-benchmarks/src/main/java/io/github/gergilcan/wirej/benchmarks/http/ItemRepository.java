@@ -0,0 +1,9 @@
+package io.github.gergilcan.wirej.benchmarks.http;
+
+import org.springframework.stereotype.Repository;
+
+import io.github.gergilcan.wirej.repository.PagedRepository;
+
+@Repository
+public interface ItemRepository extends PagedRepository<Item, Long> {
+}
@@ -0,0 +1,64 @@
+package io.github.gergilcan.wirej.benchmarks.http;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+
+import io.github.gergilcan.wirej.core.BatchPatchItem;
+import io.github.gergilcan.wirej.core.PagedResult;
+import io.github.gergilcan.wirej.core.RequestFilters;
+import io.github.gergilcan.wirej.core.RequestPagination;
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class ItemService {
+    private final ItemRepository repository;
+
+    public Item get(Long id) {
+        return repository.get(id);
+    }
+
+    public PagedResult<Item> getAll(RequestFilters filters, RequestPagination pagination) {
+        return repository.getAll(filters, pagination);
+    }
+
+    public Item create(Item entity) {
+        return repository.create(entity);
+    }
+
+    public Item[] create(Item[] entities) {
+        return repository.createBatch(entities);
+    }
+
+    public Item update(Item entity) {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("name", entity.getName());
+        fields.put("category", entity.getCategory());
+        fields.put("price", entity.getPrice());
+        fields.put("quantity", entity.getQuantity());
+        return repository.update(entity.getId(), fields);
+    }
+
+    public Item[] update(Item[] entities) {
+        Item[] updated = new Item[entities.length];
+        for (int i = 0; i < entities.length; i++) {
+            updated[i] = update(entities[i]);
+        }
+        return updated;
+    }
+
+    public Item patch(Long id, Map<String, Object> changes) {
+        return repository.update(id, changes);
+    }
+
+    public Item[] patch(List<BatchPatchItem<Long>> items) {
+        return repository.updateBatch(items);
+    }
+
+    public void delete(Long id) {
+        repository.delete(id);
+    }
+}
@@ -0,0 +1,11 @@
+package io.github.gergilcan.wirej.benchmarks.repositories;
+
+import org.springframework.stereotype.Repository;
+
+import io.github.gergilcan.wirej.benchmarks.entities.Fields20;
+import io.github.gergilcan.wirej.repository.StandardRepository;
+
+// Declared so the processor generates Fields20Binder and Fields20RowMapper.
+@Repository
+public interface Fields20Repository extends StandardRepository<Fields20, Long> {
+}
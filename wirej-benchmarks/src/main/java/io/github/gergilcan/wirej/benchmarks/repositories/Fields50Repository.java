@@ -0,0 +1,11 @@
+package io.github.gergilcan.wirej.benchmarks.repositories;
+
+import org.springframework.stereotype.Repository;
+
+import io.github.gergilcan.wirej.benchmarks.entities.Fields50;
+import io.github.gergilcan.wirej.repository.StandardRepository;
+
+// Declared so the processor generates Fields50Binder and Fields50RowMapper.
+@Repository
+public interface Fields50Repository extends StandardRepository<Fields50, Long> {
+}
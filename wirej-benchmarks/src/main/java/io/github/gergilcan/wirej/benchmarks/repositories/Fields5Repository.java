@@ -0,0 +1,11 @@
+package io.github.gergilcan.wirej.benchmarks.repositories;
+
+import org.springframework.stereotype.Repository;
+
+import io.github.gergilcan.wirej.benchmarks.entities.Fields5;
+import io.github.gergilcan.wirej.repository.StandardRepository;
+
+// Declared so the processor generates Fields5Binder and Fields5RowMapper.
+@Repository
+public interface Fields5Repository extends StandardRepository<Fields5, Long> {
+}
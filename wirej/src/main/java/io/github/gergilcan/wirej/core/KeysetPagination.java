@@ -0,0 +1,19 @@
+package io.github.gergilcan.wirej.core;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Keyset ("seek") pagination: instead of a page number, {@code after} is the
+ * {@code next} token of the previous {@link PagedResult}, or null for the
+ * first page. Each page then starts where the last one ended, so fetching a
+ * deep page costs the same as fetching the first.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class KeysetPagination {
+  private Integer pageSize = 10;
+  private String after;
+}
@@ -1,13 +1,33 @@
 package io.github.gergilcan.wirej.core;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import io.github.gergilcan.wirej.annotations.CountStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+/**
+ * A page of results. {@code totalCount} is the number of rows matching the
+ * filters across every page, read as {@code countStrategy} says - exact,
+ * capped, estimated, or not counted (null); {@code next} is the token for
+ * the following keyset page, null on the last one and on offset pages.
+ * {@code hasNext} is set on pages that were not counted - keyset pages and
+ * {@code CountStrategy.NONE} offset pages - which fetch one row past the
+ * page to find out.
+ */
 @AllArgsConstructor
 @NoArgsConstructor
 @Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PagedResult<T> {
   private T[] data;
-  private long totalCount;
+  private Long totalCount;
+  private String next;
+  private CountStrategy countStrategy;
+  private Boolean hasNext;
+
+  public PagedResult(T[] data, long totalCount) {
+    this(data, totalCount, null, CountStrategy.EXACT, null);
+  }
 }
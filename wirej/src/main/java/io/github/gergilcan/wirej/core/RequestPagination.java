@@ -1,5 +1,6 @@
 package io.github.gergilcan.wirej.core;
 
+import io.github.gergilcan.wirej.annotations.CountStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -10,4 +11,10 @@ import lombok.NoArgsConstructor;
 public class RequestPagination {
   private Integer pageNumber = 0;
   private Integer pageSize = 10;
+  /** Overrides the repository's {@code @PageOptions(count)} for this request; null keeps it. */
+  private CountStrategy count;
+
+  public RequestPagination(Integer pageNumber, Integer pageSize) {
+    this(pageNumber, pageSize, null);
+  }
 }
@@ -0,0 +1,16 @@
+package io.github.gergilcan.wirej.database;
+
+import java.util.Arrays;
+
+/** A repository method's arguments, compared by value - arrays included. */
+record ArgumentsKey(Object[] arguments) {
+  @Override
+  public boolean equals(Object other) {
+    return other instanceof ArgumentsKey key && Arrays.deepEquals(arguments, key.arguments);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.deepHashCode(arguments);
+  }
+}
@@ -0,0 +1,89 @@
+package io.github.gergilcan.wirej.database;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+import io.github.gergilcan.wirej.exceptions.WireJException;
+
+/**
+ * Runs the repository methods declared to return {@code CompletableFuture<T>}.
+ * By default each call gets its own virtual thread, which makes firing many
+ * queries at once cheap for the caller - but every one of them still needs
+ * a connection, so at most {@code maxConcurrentQueries} run at a time and
+ * the rest wait their turn here, in order, rather than piling onto the pool
+ * and timing out in {@code getConnection()}. Size it to the connection pool.
+ *
+ * Connections are not shared with the caller's {@link UnitOfWork}: a query
+ * runs on another thread, so it borrows its own. The caller's
+ * {@link QueryCancellation} does follow the query there.
+ */
+public final class AsyncQueryExecutor implements AutoCloseable {
+  private final Executor executor;
+  private final Semaphore permits;
+  private final boolean ownsExecutor;
+  // Marks threads running one of this executor's queries. A query that
+  // starts another - a page counting concurrently - runs it inline, since
+  // queuing it could wait forever on the permit its own caller holds.
+  private final ThreadLocal<Boolean> runningQuery = new ThreadLocal<>();
+
+  /** Runs queries on {@code executor}, which the caller keeps ownership of. */
+  public AsyncQueryExecutor(Executor executor, int maxConcurrentQueries) {
+    this(executor, maxConcurrentQueries, false);
+  }
+
+  private AsyncQueryExecutor(Executor executor, int maxConcurrentQueries, boolean ownsExecutor) {
+    if (maxConcurrentQueries < 1) {
+      throw new IllegalArgumentException("maxConcurrentQueries must be at least 1");
+    }
+    this.executor = executor;
+    this.permits = new Semaphore(maxConcurrentQueries, true);
+    this.ownsExecutor = ownsExecutor;
+  }
+
+  /** Runs each query on a new virtual thread; {@link #close()} shuts them down. */
+  public static AsyncQueryExecutor virtualThreads(int maxConcurrentQueries) {
+    return new AsyncQueryExecutor(Executors.newVirtualThreadPerTaskExecutor(), maxConcurrentQueries, true);
+  }
+
+  public <T> CompletableFuture<T> supply(Supplier<T> query) {
+    if (runningQuery.get() != null) {
+      try {
+        return CompletableFuture.completedFuture(query.get());
+      } catch (RuntimeException e) {
+        return CompletableFuture.failedFuture(e);
+      }
+    }
+    QueryCancellation cancellation = QueryCancellation.current();
+    return CompletableFuture.supplyAsync(() -> {
+      try {
+        permits.acquire();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new WireJException("Interrupted while waiting to run an async query", e);
+      }
+      runningQuery.set(Boolean.TRUE);
+      try (var scope = cancellation != null ? cancellation.bind() : null) {
+        return query.get();
+      } finally {
+        runningQuery.remove();
+        permits.release();
+      }
+    }, executor);
+  }
+
+  /** Queries that could start right now without waiting. */
+  public int getAvailablePermits() {
+    return permits.availablePermits();
+  }
+
+  @Override
+  public void close() {
+    if (ownsExecutor && executor instanceof ExecutorService executorService) {
+      executorService.close();
+    }
+  }
+}
@@ -0,0 +1,242 @@
+package io.github.gergilcan.wirej.database;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Gathers loads by primary key into batches and runs each batch as one
+ * query, handing every caller the row for its own key - or null, when there
+ * is none. Generated {@code BatchLoadingRepository} implementations hold one,
+ * running batches through their {@code getMany}.
+ *
+ * A load made inside a {@link #scope()} joins that scope's batch, sent when
+ * the scope closes; this is how a single thread looping over child records
+ * gets one query instead of one per record. Other loads start a batch or
+ * join the one that is gathering: the load that starts it waits out the
+ * window, then sends the batch on its own thread. A batch that reaches the
+ * maximum size is sent right away by the load that filled it. Equal keys in
+ * one batch are only sent once.
+ *
+ * Inside a transaction, loads run on their own, at once, so they see the
+ * transaction's writes and never wait on another caller's batch.
+ */
+public final class BatchLoader<T, ID> {
+  private final Function<List<ID>, T[]> loadMany;
+  private final Function<T, ID> idOf;
+  private final long windowNanos;
+  private final int maxBatchSize;
+  private final ThreadLocal<Batch> scopes = new ThreadLocal<>();
+  private final LongAdder batches = new LongAdder();
+  private Batch gathering;
+
+  /**
+   * {@code loadMany} returns the rows found for a batch of keys, in any
+   * order, and {@code idOf} reads a row's key back.
+   */
+  public BatchLoader(Function<List<ID>, T[]> loadMany, Function<T, ID> idOf, long window, TimeUnit unit,
+      int maxBatchSize) {
+    if (maxBatchSize < 1) {
+      throw new IllegalArgumentException("maxBatchSize must be at least 1");
+    }
+    this.loadMany = loadMany;
+    this.idOf = idOf;
+    this.windowNanos = unit.toNanos(window);
+    this.maxBatchSize = maxBatchSize;
+  }
+
+  /**
+   * The row for {@code id}, once its batch has run. Inside a scope, that is
+   * when the scope closes or fills a batch.
+   */
+  public CompletableFuture<T> load(ID id) {
+    if (id == null) {
+      return CompletableFuture.completedFuture(null);
+    }
+    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+      var alone = new Batch();
+      CompletableFuture<T> row = alone.add(id);
+      alone.send();
+      return row;
+    }
+    Batch scope = scopes.get();
+    if (scope != null) {
+      CompletableFuture<T> row = scope.add(id);
+      if (scope.size() >= maxBatchSize) {
+        scope.send();
+        scopes.set(new Batch());
+      }
+      return row;
+    }
+    return loadInWindow(id);
+  }
+
+  /**
+   * The row for {@code id}. Inside a scope, this first sends the loads
+   * gathered so far, which then share the query.
+   */
+  public T get(ID id) {
+    CompletableFuture<T> row = load(id);
+    Batch scope = scopes.get();
+    if (scope != null && !row.isDone()) {
+      scope.send();
+      scopes.set(new Batch());
+    }
+    return join(row);
+  }
+
+  /** The rows for {@code ids} that exist, by key, in at most one query per {@code maxBatchSize} keys. */
+  public Map<ID, T> getAll(Collection<ID> ids) {
+    var rows = new LinkedHashMap<ID, CompletableFuture<T>>();
+    var batch = new Batch();
+    for (ID id : ids) {
+      if (id != null && !rows.containsKey(id)) {
+        rows.put(id, batch.add(id));
+        if (batch.size() >= maxBatchSize) {
+          batch.send();
+          batch = new Batch();
+        }
+      }
+    }
+    batch.send();
+    var found = new LinkedHashMap<ID, T>();
+    rows.forEach((id, row) -> {
+      T value = join(row);
+      if (value != null) {
+        found.put(id, value);
+      }
+    });
+    return found;
+  }
+
+  /**
+   * Opens a scope on this thread: its loads are gathered until it closes,
+   * then sent together. Scopes nest; only the outermost one sends.
+   */
+  public Scope scope() {
+    if (scopes.get() != null) {
+      return () -> {
+      };
+    }
+    scopes.set(new Batch());
+    return () -> {
+      Batch scope = scopes.get();
+      scopes.remove();
+      scope.send();
+    };
+  }
+
+  /** Queries run so far, one per batch. */
+  public long getBatchCount() {
+    return batches.sum();
+  }
+
+  private CompletableFuture<T> loadInWindow(ID id) {
+    Batch batch;
+    CompletableFuture<T> row;
+    boolean starts;
+    boolean full;
+    synchronized (this) {
+      starts = gathering == null;
+      if (starts) {
+        gathering = new Batch();
+        gathering.starter = Thread.currentThread();
+      }
+      batch = gathering;
+      row = batch.add(id);
+      full = batch.size() >= maxBatchSize;
+      if (full) {
+        gathering = null;
+      }
+    }
+    if (full) {
+      batch.send();
+    } else if (starts) {
+      long deadline = System.nanoTime() + windowNanos;
+      for (long remaining = windowNanos; remaining > 0 && !batch.isSent(); remaining = deadline
+          - System.nanoTime()) {
+        LockSupport.parkNanos(remaining);
+      }
+      synchronized (this) {
+        if (gathering == batch) {
+          gathering = null;
+        }
+      }
+      batch.send();
+    }
+    return row;
+  }
+
+  private static <T> T join(CompletableFuture<T> row) {
+    try {
+      return row.join();
+    } catch (CompletionException e) {
+      switch (e.getCause()) {
+        case RuntimeException cause -> throw cause;
+        case Error cause -> throw cause;
+        default -> throw e;
+      }
+    }
+  }
+
+  /** Closing a scope sends the loads made in it; it throws nothing. */
+  @FunctionalInterface
+  public interface Scope extends AutoCloseable {
+    @Override
+    void close();
+  }
+
+  // Keys are only added while the batch is gathering - under the loader's
+  // lock, or by the one thread whose scope it is - and it is sent once.
+  private final class Batch {
+    private final Map<ID, CompletableFuture<T>> waiting = new HashMap<>();
+    private final AtomicBoolean sent = new AtomicBoolean();
+    // Waiting out the window; woken early when a full batch is sent by another thread.
+    private Thread starter;
+
+    CompletableFuture<T> add(ID id) {
+      return waiting.computeIfAbsent(id, ignored -> new CompletableFuture<>());
+    }
+
+    int size() {
+      return waiting.size();
+    }
+
+    boolean isSent() {
+      return sent.get();
+    }
+
+    void send() {
+      if (waiting.isEmpty() || !sent.compareAndSet(false, true)) {
+        return;
+      }
+      batches.increment();
+      if (starter != null && starter != Thread.currentThread()) {
+        LockSupport.unpark(starter);
+      }
+      try {
+        for (T row : loadMany.apply(new ArrayList<>(waiting.keySet()))) {
+          CompletableFuture<T> waiter = waiting.get(idOf.apply(row));
+          if (waiter != null) {
+            waiter.complete(row);
+          }
+        }
+        waiting.values().forEach(waiter -> waiter.complete(null));
+      } catch (RuntimeException | Error e) {
+        waiting.values().forEach(waiter -> waiter.completeExceptionally(e));
+      }
+    }
+  }
+}
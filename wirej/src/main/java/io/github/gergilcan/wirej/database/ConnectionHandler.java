@@ -1,26 +1,193 @@
 package io.github.gergilcan.wirej.database;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
 
 @Slf4j
-@RequiredArgsConstructor
 public class ConnectionHandler {
 	private final DataSource dataSource;
 
+	/** The statement cache in use, or null when statement caching is disabled. */
+	@Getter
+	private final StatementCache statementCache;
+
+	/** Concurrent async queries allowed when no {@link AsyncQueryExecutor} was set. */
+	public static final int DEFAULT_MAX_CONCURRENT_QUERIES = 10;
+
+	private AsyncQueryExecutor asyncExecutor;
+
+	/**
+	 * Timeout for statements whose repository method sets none, in
+	 * milliseconds; zero means none.
+	 */
+	@Getter
+	private volatile long defaultQueryTimeoutMillis;
+
+	/**
+	 * Where generated repositories and their statements report
+	 * {@link MethodObservation}s and {@link QueryObservationContext query
+	 * observations}; a no-op registry until one is set.
+	 */
+	@Getter
+	private volatile ObservationRegistry observationRegistry = ObservationRegistry.NOOP;
+
+	/** Where slow statements are reported, or null when they aren't. */
+	@Getter
+	@Setter
+	private volatile SlowQueryLog slowQueryLog;
+
+	private final ThreadLocal<UnitOfWork> currentUnitOfWork = new ThreadLocal<>();
+	private final LongAdder acquisitions = new LongAdder();
+	private final LongAdder acquisitionNanos = new LongAdder();
+	private final LongAdder unitsOfWork = new LongAdder();
+	private final LongAdder unitOfWorkHoldNanos = new LongAdder();
+
+	public ConnectionHandler(DataSource dataSource) {
+		this(dataSource, null);
+	}
+
+	public ConnectionHandler(DataSource dataSource, StatementCache statementCache) {
+		this.dataSource = dataSource;
+		this.statementCache = statementCache;
+	}
+
+	/**
+	 * The executor generated {@code CompletableFuture} repository methods run
+	 * on, created with virtual threads and
+	 * {@link #DEFAULT_MAX_CONCURRENT_QUERIES} permits if none was set.
+	 */
+	public synchronized AsyncQueryExecutor getAsyncExecutor() {
+		if (asyncExecutor == null) {
+			asyncExecutor = AsyncQueryExecutor.virtualThreads(DEFAULT_MAX_CONCURRENT_QUERIES);
+		}
+		return asyncExecutor;
+	}
+
+	public synchronized void setAsyncExecutor(AsyncQueryExecutor asyncExecutor) {
+		this.asyncExecutor = asyncExecutor;
+	}
+
+	public void setDefaultQueryTimeout(Duration timeout) {
+		this.defaultQueryTimeoutMillis = timeout != null ? timeout.toMillis() : 0;
+	}
+
+	public void setObservationRegistry(ObservationRegistry observationRegistry) {
+		this.observationRegistry = observationRegistry != null ? observationRegistry : ObservationRegistry.NOOP;
+	}
+
+	/**
+	 * Opens a {@link UnitOfWork} on the current thread, or joins the one
+	 * already open. Until it is closed, every statement run through this
+	 * handler on this thread shares one connection.
+	 */
+	public UnitOfWork openUnitOfWork() {
+		UnitOfWork current = currentUnitOfWork.get();
+		if (current != null) {
+			return current.join();
+		}
+		var unitOfWork = new UnitOfWork(this);
+		currentUnitOfWork.set(unitOfWork);
+		return unitOfWork;
+	}
+
+	/**
+	 * The connection for the next statement on this thread: the current
+	 * Spring transaction's, when there is one, else the unit of work's, else
+	 * a newly borrowed one. A transaction always wins, so statements run in
+	 * it even when a unit of work pinned a connection before it started, and
+	 * its connection - closed when it completes - is never pinned.
+	 */
 	public Connection getConnection() {
+		UnitOfWork unitOfWork = currentUnitOfWork.get();
+		return unitOfWork != null && !TransactionSynchronizationManager.isSynchronizationActive()
+				? unitOfWork.connection()
+				: acquireConnection();
+	}
+
+	/** Returns a connection, unless it is pinned by the current unit of work. */
+	public void releaseConnection(Connection connection) {
+		UnitOfWork unitOfWork = currentUnitOfWork.get();
+		if (unitOfWork != null && unitOfWork.holds(connection)) {
+			return;
+		}
+		returnConnection(connection);
+	}
+
+	Connection acquireConnection() {
+		long start = System.nanoTime();
 		var connection = DataSourceUtils.getConnection(dataSource);
+		acquisitions.increment();
+		acquisitionNanos.add(System.nanoTime() - start);
 		log.debug("Connection obtained: {}", connection);
 		return connection;
 	}
 
-	public void releaseConnection(Connection connection) {
+	void returnConnection(Connection connection) {
 		DataSourceUtils.releaseConnection(connection, dataSource);
 		log.debug("Connection released: {}", connection);
 	}
+
+	void endUnitOfWork(UnitOfWork unitOfWork) {
+		if (currentUnitOfWork.get() == unitOfWork) {
+			currentUnitOfWork.remove();
+		}
+	}
+
+	void recordHold(long nanos) {
+		unitsOfWork.increment();
+		unitOfWorkHoldNanos.add(nanos);
+	}
+
+	/** Connections borrowed from the data source so far. */
+	public long getAcquisitionCount() {
+		return acquisitions.sum();
+	}
+
+	/** Total time spent waiting for {@link #getAcquisitionCount()} connections. */
+	public long getAcquisitionTimeNanos() {
+		return acquisitionNanos.sum();
+	}
+
+	/** Units of work that have held, and returned, a connection. */
+	public long getUnitOfWorkCount() {
+		return unitsOfWork.sum();
+	}
+
+	/** Total time connections were pinned by {@link #getUnitOfWorkCount()} units of work. */
+	public long getUnitOfWorkHoldTimeNanos() {
+		return unitOfWorkHoldNanos.sum();
+	}
+
+	/**
+	 * Prepares {@code sql}, reusing a cached statement when the statement cache
+	 * is enabled. Pair every call with {@link #releaseStatement}.
+	 */
+	PreparedStatement prepareStatement(Connection connection, String sql) throws SQLException {
+		return statementCache != null ? statementCache.prepare(connection, sql) : connection.prepareStatement(sql);
+	}
+
+	/**
+	 * Closes a statement from {@link #prepareStatement}, or hands it back to the
+	 * cache - {@code reusable} is false when its execution failed.
+	 */
+	void releaseStatement(Connection connection, String sql, PreparedStatement statement, boolean reusable)
+			throws SQLException {
+		if (statementCache != null) {
+			statementCache.release(connection, sql, statement, reusable);
+		} else {
+			statement.close();
+		}
+	}
 }
@@ -3,20 +3,37 @@ package io.github.gergilcan.wirej.database;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.lang.reflect.Array;
+import java.math.BigDecimal;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import io.github.gergilcan.PostgreSQLmapper.core.PostgresEntityMapper;
+import io.github.gergilcan.wirej.annotations.BatchStrategy;
+import io.github.gergilcan.wirej.annotations.CountStrategy;
+import io.github.gergilcan.wirej.annotations.PageCountQuery;
+import io.github.gergilcan.wirej.core.KeysetPagination;
+import io.github.gergilcan.wirej.core.PagedResult;
 import io.github.gergilcan.wirej.core.RequestFilters;
 import io.github.gergilcan.wirej.core.RequestPagination;
+import io.github.gergilcan.wirej.exceptions.WireJException;
 import io.github.gergilcan.wirej.rsql.RsqlParser;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -26,21 +43,62 @@ import lombok.extern.slf4j.Slf4j;
 @SuppressWarnings("unchecked")
 public class DatabaseStatement<T> {
   private static final String EXECUTING_QUERY_DEBUG_TEXT = "Executing query: ";
+  // Only holds a Jackson mapper and stateless serializers, so one instance
+  // serves every statement instead of building a JsonMapper per query.
+  private static final PostgresEntityMapper ENTITY_MAPPER = new PostgresEntityMapper();
+
+  /** Fetch size for cursors opened without an explicit {@code @QueryFile(fetchSize)}. */
+  public static final int DEFAULT_CURSOR_FETCH_SIZE = 1000;
   private Class<?> entityClass;
   private Connection connection;
 
   @Getter
   private String originalQuery;
-  private String finalQuery;
+  private QueryPlan plan;
+  // The SQL the filters and sort were parsed into, kept so a statement
+  // derived from this one can reuse it instead of parsing them again.
+  private String filtersSql;
+  private String sortingSql;
+
+  // Set for keyset pages only; see forKeysetPage.
+  private Keyset keyset;
+  private int keysetPageSize;
+
+  /** Column a {@link PageCountQuery#WINDOW} page query selects the total count into. */
+  public static final String TOTAL_COUNT_COLUMN = "wirej_total_count";
+  /** What a {@link PageCountQuery#WINDOW} page query appends to its select list. */
+  public static final String WINDOW_COUNT_SELECT = ", count(*) OVER() AS " + TOTAL_COUNT_COLUMN;
+
+  /** Chunk size for the rewriting batch strategies when none is configured. */
+  public static final int DEFAULT_BATCH_CHUNK_SIZE = 1000;
+  // PgJDBC sends the bind parameter count as a signed 16-bit value.
+  private static final int MAX_BIND_PARAMETERS = Short.MAX_VALUE;
+  private static final Map<Class<?>, String> ARRAY_ELEMENT_TYPES = Map.ofEntries(
+      Map.entry(String.class, "text"), Map.entry(Long.class, "int8"), Map.entry(Integer.class, "int4"),
+      Map.entry(Short.class, "int2"), Map.entry(Boolean.class, "bool"), Map.entry(Double.class, "float8"),
+      Map.entry(Float.class, "float4"), Map.entry(BigDecimal.class, "numeric"),
+      Map.entry(Timestamp.class, "timestamp"), Map.entry(java.sql.Date.class, "date"),
+      Map.entry(UUID.class, "uuid"));
 
   private PreparedStatement batchStatement;
+  private String batchStatementSql;
+  private BatchStrategy batchStrategy = BatchStrategy.JDBC_BATCH;
+  private int batchChunkSize;
+  private int pendingBatchItems;
+  private InsertRowsTemplate batchTemplate;
+  private List<Object[]> pendingBatchRows;
+  private List<T> batchResults;
 
   private HashMap<String, Object> parameters = new HashMap<>();
-  private LinkedList<String> statementParameters = new LinkedList<>();
-  private PostgresEntityMapper entityMapper = new PostgresEntityMapper();
+  // The SQL arrays bound for setArrayParameter values, freed on close.
+  private List<java.sql.Array> boundArrays;
+  // Zero means the ConnectionHandler's default.
+  private long queryTimeoutMillis;
+  private RowMapper<T> rowMapper;
   private long startTime;
   private String fileName;
   private ConnectionHandler connectionHandler;
+  private QueryObservation observation = QueryObservation.NONE;
 
   public DatabaseStatement(String fileName, ConnectionHandler connectionHandler) throws IOException, SQLException {
     this(fileName, null, connectionHandler);
@@ -84,6 +142,69 @@ public class DatabaseStatement<T> {
     return statement;
   }
 
+  /**
+   * Creates a statement from a plan the annotation processor already compiled
+   * - the entry point for query text that is fixed at build time, so nothing
+   * is scanned or rewritten per call and execution only binds values. There
+   * is no {@code RequestFilters} here on purpose: filters change the query
+   * text, which is what {@link #forGeneratedQuery} and the file-based
+   * constructors are for. {@link #getOriginalQuery()} is null for these
+   * statements, since only the compiled form exists.
+   */
+  public static <T> DatabaseStatement<T> forPlan(QueryPlan plan, String queryName, RequestPagination pagination,
+      Class<?> entityClass, ConnectionHandler connectionHandler) {
+    DatabaseStatement<T> statement = new DatabaseStatement<>();
+    statement.entityClass = entityClass;
+    statement.fileName = queryName;
+    statement.startTime = System.currentTimeMillis();
+    statement.plan = plan;
+    statement.applyRequestOptions(null, pagination, null);
+    statement.openConnection(connectionHandler);
+    return statement;
+  }
+
+  /**
+   * Creates a keyset page statement. {@code queryText} has {@code :seek}
+   * where the predicate that skips past the previous page goes (it must be
+   * the first condition after {@code WHERE}), {@code :sorting} for the
+   * ordering and {@code :rowLimit} for the row count to fetch. The ordering
+   * is the filters' sort with {@code keyColumn} - the primary key - added as
+   * the last tie-breaker, so each row has one position and no page repeats
+   * or skips a row.
+   */
+  public static <T> DatabaseStatement<T> forKeysetPage(String queryText, String queryName, RequestFilters filters,
+      KeysetPagination pagination, String keyColumn, Class<?> entityClass, RsqlParser parser,
+      ConnectionHandler connectionHandler) {
+    String sort = filters.getSort();
+    Keyset keyset = Keyset.of(sort != null && !sort.isBlank() ? parser.parseSortColumns(sort, entityClass)
+        : Map.of(), keyColumn);
+    int pageSize = pagination.getPageSize() != null ? pagination.getPageSize() : 10;
+    if (pageSize < 1) {
+      throw new WireJException("Page size must be at least 1, got " + pageSize);
+    }
+
+    DatabaseStatement<T> statement = new DatabaseStatement<>();
+    statement.entityClass = entityClass;
+    statement.fileName = queryName;
+    statement.startTime = System.currentTimeMillis();
+    statement.keyset = keyset;
+    statement.keysetPageSize = pageSize;
+    String seek = "1 = 1";
+    if (pagination.getAfter() != null && !pagination.getAfter().isBlank()) {
+      Object[] after = keyset.decode(pagination.getAfter());
+      for (int i = 0; i < after.length; i++) {
+        statement.setParameter("keyset_value_" + i, after[i]);
+      }
+      seek = keyset.seekPredicate();
+    }
+    // One row past the page tells whether there is a next one.
+    statement.setParameter("rowLimit", pageSize + 1);
+    statement.originalQuery = queryText.replace(":seek", seek).replace(":sorting", keyset.orderBy());
+    statement.applyRequestOptions(filters, null, parser);
+    statement.openConnection(connectionHandler);
+    return statement;
+  }
+
   private void applyRequestOptions(RequestFilters filters, RequestPagination pagination, RsqlParser parser) {
     if (pagination != null) {
       setParameter("initialPosition", pagination.getPageNumber() * pagination.getPageSize());
@@ -94,17 +215,38 @@ public class DatabaseStatement<T> {
           filters.getSearch() != null && !filters.getSearch().isBlank() ? "%" + filters.getSearch().trim() + "%"
               : "%%");
 
-      originalQuery = originalQuery.replace(":filters",
-          filters.getFilters() != null && !filters.getFilters().isBlank()
-              ? parser.parse(filters.getFilters(), entityClass, this)
-              : "");
-      originalQuery = originalQuery.replace(":sorting",
-          filters.getSort() != null && !filters.getSort().isBlank()
-              ? parser.parseSorting(filters.getSort(), entityClass)
-              : "");
+      filtersSql = filters.getFilters() != null && !filters.getFilters().isBlank()
+          ? parser.parse(filters.getFilters(), entityClass, this)
+          : "";
+      sortingSql = filters.getSort() != null && !filters.getSort().isBlank()
+          ? parser.parseSorting(filters.getSort(), entityClass)
+          : "";
+      originalQuery = originalQuery.replace(":filters", filtersSql).replace(":sorting", sortingSql);
     }
   }
 
+  /**
+   * Creates a statement for {@code queryText} with this statement's filters
+   * already applied: its {@code :filters} and {@code :sorting} take the SQL
+   * parsed for this one and the parameter values are copied over, so the
+   * count that goes with a page doesn't parse the same filters again. The
+   * new statement borrows a connection on the calling thread.
+   */
+  public <R> DatabaseStatement<R> derive(String queryText, String queryName) {
+    DatabaseStatement<R> derived = new DatabaseStatement<>();
+    derived.entityClass = entityClass;
+    derived.fileName = queryName;
+    derived.startTime = System.currentTimeMillis();
+    derived.originalQuery = filtersSql == null ? queryText
+        : queryText.replace(":filters", filtersSql).replace(":sorting", sortingSql);
+    derived.filtersSql = filtersSql;
+    derived.sortingSql = sortingSql;
+    derived.parameters = new HashMap<>(parameters);
+    derived.queryTimeoutMillis = queryTimeoutMillis;
+    derived.openConnection(connectionHandler);
+    return derived;
+  }
+
   private static final ConcurrentHashMap<String, String> QUERY_FILE_CACHE = new ConcurrentHashMap<>();
 
   private void loadQueryFile(String fileName) throws IOException {
@@ -130,94 +272,737 @@ public class DatabaseStatement<T> {
 
   private void openConnection(ConnectionHandler connectionHandler) {
     this.connectionHandler = connectionHandler;
-    connection = connectionHandler.getConnection();
+    observation = QueryObservation.start(connectionHandler.getObservationRegistry(), fileName);
+    observation.phase(QueryObservation.Phase.ACQUIRE);
+    try {
+      connection = connectionHandler.getConnection();
+    } catch (RuntimeException e) {
+      observation.error(e);
+      stopObservation();
+      throw e;
+    }
+    observation.endPhase();
     log.debug("Statement and connection created: executed in {}ms", System.currentTimeMillis() - startTime);
   }
 
+  /**
+   * Cancels this statement's query once it has run for {@code millis},
+   * rounded up to whole seconds, JDBC's unit. Zero means the
+   * {@code ConnectionHandler}'s default timeout, if any.
+   */
+  public void setQueryTimeout(long millis) {
+    this.queryTimeoutMillis = millis;
+  }
+
+  /**
+   * Maps result rows with {@code rowMapper} instead of the reflective
+   * {@code PostgresEntityMapper}. Generated repositories call this for every
+   * entity the processor could emit a mapper for.
+   */
+  public void setRowMapper(RowMapper<T> rowMapper) {
+    this.rowMapper = rowMapper;
+  }
+
+  /**
+   * Returns the first row, or null when there is none. The driver is told to
+   * stop after one row, so a predicate that matches many rows costs no more
+   * than one that matches a single row.
+   */
   public T getResult() throws SQLException {
+    return runQuery(statement -> getFirstRow(statement, false));
+  }
+
+  /**
+   * Like {@link #getResult()}, but fails with a {@link WireJException} when
+   * the query matches more than one row instead of silently picking one -
+   * for {@code @QueryFile(unique = true)} methods.
+   */
+  public T getUniqueResult() throws SQLException {
+    return runQuery(statement -> getFirstRow(statement, true));
+  }
+
+  private T getFirstRow(PreparedStatement statement, boolean unique) throws SQLException {
+    // A second row is all it takes to prove a result isn't unique.
+    statement.setMaxRows(unique ? 2 : 1);
+    T row;
+    try (var rs = executeQuery(statement)) {
+      if (rowMapper != null) {
+        row = rs.next() ? rowMapper.mapRow(rs, rowMapper.resolveColumns(rs.getMetaData())) : null;
+      } else {
+        // Advances the result set itself and returns null once it is exhausted.
+        row = (T) ENTITY_MAPPER.map(rs, entityClass);
+      }
+      if (unique && row != null && rs.next()) {
+        throw new WireJException("Query " + fileName + " returned more than one row where at most one was expected");
+      }
+    }
+    observation.rows(row != null ? 1 : 0);
+    resetMaxRows(statement);
+    return row;
+  }
+
+  // Statements may come back from the statement cache, so a row limit must
+  // not outlive the query that set it.
+  private static void resetMaxRows(PreparedStatement statement) throws SQLException {
+    statement.setMaxRows(0);
+  }
+
+  public T[] getResultList() throws SQLException {
     return runQuery(statement -> {
-      var rs = statement.executeQuery();
-      var results = (T[]) entityMapper.map(rs, entityClass.arrayType());
-      return results.length > 0 ? results[0] : null;
+      try (var rs = executeQuery(statement)) {
+        T[] rows = mapRows(rs);
+        observation.rows(rows.length);
+        return rows;
+      }
     });
   }
 
-  public T[] getResultList() throws SQLException {
-    return runQuery(statement -> (T[]) entityMapper.map(statement.executeQuery(), entityClass.arrayType()));
+  private T[] mapRows(ResultSet rs) throws SQLException {
+    if (rowMapper == null) {
+      return (T[]) ENTITY_MAPPER.map(rs, entityClass.arrayType());
+    }
+    int[] columns = rowMapper.resolveColumns(rs.getMetaData());
+    var rows = new ArrayList<T>();
+    while (rs.next()) {
+      rows.add(rowMapper.mapRow(rs, columns));
+    }
+    return rows.toArray((T[]) Array.newInstance(entityClass, rows.size()));
+  }
+
+  /**
+   * Runs this page query and returns it with the rows matching its filters
+   * in {@code tableName} counted as {@code count} says - or as the request
+   * says, when {@code pagination} names a strategy - and run as
+   * {@code countQuery} says. Counts are statements derived from this one;
+   * with {@link PageCountQuery#WINDOW}, this query selects an exact count
+   * into {@link #TOTAL_COUNT_COLUMN} through {@link #WINDOW_COUNT_SELECT},
+   * which is dropped from it when the count is not exact, and a separate
+   * count only runs for a page past the last row.
+   */
+  public PagedResult<T> getPage(RequestPagination pagination, PageCountQuery countQuery, CountStrategy count,
+      long countCap, String tableName, String countQueryName) throws SQLException {
+    CountStrategy strategy = pagination != null && pagination.getCount() != null ? pagination.getCount() : count;
+    if (countQuery == PageCountQuery.WINDOW && strategy != CountStrategy.EXACT) {
+      originalQuery = originalQuery.replace(WINDOW_COUNT_SELECT, "");
+      countQuery = PageCountQuery.SEPARATE;
+    }
+    if (strategy == CountStrategy.NONE) {
+      return getPageProbingNext();
+    }
+    return switch (countQuery) {
+      case SEPARATE -> {
+        T[] rows = getResultList();
+        yield page(rows, PageCount.count(this, strategy, countCap, tableName, countQueryName));
+      }
+      case WINDOW -> getPageWithWindowCount(tableName, countQueryName);
+      case CONCURRENT -> getPageCountingConcurrently(strategy, countCap, tableName, countQueryName);
+    };
+  }
+
+  private PagedResult<T> page(T[] rows, PageCount.Total total) {
+    return new PagedResult<>(rows, total.count(), null, total.strategy(), null);
+  }
+
+  /**
+   * An uncounted page: one row more than the page is fetched, so whether
+   * there is a next page comes from the same query instead of a count.
+   * Without a page size there is no page, so every row comes back with no
+   * next.
+   */
+  private PagedResult<T> getPageProbingNext() throws SQLException {
+    if (!(parameters.get("pageSize") instanceof Integer pageSize)) {
+      return new PagedResult<>(getResultList(), null, null, CountStrategy.NONE, false);
+    }
+    setParameter("pageSize", pageSize + 1);
+    T[] rows = getResultList();
+    boolean hasNext = rows.length > pageSize;
+    return new PagedResult<>(hasNext ? Arrays.copyOf(rows, pageSize) : rows, null, null, CountStrategy.NONE,
+        hasNext);
+  }
+
+  private PagedResult<T> getPageWithWindowCount(String tableName, String countQueryName) throws SQLException {
+    if (rowMapper == null) {
+      throw new WireJException("Query " + fileName + " selects " + TOTAL_COUNT_COLUMN + ", which needs a row mapper");
+    }
+    long[] totalCount = { 0 };
+    T[] rows = runQuery(statement -> {
+      try (var rs = executeQuery(statement)) {
+        int[] columns = rowMapper.resolveColumns(rs.getMetaData());
+        int totalColumn = rs.findColumn(TOTAL_COUNT_COLUMN);
+        var list = new ArrayList<T>();
+        while (rs.next()) {
+          if (list.isEmpty()) {
+            totalCount[0] = rs.getLong(totalColumn);
+          }
+          list.add(rowMapper.mapRow(rs, columns));
+        }
+        observation.rows(list.size());
+        return list.toArray((T[]) Array.newInstance(entityClass, list.size()));
+      }
+    });
+    // An empty first page means nothing matched; an empty later page only
+    // that it starts past the last row.
+    if (rows.length == 0 && parameters.get("initialPosition") instanceof Integer offset && offset > 0) {
+      return page(rows, PageCount.count(this, CountStrategy.EXACT, 0, tableName, countQueryName));
+    }
+    return new PagedResult<>(rows, totalCount[0]);
+  }
+
+  private PagedResult<T> getPageCountingConcurrently(CountStrategy strategy, long countCap, String tableName,
+      String countQueryName) throws SQLException {
+    // Counted on the executor's thread, with its own connection rather than
+    // one from any unit of work pinned to this one.
+    CompletableFuture<PageCount.Total> total = connectionHandler.getAsyncExecutor().supply(() -> {
+      try {
+        return PageCount.count(this, strategy, countCap, tableName, countQueryName);
+      } catch (SQLException e) {
+        throw new WireJException("Query failed: " + countQueryName + ": " + e.getMessage(), e);
+      }
+    });
+    T[] rows = getResultList();
+    try {
+      return page(rows, total.join());
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Runs a {@link #forKeysetPage} statement, returning its page with the
+   * {@code next} token for the page after it, or null when this is the last.
+   * Keyset pages are not counted.
+   */
+  public PagedResult<T> getKeysetPage() throws SQLException {
+    Object[][] lastKey = { null };
+    boolean[] hasNext = { false };
+    T[] rows = runQuery(statement -> {
+      try (var rs = executeQuery(statement)) {
+        int[] keyColumns = keyset.resolveColumns(rs);
+        int[] columns = rowMapper != null ? rowMapper.resolveColumns(rs.getMetaData()) : null;
+        var list = new ArrayList<T>(keysetPageSize);
+        while (true) {
+          T row;
+          if (rowMapper != null) {
+            row = rs.next() ? rowMapper.mapRow(rs, columns) : null;
+          } else {
+            // Advances the result set itself and returns null once it is exhausted.
+            row = (T) ENTITY_MAPPER.map(rs, entityClass);
+          }
+          if (row == null) {
+            break;
+          }
+          if (list.size() == keysetPageSize) {
+            hasNext[0] = true;
+            break;
+          }
+          list.add(row);
+          lastKey[0] = keyset.read(rs, keyColumns);
+        }
+        observation.rows(list.size());
+        return list.toArray((T[]) Array.newInstance(entityClass, list.size()));
+      }
+    });
+    return new PagedResult<>(rows, null, hasNext[0] ? keyset.encode(lastKey[0]) : null, CountStrategy.NONE,
+        hasNext[0]);
+  }
+
+  long getTotalCount() throws SQLException {
+    Object value = getSingleValue();
+    return value == null ? 0 : ((Number) value).longValue();
+  }
+
+  boolean isFiltered() {
+    return filtersSql != null && !filtersSql.isBlank();
+  }
+
+  boolean isPostgres() throws SQLException {
+    return "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+  }
+
+  /**
+   * Runs the query and returns a cursor that maps entity rows as they are
+   * read, {@code fetchSize} at a time (the default when not positive). The
+   * connection stays open until the cursor is closed.
+   *
+   * PostgreSQL only fetches incrementally inside a transaction; outside
+   * one, the connection is switched out of autocommit for the cursor's
+   * lifetime and committed and restored on close. A connection already in a
+   * transaction is left alone.
+   */
+  public ResultCursor<T> openCursor(int fetchSize) throws SQLException {
+    return openCursor(fetchSize, false);
+  }
+
+  /** Like {@link #openCursor(int)}, for queries whose rows are one plain value. */
+  public ResultCursor<T> openSingleValueCursor(int fetchSize) throws SQLException {
+    return openCursor(fetchSize, true);
+  }
+
+  private ResultCursor<T> openCursor(int fetchSize, boolean singleValue) throws SQLException {
+    log.debug("{}{}", EXECUTING_QUERY_DEBUG_TEXT, fileName);
+    observation.phase(QueryObservation.Phase.PREPARE);
+    resolvePlan();
+    boolean restoreAutoCommit = connection.getAutoCommit();
+    PreparedStatement statement = null;
+    try {
+      if (restoreAutoCommit) {
+        connection.setAutoCommit(false);
+      }
+      statement = connection.prepareStatement(plan.getSql(), ResultSet.TYPE_FORWARD_ONLY,
+          ResultSet.CONCUR_READ_ONLY);
+      statement.setFetchSize(fetchSize > 0 ? fetchSize : DEFAULT_CURSOR_FETCH_SIZE);
+      setStatementParameters(statement);
+      var rs = executing(statement, PreparedStatement::executeQuery);
+      var openStatement = statement;
+      return new ResultCursor<>(rs, rowFetcher(rs, singleValue),
+          () -> closeCursor(openStatement, restoreAutoCommit, true));
+    } catch (SQLException | RuntimeException e) {
+      observation.error(e);
+      try {
+        closeCursor(statement, restoreAutoCommit, false);
+      } catch (SQLException | RuntimeException closeFailure) {
+        e.addSuppressed(closeFailure);
+      }
+      throw e;
+    }
+  }
+
+  private ResultCursor.RowFetcher rowFetcher(ResultSet rs, boolean singleValue) throws SQLException {
+    if (singleValue) {
+      return row -> row.next() ? row.getObject(1) : ResultCursor.END;
+    }
+    if (rowMapper != null) {
+      int[] columns = rowMapper.resolveColumns(rs.getMetaData());
+      return row -> row.next() ? rowMapper.mapRow(row, columns) : ResultCursor.END;
+    }
+    // The reflective mapper advances the result set itself when asked for a
+    // single (non-array) entity, and returns null once it is exhausted.
+    return row -> {
+      Object mapped = ENTITY_MAPPER.map(row, entityClass);
+      return mapped != null ? mapped : ResultCursor.END;
+    };
+  }
+
+  private void closeCursor(PreparedStatement statement, boolean restoreAutoCommit, boolean commit)
+      throws SQLException {
+    try {
+      if (statement != null) {
+        statement.close();
+      }
+      if (restoreAutoCommit) {
+        try {
+          if (commit) {
+            connection.commit();
+          } else {
+            connection.rollback();
+          }
+        } finally {
+          connection.setAutoCommit(true);
+        }
+      }
+    } finally {
+      closeStatement();
+      log.debug("Query: {} executed in {}ms", fileName, System.currentTimeMillis() - startTime);
+    }
   }
 
   public void setParameter(String name, Object param) {
     parameters.put(name, param);
   }
 
+  /**
+   * Binds {@code values} as one SQL array, for {@code = ANY(:name)}. Its
+   * element type comes from the first non-null element, so on PostgreSQL
+   * an empty collection is a {@code text[]}. A collection passed to
+   * {@link #setParameter} is bound as it is, like any other value.
+   */
+  public void setArrayParameter(String name, Collection<?> values) {
+    parameters.put(name, new ArrayParameter(values));
+  }
+
+  private record ArrayParameter(Collection<?> values) {
+  }
+
   public boolean execute() throws SQLException {
     return runQuery(PreparedStatement::execute);
   }
 
   private <R> R runQuery(SqlFunction<R> action) throws SQLException {
     log.debug("{}{}", EXECUTING_QUERY_DEBUG_TEXT, fileName);
-    replaceParameters();
-    try (var statement = connection.prepareStatement(finalQuery)) {
+    SlowQueryLog slowQueryLog = connectionHandler.getSlowQueryLog();
+    long start = slowQueryLog != null ? System.nanoTime() : 0;
+    observation.phase(QueryObservation.Phase.PREPARE);
+    resolvePlan();
+    var sql = plan.getSql();
+    PreparedStatement statement = null;
+    boolean succeeded = false;
+    try {
+      statement = connectionHandler.prepareStatement(connection, sql);
       setStatementParameters(statement);
+      R result = executing(statement, action);
+      succeeded = true;
+      return result;
+    } catch (SQLException | RuntimeException e) {
+      observation.error(e);
+      throw e;
+    } finally {
+      try {
+        if (statement != null) {
+          connectionHandler.releaseStatement(connection, sql, statement, succeeded);
+        }
+        if (slowQueryLog != null) {
+          reportIfSlow(slowQueryLog, System.nanoTime() - start, succeeded);
+        }
+      } finally {
+        close();
+      }
+    }
+  }
+
+  // Runs while the connection is still held, so the plan comes from the
+  // session - search path, settings, transaction - the query ran in.
+  private void reportIfSlow(SlowQueryLog slowQueryLog, long elapsedNanos, boolean succeeded) {
+    if (!slowQueryLog.isSlow(elapsedNanos)) {
+      return;
+    }
+    String queryPlan = succeeded && slowQueryLog.shouldExplain() ? explain() : null;
+    slowQueryLog.report(new SlowQueryLog.SlowQuery(fileName, plan.getSql(), parameterTypes(),
+        Duration.ofNanos(elapsedNanos), !succeeded, queryPlan));
+  }
+
+  private List<String> parameterTypes() {
+    var types = new ArrayList<String>(plan.getParameterCount());
+    for (int i = 0; i < plan.getParameterCount(); i++) {
+      Object value = parameters.get(plan.getParameterName(i));
+      if (value instanceof ArrayParameter array) {
+        value = array.values();
+      }
+      types.add(plan.getParameterName(i) + ": " + (value != null ? value.getClass().getSimpleName() : "null"));
+    }
+    return types;
+  }
+
+  /** The database's plan for this statement, or null when it can't be explained. */
+  private String explain() {
+    try {
+      String prefix = switch (connection.getMetaData().getDatabaseProductName()) {
+        case "PostgreSQL" -> "EXPLAIN (ANALYZE off) ";
+        case "H2" -> "EXPLAIN ";
+        default -> null;
+      };
+      if (prefix == null) {
+        return null;
+      }
+      try (var statement = connection.prepareStatement(prefix + plan.getSql())) {
+        setStatementParameters(statement);
+        var lines = new StringBuilder();
+        try (var rs = statement.executeQuery()) {
+          while (rs.next()) {
+            lines.append(lines.isEmpty() ? "" : "\n").append(rs.getString(1));
+          }
+        }
+        return lines.toString();
+      }
+    } catch (SQLException e) {
+      log.debug("Could not explain slow query {}", fileName, e);
+      return null;
+    }
+  }
+
+  /**
+   * Runs one execution of {@code statement} under the query timeout,
+   * registered with the caller's {@link QueryCancellation} while it runs.
+   * It is observed as the execute phase, and mapping when {@code action}
+   * reads rows through {@link #executeQuery}.
+   */
+  private <R> R executing(PreparedStatement statement, SqlFunction<R> action) throws SQLException {
+    int timeoutSeconds = timeoutSeconds();
+    observation.phase(QueryObservation.Phase.EXECUTE);
+    try (var registration = QueryCancellation.track(statement)) {
+      if (timeoutSeconds > 0) {
+        statement.setQueryTimeout(timeoutSeconds);
+      }
       return action.apply(statement);
+    } catch (SQLException | RuntimeException e) {
+      observation.error(e);
+      throw e;
     } finally {
-      close();
+      observation.endPhase();
+      // Statements may be cached and reused, and H2 keeps the timeout per session.
+      if (timeoutSeconds > 0) {
+        statement.setQueryTimeout(0);
+      }
     }
   }
 
+  /** Executes a query whose rows are then mapped, moving the observation on to mapping. */
+  private ResultSet executeQuery(PreparedStatement statement) throws SQLException {
+    var rs = statement.executeQuery();
+    observation.phase(QueryObservation.Phase.MAPPING);
+    return rs;
+  }
+
+  private int timeoutSeconds() {
+    long millis = queryTimeoutMillis > 0 ? queryTimeoutMillis : connectionHandler.getDefaultQueryTimeoutMillis();
+    return (int) Math.min(Integer.MAX_VALUE, (millis + 999) / 1000);
+  }
+
   @FunctionalInterface
   private interface SqlFunction<R> {
     R apply(PreparedStatement statement) throws SQLException;
   }
 
+  /**
+   * Chooses how {@link #addBatch()} items are sent; see {@link BatchStrategy}.
+   * A {@code chunkSize} of zero means the strategy's default. Must be called
+   * before the first {@code addBatch()}.
+   */
+  public void setBatchOptions(BatchStrategy strategy, int chunkSize) {
+    this.batchStrategy = strategy;
+    this.batchChunkSize = chunkSize;
+  }
+
   public void addBatch() throws SQLException {
-    if (batchStatement == null) {
-      replaceParameters();
-      batchStatement = connection.prepareStatement(finalQuery, Statement.RETURN_GENERATED_KEYS);
+    resolvePlan();
+    if (batchStrategy == BatchStrategy.JDBC_BATCH) {
+      var statement = batchStatementFor(plan.getSql());
+      setStatementParameters(statement);
+      statement.addBatch();
+      if (++pendingBatchItems == batchChunkSize) {
+        flushBatch();
+      }
+      return;
+    }
+
+    if (pendingBatchRows == null) {
+      batchTemplate = InsertRowsTemplate.of(plan.getSql());
+      pendingBatchRows = new ArrayList<>();
+    }
+    pendingBatchRows.add(currentRow());
+    if (pendingBatchRows.size() == rowsPerStatement()) {
+      flushBatch();
     }
-    setStatementParameters(batchStatement);
-    batchStatement.addBatch();
+  }
+
+  /**
+   * Bulk-loads {@code items}, binding each through {@code binder}. On
+   * PostgreSQL the rows are streamed through {@code copySql}, a
+   * {@code COPY ... FROM STDIN} whose column list matches this statement's
+   * parameters in order; on any other database they fall back to
+   * {@link #addBatch()} with this statement's batch options, chunked at
+   * {@link #DEFAULT_BATCH_CHUNK_SIZE} unless a chunk size was set. Returns
+   * the number of rows loaded.
+   */
+  public <E> long copyIn(String copySql, Iterable<? extends E> items, EntityBinder<? super E> binder)
+      throws SQLException {
+    resolvePlan();
+    if (!PostgresCopy.isSupported(connection)) {
+      return insertInChunks(items, binder);
+    }
+
+    log.debug("{}{}", EXECUTING_QUERY_DEBUG_TEXT, fileName);
+    observation.phase(QueryObservation.Phase.EXECUTE);
+    try {
+      return PostgresCopy.copyIn(connection, copySql, items, item -> {
+        binder.bind(item, this);
+        return currentRow();
+      });
+    } catch (SQLException | RuntimeException e) {
+      observation.error(e);
+      throw e;
+    } finally {
+      close();
+    }
+  }
+
+  private <E> long insertInChunks(Iterable<? extends E> items, EntityBinder<? super E> binder)
+      throws SQLException {
+    if (batchChunkSize <= 0) {
+      batchChunkSize = DEFAULT_BATCH_CHUNK_SIZE;
+    }
+    long rows = 0;
+    for (E item : items) {
+      binder.bind(item, this);
+      addBatch();
+      rows++;
+    }
+    executeBatch();
+    return rows;
   }
 
   public T[] executeBatch() throws SQLException {
     try {
-      if (batchStatement != null) {
-        log.debug("{}{}", EXECUTING_QUERY_DEBUG_TEXT, fileName);
-        batchStatement.executeBatch();
-        if (entityClass != null && entityClass != Void.TYPE) {
-          return (T[]) entityMapper.map(batchStatement.getGeneratedKeys(), entityClass.arrayType());
+      flushBatch();
+    } finally {
+      closeBatchStatement();
+      close();
+    }
+
+    if (returnsRows()) {
+      var results = (T[]) Array.newInstance(entityClass, batchResults != null ? batchResults.size() : 0);
+      return batchResults != null ? batchResults.toArray(results) : results;
+    }
+
+    return null;
+  }
+
+  private void flushBatch() throws SQLException {
+    if (pendingBatchItems > 0) {
+      log.debug("{}{}", EXECUTING_QUERY_DEBUG_TEXT, fileName);
+      executing(batchStatement, PreparedStatement::executeBatch);
+      pendingBatchItems = 0;
+      collectGeneratedKeys(batchStatement);
+    } else if (pendingBatchRows != null && !pendingBatchRows.isEmpty()) {
+      log.debug("{}{} ({} rows)", EXECUTING_QUERY_DEBUG_TEXT, fileName, pendingBatchRows.size());
+      if (batchStrategy == BatchStrategy.UNNEST) {
+        executeUnnestChunk();
+      } else {
+        executeValuesChunk();
+      }
+      pendingBatchRows.clear();
+    }
+  }
+
+  private void executeValuesChunk() throws SQLException {
+    // Full chunks share one SQL text, so the statement is only re-prepared
+    // for the shorter final chunk.
+    var statement = batchStatementFor(batchTemplate.valuesSql(pendingBatchRows.size()));
+    int index = 1;
+    for (Object[] row : pendingBatchRows) {
+      for (Object value : row) {
+        statement.setObject(index++, value);
+      }
+    }
+    executing(statement, PreparedStatement::executeUpdate);
+    collectGeneratedKeys(statement);
+  }
+
+  private void executeUnnestChunk() throws SQLException {
+    int columns = batchTemplate.getColumnCount();
+    var arrays = new java.sql.Array[columns];
+    var nullColumns = new boolean[columns];
+    try {
+      for (int column = 0; column < columns; column++) {
+        var values = new Object[pendingBatchRows.size()];
+        String elementType = null;
+        for (int row = 0; row < values.length; row++) {
+          values[row] = toArrayElement(pendingBatchRows.get(row)[column]);
+          if (elementType == null && values[row] != null) {
+            elementType = arrayElementType(values[row], column);
+          }
         }
+        nullColumns[column] = elementType == null;
+        arrays[column] = connection.createArrayOf(elementType != null ? elementType : "text", values);
+      }
+
+      var statement = batchStatementFor(batchTemplate.unnestSql(nullColumns));
+      for (int column = 0; column < columns; column++) {
+        statement.setArray(column + 1, arrays[column]);
       }
+      executing(statement, PreparedStatement::executeUpdate);
+      collectGeneratedKeys(statement);
     } finally {
-      if (batchStatement != null) {
-        batchStatement.close();
+      for (var array : arrays) {
+        if (array != null) {
+          array.free();
+        }
       }
-      close();
     }
+  }
 
-    if (entityClass != null && entityClass != Void.TYPE) {
-      return (T[]) Array.newInstance(entityClass, 0);
+  private int rowsPerStatement() {
+    int chunkSize = batchChunkSize > 0 ? batchChunkSize : DEFAULT_BATCH_CHUNK_SIZE;
+    if (batchStrategy == BatchStrategy.MULTI_ROW_VALUES) {
+      return Math.max(1, Math.min(chunkSize, MAX_BIND_PARAMETERS / Math.max(1, batchTemplate.getColumnCount())));
     }
+    return chunkSize;
+  }
 
-    return null;
+  private PreparedStatement batchStatementFor(String sql) throws SQLException {
+    if (batchStatement != null && sql.equals(batchStatementSql)) {
+      return batchStatement;
+    }
+    closeBatchStatement();
+    // Generated keys cost PostgreSQL a RETURNING clause and the driver a
+    // result set per chunk, so they are only asked for when they are mapped.
+    batchStatement = returnsRows() ? connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)
+        : connection.prepareStatement(sql);
+    batchStatementSql = sql;
+    return batchStatement;
   }
 
-  private void close() {
-    connectionHandler.releaseConnection(connection);
-    log.debug("Query: {} executed in {}ms", fileName, System.currentTimeMillis() - startTime);
+  private void collectGeneratedKeys(PreparedStatement statement) throws SQLException {
+    if (!returnsRows()) {
+      return;
+    }
+    if (batchResults == null) {
+      batchResults = new ArrayList<>();
+    }
+    try (var keys = statement.getGeneratedKeys()) {
+      Collections.addAll(batchResults, mapRows(keys));
+    }
   }
 
-  public void closeStatement() throws SQLException {
+  private boolean returnsRows() {
+    return entityClass != null && entityClass != Void.TYPE;
+  }
+
+  private void closeBatchStatement() throws SQLException {
     if (batchStatement != null) {
       batchStatement.close();
       batchStatement = null;
+      batchStatementSql = null;
     }
-    if (connection != null) {
-      connectionHandler.releaseConnection(connection);
-      connection = null;
+  }
+
+  private static Object toArrayElement(Object value) {
+    if (value instanceof LocalDateTime dateTime) {
+      return Timestamp.valueOf(dateTime);
+    }
+    if (value instanceof LocalDate date) {
+      return java.sql.Date.valueOf(date);
+    }
+    return value;
+  }
+
+  private static String arrayElementType(Object value, int column) {
+    String type = ARRAY_ELEMENT_TYPES.get(value.getClass());
+    if (type == null) {
+      throw new WireJException("UNNEST batches can't pick a PostgreSQL array type for "
+          + value.getClass().getName() + " (column " + (column + 1) + "); use MULTI_ROW_VALUES instead");
+    }
+    return type;
+  }
+
+  private void close() {
+    freeArrays();
+    connectionHandler.releaseConnection(connection);
+    stopObservation();
+    log.debug("Query: {} executed in {}ms", fileName, System.currentTimeMillis() - startTime);
+  }
+
+  public void closeStatement() throws SQLException {
+    try {
+      freeArrays();
+      closeBatchStatement();
+      if (connection != null) {
+        connectionHandler.releaseConnection(connection);
+        connection = null;
+      }
+    } finally {
+      stopObservation();
     }
   }
 
+  // A statement may be closed more than once, once it has failed.
+  private void stopObservation() {
+    observation.stop();
+    observation = QueryObservation.NONE;
+  }
+
   public static void closeQuietly(DatabaseStatement<?> statement) {
     if (statement == null) {
       return;
@@ -229,47 +1014,104 @@ public class DatabaseStatement<T> {
     }
   }
 
-  private static final Pattern PARAMETER_PATTERN = Pattern.compile("(?<!:):(?!:)([a-zA-Z_]\\w*)");
-
-  private void replaceParameters() {
-    statementParameters.clear();
-    Matcher matcher = PARAMETER_PATTERN.matcher(originalQuery);
-    StringBuilder result = new StringBuilder();
-    while (matcher.find()) {
-      statementParameters.add(matcher.group(1));
-      matcher.appendReplacement(result, "?");
+  /**
+   * Statements built from a processor-compiled plan already have one; the
+   * rest compile their (possibly filter-expanded) text through the shared
+   * runtime plan cache, so the named-parameter scan runs once per distinct
+   * query text rather than once per execution.
+   */
+  private void resolvePlan() {
+    if (plan == null) {
+      plan = QueryPlan.cached(originalQuery);
     }
-    matcher.appendTail(result);
-    finalQuery = result.toString();
   }
 
   private void setStatementParameters(PreparedStatement statement) throws SQLException {
-    for (int i = 0; i < statementParameters.size(); i++) {
-      var parameterName = statementParameters.get(i);
-      statement.setObject(i + 1, toJdbcValue(parameters.get(parameterName)));
+    for (int i = 0; i < plan.getParameterCount(); i++) {
+      Object value = parameters.get(plan.getParameterName(i));
+      if (value instanceof ArrayParameter array) {
+        statement.setArray(i + 1, toSqlArray(array.values()));
+      } else {
+        statement.setObject(i + 1, toJdbcValue(value));
+      }
     }
   }
 
+  private java.sql.Array toSqlArray(Collection<?> values) throws SQLException {
+    var elements = new Object[values.size()];
+    String elementType = null;
+    int i = 0;
+    for (Object value : values) {
+      elements[i] = toArrayElement(toJdbcValue(value));
+      if (elementType == null && elements[i] != null) {
+        elementType = ARRAY_ELEMENT_TYPES.get(elements[i].getClass());
+        if (elementType == null) {
+          throw new WireJException("Array parameters bind as SQL arrays, which can't hold "
+              + elements[i].getClass().getName());
+        }
+      }
+      i++;
+    }
+    var array = connection.createArrayOf(elementType != null ? elementType : "text", elements);
+    if (boundArrays == null) {
+      boundArrays = new ArrayList<>();
+    }
+    boundArrays.add(array);
+    return array;
+  }
+
+  private void freeArrays() {
+    if (boundArrays == null) {
+      return;
+    }
+    for (var array : boundArrays) {
+      try {
+        array.free();
+      } catch (SQLException e) {
+        log.warn("Failed to free a SQL array bound to {}", fileName, e);
+      }
+    }
+    boundArrays = null;
+  }
+
+  /** The currently set parameter values, in plan order. */
+  private Object[] currentRow() {
+    var row = new Object[plan.getParameterCount()];
+    for (int i = 0; i < row.length; i++) {
+      row[i] = toJdbcValue(parameters.get(plan.getParameterName(i)));
+    }
+    return row;
+  }
+
   private static Object toJdbcValue(Object value) {
     return value instanceof Enum<?> enumValue ? enumValue.name() : value;
   }
 
+  /**
+   * Returns the first column of the first row, or null when there is no row.
+   */
   public T getSingleValue() throws SQLException {
     return runQuery(statement -> {
-      var rs = statement.executeQuery();
-      rs.next();
-      return (T) rs.getObject(1);
+      statement.setMaxRows(1);
+      T value;
+      try (var rs = executeQuery(statement)) {
+        boolean found = rs.next();
+        value = found ? (T) rs.getObject(1) : null;
+        observation.rows(found ? 1 : 0);
+      }
+      resetMaxRows(statement);
+      return value;
     });
   }
 
   public T[] getSingleValueList() throws SQLException {
     return runQuery(statement -> {
-      try {
+      try (var rs = executeQuery(statement)) {
         var list = new ArrayList<T>();
-        var rs = statement.executeQuery();
         while (rs.next()) {
           list.add((T) rs.getObject(1));
         }
+        observation.rows(list.size());
         return list.toArray((T[]) Array.newInstance(entityClass, 0));
       } catch (SQLException e) {
         return (T[]) Array.newInstance(entityClass, 0);
@@ -0,0 +1,15 @@
+package io.github.gergilcan.wirej.database;
+
+/**
+ * Binds an entity's fields as named statement parameters without
+ * reflection. The annotation processor emits one {@code <Entity>Binder} per
+ * entity a repository passes as a parameter object, with every parameter
+ * name resolved at compile time and each value read through its getter;
+ * generated repositories call it wherever they would otherwise use
+ * {@link ParameterBinder#bindObjectFields}, which remains the fallback for
+ * entities the processor can't generate a binder for.
+ */
+public interface EntityBinder<T> {
+
+  void bind(T item, DatabaseStatement<?> statement);
+}
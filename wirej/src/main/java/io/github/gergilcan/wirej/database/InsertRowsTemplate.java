@@ -0,0 +1,132 @@
+package io.github.gergilcan.wirej.database;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import io.github.gergilcan.wirej.exceptions.WireJException;
+
+/**
+ * A single-row {@code INSERT ... VALUES (...)} split around its row tuple, so
+ * the multi-row batch strategies can rebuild it for a whole chunk of rows:
+ * repeated as {@code VALUES (...), (...)}, or as a {@code SELECT} over
+ * {@code unnest} arrays. Works on the positional SQL of a {@link QueryPlan},
+ * and only accepts queries whose every parameter sits inside the tuple -
+ * a parameter in the tail (say, an {@code ON CONFLICT} clause) would have
+ * no single row to take its value from.
+ */
+final class InsertRowsTemplate {
+  private static final Pattern VALUES_TUPLE = Pattern.compile("(?i)\\bVALUES\\s*\\(");
+  private static final LruCache<String, InsertRowsTemplate> TEMPLATES = new LruCache<>(256);
+
+  private final String head;
+  private final String tuple;
+  private final String tail;
+  private final int columnCount;
+
+  private InsertRowsTemplate(String head, String tuple, String tail, int columnCount) {
+    this.head = head;
+    this.tuple = tuple;
+    this.tail = tail;
+    this.columnCount = columnCount;
+  }
+
+  /** Returns the template for {@code positionalSql}, parsing it on first use. */
+  static InsertRowsTemplate of(String positionalSql) {
+    return TEMPLATES.computeIfAbsent(positionalSql, InsertRowsTemplate::parse);
+  }
+
+  private static InsertRowsTemplate parse(String sql) {
+    Matcher matcher = VALUES_TUPLE.matcher(sql);
+    if (!sql.stripLeading().regionMatches(true, 0, "INSERT", 0, 6) || !matcher.find()) {
+      throw new WireJException("Multi-row batch strategies need an INSERT ... VALUES (...) query, got: " + sql);
+    }
+    int open = matcher.end() - 1;
+    int close = matchingParenthesis(sql, open);
+    String head = sql.substring(0, matcher.start());
+    String tuple = sql.substring(open + 1, close);
+    String tail = sql.substring(close + 1);
+    if (countPlaceholders(head) > 0 || countPlaceholders(tail) > 0) {
+      throw new WireJException(
+          "Multi-row batch strategies need every parameter inside the VALUES (...) tuple, got: " + sql);
+    }
+    return new InsertRowsTemplate(head, tuple, tail, countPlaceholders(tuple));
+  }
+
+  int getColumnCount() {
+    return columnCount;
+  }
+
+  /** The insert with its tuple repeated once per row. */
+  String valuesSql(int rows) {
+    var sql = new StringBuilder(head.length() + tail.length() + rows * (tuple.length() + 4));
+    sql.append(head).append("VALUES ");
+    for (int i = 0; i < rows; i++) {
+      sql.append(i > 0 ? ", (" : "(").append(tuple).append(')');
+    }
+    return sql.append(tail).toString();
+  }
+
+  /**
+   * The insert as {@code SELECT <tuple> FROM unnest(?, ...) AS u(c1, ...)},
+   * taking one array parameter per column. A column flagged in
+   * {@code nullColumns} selects a bare {@code NULL} instead, since an array
+   * holding only nulls has no element type the column would accept.
+   */
+  String unnestSql(boolean[] nullColumns) {
+    var select = new StringBuilder(tuple.length() + columnCount * 4);
+    int column = 0;
+    boolean quoted = false;
+    for (int i = 0; i < tuple.length(); i++) {
+      char c = tuple.charAt(i);
+      if (c == '\'') {
+        quoted = !quoted;
+      }
+      if (c == '?' && !quoted) {
+        select.append(nullColumns[column] ? "NULL" : "u.c" + (column + 1));
+        column++;
+      } else {
+        select.append(c);
+      }
+    }
+
+    var sql = new StringBuilder(head).append("SELECT ").append(select).append(" FROM unnest(");
+    for (int i = 0; i < columnCount; i++) {
+      sql.append(i > 0 ? ", ?" : "?");
+    }
+    sql.append(") AS u(");
+    for (int i = 0; i < columnCount; i++) {
+      sql.append(i > 0 ? ", c" : "c").append(i + 1);
+    }
+    return sql.append(')').append(tail).toString();
+  }
+
+  private static int matchingParenthesis(String sql, int open) {
+    int depth = 0;
+    boolean quoted = false;
+    for (int i = open; i < sql.length(); i++) {
+      char c = sql.charAt(i);
+      if (c == '\'') {
+        quoted = !quoted;
+      } else if (!quoted && c == '(') {
+        depth++;
+      } else if (!quoted && c == ')' && --depth == 0) {
+        return i;
+      }
+    }
+    throw new WireJException("Unbalanced parentheses in the VALUES tuple of: " + sql);
+  }
+
+  private static int countPlaceholders(String sql) {
+    int count = 0;
+    boolean quoted = false;
+    for (int i = 0; i < sql.length(); i++) {
+      char c = sql.charAt(i);
+      if (c == '\'') {
+        quoted = !quoted;
+      } else if (c == '?' && !quoted) {
+        count++;
+      }
+    }
+    return count;
+  }
+}
@@ -0,0 +1,206 @@
+package io.github.gergilcan.wirej.database;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.UUID;
+
+import io.github.gergilcan.wirej.exceptions.WireJException;
+
+/**
+ * The ordering of a keyset page - the sort columns, ended by the primary key
+ * so every row has a distinct position - and the seek predicate that starts
+ * a page right after a given row, plus the opaque token that carries that
+ * row's key values from one request to the next.
+ *
+ * Tokens are base64url, begin with a fingerprint of the ordering they were
+ * made for (so a token can't be replayed against a different sort), and
+ * only ever reach the SQL as bind parameters. The seek predicate compares
+ * with {@code =}, {@code <} and {@code >}, so the sort columns should not be
+ * nullable: a row with a null key value ends the page sequence early.
+ */
+final class Keyset {
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+  private final String[] columns;
+  private final boolean[] descending;
+
+  private Keyset(String[] columns, boolean[] descending) {
+    this.columns = columns;
+    this.descending = descending;
+  }
+
+  /** {@code sortColumns} as {@code RsqlParser.parseSortColumns} returns them, then {@code keyColumn}. */
+  static Keyset of(Map<String, String> sortColumns, String keyColumn) {
+    boolean hasKey = sortColumns.keySet().stream().anyMatch(keyColumn::equalsIgnoreCase);
+    int size = sortColumns.size() + (hasKey ? 0 : 1);
+    var columns = new String[size];
+    var descending = new boolean[size];
+    int i = 0;
+    for (var sortColumn : sortColumns.entrySet()) {
+      columns[i] = sortColumn.getKey();
+      descending[i++] = sortColumn.getValue().equals("DESC");
+    }
+    if (!hasKey) {
+      columns[i] = keyColumn;
+    }
+    return new Keyset(columns, descending);
+  }
+
+  String orderBy() {
+    var orderBy = new StringBuilder("ORDER BY ");
+    for (int i = 0; i < columns.length; i++) {
+      orderBy.append(i > 0 ? ", " : "").append(columns[i]).append(descending[i] ? " DESC" : " ASC");
+    }
+    return orderBy.toString();
+  }
+
+  /**
+   * Rows strictly after the one whose key values are bound to
+   * {@code :keyset_value_0..n}: {@code (c0 > v0) OR (c0 = v0 AND c1 > v1) ...},
+   * with {@code <} for descending columns. Spelled out rather than as a row
+   * comparison, which can't mix directions.
+   */
+  String seekPredicate() {
+    var predicate = new StringBuilder("(");
+    for (int i = 0; i < columns.length; i++) {
+      predicate.append(i > 0 ? " OR (" : "(");
+      for (int j = 0; j < i; j++) {
+        predicate.append(columns[j]).append(" = :keyset_value_").append(j).append(" AND ");
+      }
+      predicate.append(columns[i]).append(descending[i] ? " < " : " > ").append(":keyset_value_").append(i)
+          .append(')');
+    }
+    return predicate.append(')').toString();
+  }
+
+  int[] resolveColumns(ResultSet resultSet) throws SQLException {
+    var indexes = new int[columns.length];
+    for (int i = 0; i < columns.length; i++) {
+      indexes[i] = resultSet.findColumn(columns[i]);
+    }
+    return indexes;
+  }
+
+  /** The current row's key values, read from the indexes {@link #resolveColumns} returned. */
+  Object[] read(ResultSet resultSet, int[] indexes) throws SQLException {
+    var values = new Object[indexes.length];
+    for (int i = 0; i < indexes.length; i++) {
+      values[i] = resultSet.getObject(indexes[i]);
+    }
+    return values;
+  }
+
+  String encode(Object[] values) {
+    var bytes = new ByteArrayOutputStream(64);
+    try (var out = new DataOutputStream(bytes)) {
+      out.writeInt(fingerprint());
+      for (Object value : values) {
+        writeValue(out, value);
+      }
+    } catch (IOException e) {
+      throw new WireJException("Could not encode the next page token", e);
+    }
+    return ENCODER.encodeToString(bytes.toByteArray());
+  }
+
+  Object[] decode(String token) {
+    try (var in = new DataInputStream(new ByteArrayInputStream(DECODER.decode(token)))) {
+      if (in.readInt() != fingerprint()) {
+        throw new WireJException("Page token was issued for a different sort order");
+      }
+      var values = new Object[columns.length];
+      for (int i = 0; i < values.length; i++) {
+        values[i] = readValue(in);
+      }
+      if (in.available() > 0) {
+        throw new WireJException("Invalid page token");
+      }
+      return values;
+    } catch (IOException | IllegalArgumentException | DateTimeException e) {
+      throw new WireJException("Invalid page token", e);
+    }
+  }
+
+  private int fingerprint() {
+    return 31 * Arrays.hashCode(columns) + Arrays.hashCode(descending);
+  }
+
+  private static void writeValue(DataOutputStream out, Object value) throws IOException {
+    switch (value) {
+      case null -> out.writeByte('N');
+      case Long number -> {
+        out.writeByte('J');
+        out.writeLong(number);
+      }
+      case Integer number -> {
+        out.writeByte('I');
+        out.writeInt(number);
+      }
+      case Short number -> {
+        out.writeByte('S');
+        out.writeShort(number);
+      }
+      case Double number -> {
+        out.writeByte('D');
+        out.writeDouble(number);
+      }
+      case Float number -> {
+        out.writeByte('F');
+        out.writeFloat(number);
+      }
+      case Boolean bool -> {
+        out.writeByte('Z');
+        out.writeBoolean(bool);
+      }
+      case BigDecimal number -> writeText(out, 'B', number.toString());
+      case String text -> writeText(out, 's', text);
+      case UUID uuid -> writeText(out, 'U', uuid.toString());
+      case Timestamp timestamp -> writeText(out, 'T', timestamp.toLocalDateTime().toString());
+      case java.sql.Date date -> writeText(out, 'd', date.toLocalDate().toString());
+      case LocalDateTime dateTime -> writeText(out, 'T', dateTime.toString());
+      case LocalDate date -> writeText(out, 'd', date.toString());
+      case OffsetDateTime dateTime -> writeText(out, 'O', dateTime.toString());
+      default -> throw new WireJException("Values of type " + value.getClass().getName()
+          + " can't be used as keyset pagination keys");
+    }
+  }
+
+  private static void writeText(DataOutputStream out, char tag, String text) throws IOException {
+    out.writeByte(tag);
+    out.writeUTF(text);
+  }
+
+  private static Object readValue(DataInputStream in) throws IOException {
+    return switch (in.readByte()) {
+      case 'N' -> null;
+      case 'J' -> in.readLong();
+      case 'I' -> in.readInt();
+      case 'S' -> in.readShort();
+      case 'D' -> in.readDouble();
+      case 'F' -> in.readFloat();
+      case 'Z' -> in.readBoolean();
+      case 'B' -> new BigDecimal(in.readUTF());
+      case 's' -> in.readUTF();
+      case 'U' -> UUID.fromString(in.readUTF());
+      case 'T' -> Timestamp.valueOf(LocalDateTime.parse(in.readUTF()));
+      case 'd' -> java.sql.Date.valueOf(LocalDate.parse(in.readUTF()));
+      case 'O' -> OffsetDateTime.parse(in.readUTF());
+      default -> throw new IOException("Unknown value tag");
+    };
+  }
+}
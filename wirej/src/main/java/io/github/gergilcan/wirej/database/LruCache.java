@@ -0,0 +1,45 @@
+package io.github.gergilcan.wirej.database;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A size-bounded, least-recently-used map guarded by a single lock. Every
+ * operation is a plain hash lookup under that lock, which is cheap enough for
+ * the read-mostly caches WireJ keeps; it is not meant for values that are
+ * expensive to compute, since {@link #computeIfAbsent} holds the lock while
+ * the mapping function runs.
+ */
+final class LruCache<K, V> {
+  private final LinkedHashMap<K, V> entries;
+
+  LruCache(int maxEntries) {
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+        return size() > maxEntries;
+      }
+    };
+  }
+
+  synchronized V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+    return entries.computeIfAbsent(key, mappingFunction);
+  }
+
+  synchronized V get(K key) {
+    return entries.get(key);
+  }
+
+  synchronized void put(K key, V value) {
+    entries.put(key, value);
+  }
+
+  synchronized void remove(K key) {
+    entries.remove(key);
+  }
+
+  synchronized int size() {
+    return entries.size();
+  }
+}
@@ -0,0 +1,65 @@
+package io.github.gergilcan.wirej.database;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * Times one call of a generated repository or controller method as a
+ * Micrometer {@link Observation} - {@value #REPOSITORY} tagged with
+ * {@code repository} and {@code method}, or {@value #CONTROLLER} tagged with
+ * {@code controller} and {@code method} - which Spring Boot's actuator
+ * records as a timer. The queries the call runs are observed as its
+ * children; see {@link QueryObservationContext}.
+ *
+ * Tags are class and method names, fixed at compile time, so their
+ * cardinality is bounded by the code. With a no-op registry, or one without
+ * handlers, nothing is allocated: every call shares one inert instance.
+ */
+public final class MethodObservation {
+  public static final String REPOSITORY = "wirej.repository";
+  public static final String CONTROLLER = "wirej.controller";
+
+  private static final MethodObservation NONE = new MethodObservation(null, null);
+
+  private final Observation observation;
+  private final Observation.Scope scope;
+
+  private MethodObservation(Observation observation, Observation.Scope scope) {
+    this.observation = observation;
+    this.scope = scope;
+  }
+
+  public static MethodObservation repository(ObservationRegistry registry, String repository, String method) {
+    return start(registry, REPOSITORY, "repository", repository, method);
+  }
+
+  public static MethodObservation controller(ObservationRegistry registry, String controller, String method) {
+    return start(registry, CONTROLLER, "controller", controller, method);
+  }
+
+  private static MethodObservation start(ObservationRegistry registry, String name, String componentKey,
+      String component, String method) {
+    if (registry.isNoop()) {
+      return NONE;
+    }
+    Observation observation = Observation.createNotStarted(name, registry)
+        .lowCardinalityKeyValue(componentKey, component)
+        .lowCardinalityKeyValue("method", method)
+        .start();
+    return new MethodObservation(observation, observation.openScope());
+  }
+
+  public void error(Throwable error) {
+    if (observation != null) {
+      observation.error(error);
+    }
+  }
+
+  /** Ends the call; must run on the thread that started it. */
+  public void stop() {
+    if (observation != null) {
+      scope.close();
+      observation.stop();
+    }
+  }
+}
@@ -0,0 +1,206 @@
+package io.github.gergilcan.wirej.database;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * The primary-key cache of an {@code @EntityCache} entity, one per entity
+ * class in the JVM, shared by every generated repository of that entity.
+ *
+ * A miss loads the row while holding a lock striped by key, and writes put
+ * or evict their rows under the same lock, so concurrent misses for one key
+ * run a single query, and a write that lands while a row is being read
+ * always has the last word. Rows that don't exist are not cached, so
+ * inserts can't leave a stale entry behind.
+ *
+ * Writes that can't name the rows they touch - {@code @QueryFile} writes -
+ * bump their table's version through {@link #invalidate}, which every
+ * entry read before it then misses. Inside a transaction, reads go to the
+ * database and writes only evict, once when they run and again when the
+ * transaction ends.
+ */
+public final class NearCache<T, ID> {
+  private static final ConcurrentHashMap<Class<?>, NearCache<?, ?>> CACHES = new ConcurrentHashMap<>();
+  private static final ConcurrentHashMap<String, AtomicLong> TABLE_VERSIONS = new ConcurrentHashMap<>();
+  private static final AtomicLong ALL_TABLES_VERSION = new AtomicLong();
+  private static final int STRIPES = 64;
+
+  private final AtomicLong tableVersion;
+  private final long ttlNanos;
+  private final LruCache<ID, Entry<T>> entries;
+  private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  private NearCache(String table, long ttl, TimeUnit unit, int maxEntries) {
+    if (maxEntries < 1) {
+      throw new IllegalArgumentException("maxEntries must be at least 1");
+    }
+    this.tableVersion = tableVersion(table);
+    this.ttlNanos = unit.toNanos(ttl);
+    this.entries = new LruCache<>(maxEntries);
+    Arrays.setAll(locks, i -> new ReentrantLock());
+  }
+
+  /**
+   * The cache of {@code entityType}, created with these settings by the
+   * first repository that asks for it. Every repository of an entity reads
+   * the same {@code @EntityCache}, so they all ask with the same ones.
+   */
+  @SuppressWarnings("unchecked")
+  public static <T, ID> NearCache<T, ID> forEntity(Class<T> entityType, String table, long ttl, TimeUnit unit,
+      int maxEntries) {
+    return (NearCache<T, ID>) CACHES.computeIfAbsent(entityType,
+        ignored -> new NearCache<>(table, ttl, unit, maxEntries));
+  }
+
+  /** The cache of {@code entityType}, or null when no repository has created one. */
+  @SuppressWarnings("unchecked")
+  public static <T> NearCache<T, ?> of(Class<T> entityType) {
+    return (NearCache<T, ?>) CACHES.get(entityType);
+  }
+
+  /**
+   * Returns the cached entity for {@code id}, running {@code load} for it
+   * when there is none. Hits return the cached instance itself, not a copy,
+   * so callers must not modify it.
+   */
+  public T get(ID id, Supplier<T> load) {
+    if (id == null || TransactionSynchronizationManager.isActualTransactionActive()) {
+      return load.get();
+    }
+    T cached = cached(id);
+    if (cached != null) {
+      hits.increment();
+      return cached;
+    }
+    ReentrantLock lock = lockFor(id);
+    lock.lock();
+    try {
+      // Another thread may have loaded it while this one waited.
+      cached = cached(id);
+      if (cached != null) {
+        hits.increment();
+        return cached;
+      }
+      misses.increment();
+      long version = version();
+      T loaded = load.get();
+      if (loaded != null && version() == version) {
+        entries.put(id, new Entry<>(loaded, version, System.nanoTime() + ttlNanos));
+      }
+      return loaded;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Caches {@code entity} as the row just written for {@code id}. */
+  public void put(ID id, T entity) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      evict(id);
+      return;
+    }
+    ReentrantLock lock = lockFor(id);
+    lock.lock();
+    try {
+      entries.put(id, new Entry<>(entity, version(), System.nanoTime() + ttlNanos));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public void evict(ID id) {
+    remove(id);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          remove(id);
+        }
+      });
+    }
+  }
+
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  /** Entities held, including expired ones not yet evicted. */
+  public int size() {
+    return entries.size();
+  }
+
+  /** Drops every cached entity of {@code tables}, for writes that can't name their rows. */
+  public static void invalidate(String... tables) {
+    invalidateVersions(Arrays.stream(tables).map(NearCache::tableVersion).toArray(AtomicLong[]::new));
+  }
+
+  /** Drops every cached entity, for writes whose tables aren't known. */
+  public static void invalidateAll() {
+    invalidateVersions(new AtomicLong[] { ALL_TABLES_VERSION });
+  }
+
+  private static void invalidateVersions(AtomicLong[] versions) {
+    bump(versions);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          bump(versions);
+        }
+      });
+    }
+  }
+
+  private static void bump(AtomicLong[] versions) {
+    for (AtomicLong version : versions) {
+      version.incrementAndGet();
+    }
+  }
+
+  private T cached(ID id) {
+    Entry<T> entry = entries.get(id);
+    return entry != null && entry.version() == version() && System.nanoTime() - entry.expiresAt() < 0
+        ? entry.entity()
+        : null;
+  }
+
+  private void remove(ID id) {
+    ReentrantLock lock = lockFor(id);
+    lock.lock();
+    try {
+      entries.remove(id);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private ReentrantLock lockFor(ID id) {
+    int hash = id.hashCode();
+    return locks[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+  }
+
+  private long version() {
+    return tableVersion.get() + ALL_TABLES_VERSION.get();
+  }
+
+  private static AtomicLong tableVersion(String table) {
+    return TABLE_VERSIONS.computeIfAbsent(ResultCache.tableKey(table), ignored -> new AtomicLong());
+  }
+
+  private record Entry<T>(T entity, long version, long expiresAt) {
+  }
+}
@@ -0,0 +1,78 @@
+package io.github.gergilcan.wirej.database;
+
+import java.sql.SQLException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import io.github.gergilcan.wirej.annotations.CountStrategy;
+
+/**
+ * Counts the rows matching a page's filters as a {@link CountStrategy} asks,
+ * through statements derived from the page's own, so the filters are never
+ * parsed twice. Each count borrows its connection when it starts and has
+ * returned it by the time it finishes, failed or not.
+ */
+final class PageCount {
+  // The top plan node comes first in EXPLAIN's JSON output.
+  private static final Pattern PLAN_ROWS = Pattern.compile("\"Plan Rows\":\\s*(\\d+)");
+
+  record Total(Long count, CountStrategy strategy) {
+  }
+
+  private PageCount() {
+  }
+
+  static Total count(DatabaseStatement<?> page, CountStrategy strategy, long cap, String tableName,
+      String queryName) throws SQLException {
+    String from = " FROM " + tableName + " :filters";
+    return switch (strategy) {
+      case NONE -> new Total(null, CountStrategy.NONE);
+      case EXACT -> exact(page, from, queryName);
+      case CAPPED -> {
+        DatabaseStatement<Object> capped = page.derive(
+            "SELECT count(*) FROM (SELECT 1" + from + " FETCH FIRST :countLimit ROWS ONLY) capped", queryName);
+        capped.setParameter("countLimit", cap + 1);
+        long count = capped.getTotalCount();
+        yield count > cap ? new Total(cap, CountStrategy.CAPPED) : new Total(count, CountStrategy.EXACT);
+      }
+      case ESTIMATED -> estimate(page, from, tableName, queryName);
+    };
+  }
+
+  private static Total exact(DatabaseStatement<?> page, String from, String queryName) throws SQLException {
+    DatabaseStatement<Object> exact = page.derive("SELECT count(*)" + from, queryName);
+    return new Total(exact.getTotalCount(), CountStrategy.EXACT);
+  }
+
+  private static Total estimate(DatabaseStatement<?> page, String from, String tableName, String queryName)
+      throws SQLException {
+    DatabaseStatement<Object> estimate = page.derive(page.isFiltered()
+        ? "EXPLAIN (FORMAT JSON) SELECT 1" + from
+        : "SELECT reltuples FROM pg_class WHERE oid = CAST(:countTable AS regclass)", queryName);
+    estimate.setParameter("countTable", tableName);
+    boolean postgres;
+    try {
+      postgres = estimate.isPostgres();
+    } catch (SQLException | RuntimeException e) {
+      DatabaseStatement.closeQuietly(estimate);
+      throw e;
+    }
+    if (!postgres) {
+      estimate.closeStatement();
+      return exact(page, from, queryName);
+    }
+
+    Object result = estimate.getSingleValue();
+    long estimated = -1;
+    if (result instanceof Number reltuples) {
+      // -1 until the table is first analyzed.
+      estimated = reltuples.longValue();
+    } else if (result != null) {
+      Matcher planRows = PLAN_ROWS.matcher(result.toString());
+      if (planRows.find()) {
+        estimated = Long.parseLong(planRows.group(1));
+      }
+    }
+    return estimated >= 0 ? new Total(estimated, CountStrategy.ESTIMATED) : exact(page, from, queryName);
+  }
+}
@@ -6,17 +6,37 @@ import com.fasterxml.jackson.annotation.JsonAlias;
 
 import io.github.gergilcan.wirej.exceptions.WireJException;
 
+/**
+ * Reflective fallback for entities the processor couldn't generate an
+ * {@link EntityBinder} for. The field list and resolved parameter names are
+ * computed once per class, so binding a row only reads field values.
+ */
 public final class ParameterBinder {
+    private record BoundField(Field field, String parameterName) {
+    }
+
+    private static final ClassValue<BoundField[]> BOUND_FIELDS = new ClassValue<>() {
+        @Override
+        protected BoundField[] computeValue(Class<?> type) {
+            Field[] fields = type.getDeclaredFields();
+            BoundField[] boundFields = new BoundField[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                fields[i].setAccessible(true);
+                boundFields[i] = new BoundField(fields[i], resolveFieldName(fields[i]));
+            }
+            return boundFields;
+        }
+    };
+
     private ParameterBinder() {
     }
 
     public static void bindObjectFields(Object item, DatabaseStatement<?> databaseStatement) {
-        for (var field : item.getClass().getDeclaredFields()) {
-            field.setAccessible(true);
+        for (var boundField : BOUND_FIELDS.get(item.getClass())) {
             try {
-                databaseStatement.setParameter(resolveFieldName(field), field.get(item));
+                databaseStatement.setParameter(boundField.parameterName(), boundField.field().get(item));
             } catch (IllegalAccessException e) {
-                throw new WireJException("Could not access field: " + field.getName(), e);
+                throw new WireJException("Could not access field: " + boundField.field().getName(), e);
             }
         }
     }
@@ -0,0 +1,103 @@
+package io.github.gergilcan.wirej.database;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.HexFormat;
+import java.util.function.Function;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+/**
+ * Streams rows into PostgreSQL through {@code COPY ... FROM STDIN} in its
+ * text format. Rows are encoded into a buffer that is handed to the driver
+ * every {@value #FLUSH_THRESHOLD} characters, so memory stays flat however
+ * many items the source yields. Kept apart from {@link DatabaseStatement}
+ * so the PgJDBC copy classes are only loaded when a copy actually runs.
+ */
+final class PostgresCopy {
+  private static final int FLUSH_THRESHOLD = 64 * 1024;
+  private static final HexFormat HEX = HexFormat.of();
+
+  private PostgresCopy() {
+  }
+
+  static boolean isSupported(Connection connection) throws SQLException {
+    return connection.isWrapperFor(PGConnection.class);
+  }
+
+  /**
+   * Runs {@code copySql} and feeds it one row per item, encoded from the
+   * values {@code toRow} returns in the COPY column order. Returns the number
+   * of rows the server reports as copied.
+   */
+  static <E> long copyIn(Connection connection, String copySql, Iterable<? extends E> items,
+      Function<? super E, Object[]> toRow) throws SQLException {
+    CopyIn copy = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(copySql);
+    try {
+      var buffer = new StringBuilder(FLUSH_THRESHOLD + 1024);
+      for (E item : items) {
+        appendRow(buffer, toRow.apply(item));
+        if (buffer.length() >= FLUSH_THRESHOLD) {
+          write(copy, buffer);
+        }
+      }
+      write(copy, buffer);
+      return copy.endCopy();
+    } finally {
+      if (copy.isActive()) {
+        copy.cancelCopy();
+      }
+    }
+  }
+
+  private static void write(CopyIn copy, StringBuilder buffer) throws SQLException {
+    if (buffer.isEmpty()) {
+      return;
+    }
+    byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+    copy.writeToCopy(bytes, 0, bytes.length);
+    buffer.setLength(0);
+  }
+
+  static void appendRow(StringBuilder buffer, Object[] values) {
+    for (int i = 0; i < values.length; i++) {
+      if (i > 0) {
+        buffer.append('\t');
+      }
+      appendValue(buffer, values[i]);
+    }
+    buffer.append('\n');
+  }
+
+  private static void appendValue(StringBuilder buffer, Object value) {
+    if (value == null) {
+      buffer.append("\\N");
+    } else if (value instanceof Boolean bool) {
+      buffer.append(bool ? 't' : 'f');
+    } else if (value instanceof byte[] bytes) {
+      // bytea hex input, with its backslash escaped for the text format.
+      buffer.append("\\\\x").append(HEX.formatHex(bytes));
+    } else if (value instanceof java.util.Date date && !(value instanceof java.sql.Date)
+        && !(value instanceof java.sql.Time) && !(value instanceof Timestamp)) {
+      buffer.append(new Timestamp(date.getTime()));
+    } else {
+      appendEscaped(buffer, value.toString());
+    }
+  }
+
+  private static void appendEscaped(StringBuilder buffer, String text) {
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      switch (c) {
+        case '\\' -> buffer.append("\\\\");
+        case '\t' -> buffer.append("\\t");
+        case '\n' -> buffer.append("\\n");
+        case '\r' -> buffer.append("\\r");
+        default -> buffer.append(c);
+      }
+    }
+  }
+}
@@ -0,0 +1,106 @@
+package io.github.gergilcan.wirej.database;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A handle on the queries run on behalf of one caller - typically one HTTP
+ * request - that can cancel them all from another thread. While it is
+ * {@link #bind() bound} to a thread, every statement a repository runs
+ * there, and in the async queries it starts, registers with it for as long
+ * as it executes; {@link #cancel()} then cancels those through
+ * {@code Statement.cancel()} and fails any that start afterwards, so their
+ * connections go back to the pool at once instead of when the query
+ * finishes.
+ *
+ * WireJ binds none itself: whoever knows the caller has gone - an
+ * application's own disconnect handling, a job's shutdown hook - binds one
+ * around the work and cancels it.
+ */
+@Slf4j
+public final class QueryCancellation {
+  // PostgreSQL's query_canceled, which cancelled statements fail with there.
+  static final String CANCELLED_SQL_STATE = "57014";
+
+  private static final ThreadLocal<QueryCancellation> CURRENT = new ThreadLocal<>();
+  private static final Registration NONE = () -> {
+  };
+
+  private final Set<Statement> running = ConcurrentHashMap.newKeySet();
+  private volatile boolean cancelled;
+
+  /** The cancellation bound to the calling thread, or null. */
+  public static QueryCancellation current() {
+    return CURRENT.get();
+  }
+
+  /** Binds this to the calling thread until the returned scope is closed. */
+  public Scope bind() {
+    QueryCancellation previous = CURRENT.get();
+    CURRENT.set(this);
+    return () -> {
+      if (previous != null) {
+        CURRENT.set(previous);
+      } else {
+        CURRENT.remove();
+      }
+    };
+  }
+
+  /** Cancels the statements running now and fails every later one. */
+  public void cancel() {
+    cancelled = true;
+    for (Statement statement : running) {
+      cancelQuietly(statement);
+    }
+  }
+
+  public boolean isCancelled() {
+    return cancelled;
+  }
+
+  /**
+   * Registers {@code statement}, about to execute, with the calling thread's
+   * cancellation until the returned registration is closed - or fails, when
+   * that was already cancelled.
+   */
+  static Registration track(Statement statement) throws SQLException {
+    QueryCancellation cancellation = CURRENT.get();
+    if (cancellation == null) {
+      return NONE;
+    }
+    cancellation.running.add(statement);
+    // Checked after adding, so a cancel() racing this one either sees the
+    // statement or is seen here.
+    if (cancellation.cancelled) {
+      cancellation.running.remove(statement);
+      throw new SQLException("Query cancelled: its caller has gone away", CANCELLED_SQL_STATE);
+    }
+    return () -> cancellation.running.remove(statement);
+  }
+
+  private static void cancelQuietly(Statement statement) {
+    try {
+      statement.cancel();
+    } catch (SQLException e) {
+      log.warn("Failed to cancel a running query", e);
+    }
+  }
+
+  /** Closing it unbinds the cancellation; it throws nothing. */
+  @FunctionalInterface
+  public interface Scope extends AutoCloseable {
+    @Override
+    void close();
+  }
+
+  @FunctionalInterface
+  interface Registration extends AutoCloseable {
+    @Override
+    void close();
+  }
+}
@@ -0,0 +1,92 @@
+package io.github.gergilcan.wirej.database;
+
+import java.util.Locale;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * Observes one {@link DatabaseStatement} and its phases, as described on
+ * {@link QueryObservationContext}. A statement holds {@link #NONE} while its
+ * registry is a no-op, so that costs a field read per phase and no
+ * allocation.
+ */
+final class QueryObservation {
+  static final QueryObservation NONE = new QueryObservation(null, null, null);
+
+  enum Phase {
+    ACQUIRE, PREPARE, EXECUTE, MAPPING;
+
+    private final String tag = name().toLowerCase(Locale.ROOT);
+  }
+
+  private final ObservationRegistry registry;
+  private final QueryObservationContext context;
+  private final Observation query;
+  private Observation phase;
+  private boolean failed;
+
+  private QueryObservation(ObservationRegistry registry, QueryObservationContext context, Observation query) {
+    this.registry = registry;
+    this.context = context;
+    this.query = query;
+  }
+
+  static QueryObservation start(ObservationRegistry registry, String queryName) {
+    if (registry.isNoop()) {
+      return NONE;
+    }
+    var context = new QueryObservationContext(queryName);
+    Observation query = Observation.createNotStarted(QueryObservationContext.NAME, () -> context, registry)
+        .lowCardinalityKeyValue("query", queryName)
+        .start();
+    return new QueryObservation(registry, context, query);
+  }
+
+  /** Ends the current phase, if any, and starts {@code next}. */
+  void phase(Phase next) {
+    if (query == null) {
+      return;
+    }
+    endPhase();
+    phase = Observation.createNotStarted(QueryObservationContext.PHASE_NAME, registry)
+        .parentObservation(query)
+        .lowCardinalityKeyValue("query", context.getQueryName())
+        .lowCardinalityKeyValue("phase", next.tag)
+        .start();
+  }
+
+  void endPhase() {
+    if (phase != null) {
+      phase.stop();
+      phase = null;
+    }
+  }
+
+  void rows(long count) {
+    if (context != null) {
+      context.addRows(count);
+    }
+  }
+
+  /** Marks the query, and the phase it failed in, as failed; only the first error counts. */
+  void error(Throwable error) {
+    if (query == null || failed) {
+      return;
+    }
+    failed = true;
+    if (phase != null) {
+      phase.error(error);
+    }
+    query.error(error);
+  }
+
+  void stop() {
+    if (query == null) {
+      return;
+    }
+    endPhase();
+    query.highCardinalityKeyValue("rows", Long.toString(context.getRows()));
+    query.stop();
+  }
+}
@@ -0,0 +1,42 @@
+package io.github.gergilcan.wirej.database;
+
+import io.micrometer.observation.Observation;
+
+/**
+ * The context of a {@value #NAME} observation: one statement, from
+ * borrowing its connection to giving it back, tagged with its {@code query}
+ * name - the query file, or the generated query's name. Each phase of it is
+ * a child {@value #PHASE_NAME} observation tagged with {@code query} and a
+ * {@code phase} of {@code acquire}, {@code prepare}, {@code execute} or
+ * {@code mapping}; rows are mapped while a result set is read, so for
+ * queries that return rows, {@code execute} only runs until the first batch
+ * of them arrives.
+ *
+ * The rows a query returned are kept here, for an {@code ObservationHandler}
+ * that records them as a distribution, and reported as the high-cardinality
+ * {@code rows} key value, which tracing picks up.
+ */
+public class QueryObservationContext extends Observation.Context {
+  public static final String NAME = "wirej.query";
+  public static final String PHASE_NAME = "wirej.query.phase";
+
+  private final String queryName;
+  private long rows;
+
+  public QueryObservationContext(String queryName) {
+    this.queryName = queryName;
+  }
+
+  public String getQueryName() {
+    return queryName;
+  }
+
+  /** Rows the query returned, or 0 for one that returns none. */
+  public long getRows() {
+    return rows;
+  }
+
+  void addRows(long count) {
+    rows += count;
+  }
+}
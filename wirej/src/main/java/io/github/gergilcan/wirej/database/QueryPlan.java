@@ -0,0 +1,87 @@
+package io.github.gergilcan.wirej.database;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.util.ConcurrentLruCache;
+
+import io.github.gergilcan.wirej.annotations.QueryFile;
+
+/**
+ * A named-parameter query compiled into the positional form JDBC actually
+ * takes: the SQL text with every {@code :name} replaced by {@code ?}, plus
+ * the parameter name bound at each position. Immutable, so one instance is
+ * shared by every execution of the same query text on every thread.
+ *
+ * Query text that is fixed at compile time (every {@code StandardRepository}
+ * operation with a constant SQL string, and {@code @QueryFile} methods that
+ * take no {@code RequestFilters}) is compiled by the annotation processor and
+ * baked into the generated {@code *Impl} as a {@code new QueryPlan(...)}
+ * constant. Text that only exists at runtime - {@code :filters}/{@code :sorting}
+ * expansions, dynamic {@code UPDATE ... SET} clauses - goes through
+ * {@link #cached(String)} instead, which compiles each distinct text once and
+ * keeps it in a bounded LRU cache.
+ */
+public final class QueryPlan {
+  private static final Pattern PARAMETER_PATTERN = Pattern.compile(QueryFile.PARAMETER_PATTERN);
+  private static final int MAX_RUNTIME_PLANS = 1024;
+  // Reads take no lock, and a miss compiles outside any lock, so plans for
+  // different queries never wait on one another.
+  private static final ConcurrentLruCache<String, QueryPlan> RUNTIME_PLANS =
+      new ConcurrentLruCache<>(MAX_RUNTIME_PLANS, QueryPlan::compile);
+
+  private final String sql;
+  private final String[] parameterNames;
+
+  /**
+   * Creates a plan from already-positional SQL. {@code parameterNames[i]} is
+   * the named parameter bound at JDBC index {@code i + 1}; a name may repeat
+   * when the original text referenced it more than once.
+   */
+  public QueryPlan(String sql, String... parameterNames) {
+    this.sql = sql;
+    this.parameterNames = parameterNames.clone();
+  }
+
+  /**
+   * Compiles {@code namedSql} without consulting or populating the runtime
+   * cache. A {@code ::} cast is not a parameter, and neither is the type name
+   * that follows it.
+   */
+  public static QueryPlan compile(String namedSql) {
+    List<String> names = new ArrayList<>();
+    Matcher matcher = PARAMETER_PATTERN.matcher(namedSql);
+    StringBuilder positional = new StringBuilder(namedSql.length());
+    while (matcher.find()) {
+      names.add(matcher.group(1));
+      matcher.appendReplacement(positional, "?");
+    }
+    matcher.appendTail(positional);
+    return new QueryPlan(positional.toString(), names.toArray(String[]::new));
+  }
+
+  /**
+   * Returns the plan for {@code namedSql}, compiling it on first use. The
+   * cache is bounded, so query text built from unbounded input (e.g. an
+   * {@code IN} list sized by the caller) can't grow it without limit - the
+   * least recently used plans are simply recompiled if they come back.
+   */
+  public static QueryPlan cached(String namedSql) {
+    return RUNTIME_PLANS.get(namedSql);
+  }
+
+  public String getSql() {
+    return sql;
+  }
+
+  public int getParameterCount() {
+    return parameterNames.length;
+  }
+
+  /** The parameter name bound at zero-based position {@code index}. */
+  public String getParameterName(int index) {
+    return parameterNames[index];
+  }
+}
@@ -0,0 +1,125 @@
+package io.github.gergilcan.wirej.database;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * The results of one {@code @Cached} repository method, keyed by its
+ * arguments. Generated repositories hold one per cached method and call
+ * {@link #invalidate} after every write.
+ *
+ * Invalidation never walks the caches: each table has a version that writes
+ * bump, and an entry remembers the versions of its tables from before its
+ * query ran. An entry whose versions have moved on is a miss, as is a result
+ * whose tables were written to while it was being read, which is never
+ * stored - so a read racing a write can't put the old rows back.
+ *
+ * Inside a transaction, reads go to the database and leave the cache alone,
+ * since they may see uncommitted writes; writes invalidate once when they
+ * run and again when the transaction ends, for readers that cached the
+ * committed rows in between.
+ */
+public final class ResultCache {
+  private static final ConcurrentHashMap<String, AtomicLong> TABLE_VERSIONS = new ConcurrentHashMap<>();
+  // Bumped by writes whose tables aren't known, which invalidate everything.
+  private static final AtomicLong ALL_TABLES_VERSION = new AtomicLong();
+  private static final Object NULL = new Object();
+
+  private final long ttlNanos;
+  private final AtomicLong[] tableVersions;
+  private final LruCache<ArgumentsKey, Entry> entries;
+
+  public ResultCache(long ttl, TimeUnit unit, int maxEntries, String... tables) {
+    if (maxEntries < 1) {
+      throw new IllegalArgumentException("maxEntries must be at least 1");
+    }
+    this.ttlNanos = unit.toNanos(ttl);
+    this.tableVersions = Arrays.stream(tables).map(ResultCache::tableVersion).toArray(AtomicLong[]::new);
+    this.entries = new LruCache<>(maxEntries);
+  }
+
+  /**
+   * Returns the cached result for {@code arguments}, running {@code query}
+   * for it when there is none. Hits return the stored instance itself, not a
+   * copy, so callers must not modify it.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object[] arguments, Supplier<T> query) {
+    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+      return query.get();
+    }
+    var key = new ArgumentsKey(arguments);
+    long version = version();
+    Entry entry = entries.get(key);
+    if (entry != null && entry.version() == version && System.nanoTime() - entry.expiresAt() < 0) {
+      return entry.value() == NULL ? null : (T) entry.value();
+    }
+    T result = query.get();
+    if (version() == version) {
+      entries.put(key, new Entry(result == null ? NULL : result, version, System.nanoTime() + ttlNanos));
+    }
+    return result;
+  }
+
+  /** Entries held, including expired ones not yet evicted. */
+  public int size() {
+    return entries.size();
+  }
+
+  /** Drops every cached result that reads from one of {@code tables}. */
+  public static void invalidate(String... tables) {
+    invalidateVersions(Arrays.stream(tables).map(ResultCache::tableVersion).toArray(AtomicLong[]::new));
+  }
+
+  /** Drops every cached result, for writes whose tables aren't known. */
+  public static void invalidateAll() {
+    invalidateVersions(new AtomicLong[] { ALL_TABLES_VERSION });
+  }
+
+  private static void invalidateVersions(AtomicLong[] versions) {
+    bump(versions);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          bump(versions);
+        }
+      });
+    }
+  }
+
+  private static void bump(AtomicLong[] versions) {
+    for (AtomicLong version : versions) {
+      version.incrementAndGet();
+    }
+  }
+
+  // Versions only ever grow, so their sum changes whenever any of them does.
+  private long version() {
+    long version = ALL_TABLES_VERSION.get();
+    for (AtomicLong tableVersion : tableVersions) {
+      version += tableVersion.get();
+    }
+    return version;
+  }
+
+  private static AtomicLong tableVersion(String table) {
+    return TABLE_VERSIONS.computeIfAbsent(tableKey(table), ignored -> new AtomicLong());
+  }
+
+  /** Versions are per table, whatever the schema or quoting it is named with. */
+  static String tableKey(String table) {
+    String name = table.replace("\"", "");
+    return name.substring(name.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+  }
+
+  private record Entry(Object value, long version, long expiresAt) {
+  }
+}
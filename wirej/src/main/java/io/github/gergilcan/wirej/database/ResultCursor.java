@@ -0,0 +1,119 @@
+package io.github.gergilcan.wirej.database;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import io.github.gergilcan.wirej.exceptions.WireJException;
+
+/**
+ * A forward-only cursor over a query's rows, mapped one at a time as they are
+ * read, so a result never has to fit in memory. Returned by {@code @QueryFile}
+ * methods declared to return {@code ResultCursor<T>} (and, wrapped by
+ * {@link #stream()}, {@code Stream<T>}).
+ *
+ * The cursor holds its statement and connection open until it is closed, so
+ * callers must close it - try-with-resources - even if they stop reading
+ * early. Reading past the last row closes it automatically. Row read failures
+ * surface as {@link WireJException}, since {@link Iterator} can't throw
+ * {@link SQLException}.
+ */
+@SuppressWarnings("unchecked")
+public final class ResultCursor<T> implements Iterator<T>, AutoCloseable {
+  // Returned by a RowFetcher once the result set is exhausted; distinct from
+  // null, which is a legitimate single-column value.
+  static final Object END = new Object();
+  private static final Object NOT_FETCHED = new Object();
+
+  @FunctionalInterface
+  interface RowFetcher {
+    /** Advances the result set and maps the new row, or returns {@link #END}. */
+    Object fetch(ResultSet resultSet) throws SQLException;
+  }
+
+  @FunctionalInterface
+  interface CloseAction {
+    void close() throws SQLException;
+  }
+
+  private final ResultSet resultSet;
+  private final RowFetcher fetcher;
+  private final CloseAction closeAction;
+  private Object pending = NOT_FETCHED;
+  private boolean closed;
+
+  ResultCursor(ResultSet resultSet, RowFetcher fetcher, CloseAction closeAction) {
+    this.resultSet = resultSet;
+    this.fetcher = fetcher;
+    this.closeAction = closeAction;
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (closed) {
+      return false;
+    }
+    if (pending == NOT_FETCHED) {
+      try {
+        pending = fetcher.fetch(resultSet);
+      } catch (SQLException e) {
+        closeAfterFailure(e);
+        throw new WireJException("Failed to read the next row from the cursor: " + e.getMessage(), e);
+      } catch (RuntimeException e) {
+        closeAfterFailure(e);
+        throw e;
+      }
+    }
+    if (pending == END) {
+      close();
+      return false;
+    }
+    return true;
+  }
+
+  @Override
+  public T next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    Object row = pending;
+    pending = NOT_FETCHED;
+    return (T) row;
+  }
+
+  /**
+   * Returns a sequential stream over the remaining rows; closing the stream
+   * closes this cursor.
+   */
+  public Stream<T> stream() {
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false)
+        .onClose(this::close);
+  }
+
+  /** Releases the statement and connection. Safe to call more than once. */
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      closeAction.close();
+    } catch (SQLException e) {
+      throw new WireJException("Failed to close the cursor: " + e.getMessage(), e);
+    }
+  }
+
+  private void closeAfterFailure(Exception failure) {
+    try {
+      close();
+    } catch (RuntimeException e) {
+      failure.addSuppressed(e);
+    }
+  }
+}
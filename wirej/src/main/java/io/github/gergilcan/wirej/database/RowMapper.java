@@ -0,0 +1,31 @@
+package io.github.gergilcan.wirej.database;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+/**
+ * Maps result-set rows onto an entity without reflection. The annotation
+ * processor emits one {@code <Entity>RowMapper} per entity a repository
+ * returns (when every field has a typed {@code ResultSet} getter and can be
+ * set directly or through a setter), and the generated repository installs
+ * it with {@link DatabaseStatement#setRowMapper}. Statements without one fall
+ * back to the reflective {@code PostgresEntityMapper}.
+ *
+ * Column lookup is split from row mapping so it runs once per result set
+ * rather than once per row: {@link #resolveColumns} turns the result set's
+ * column labels into the JDBC index each mapped property reads from, and
+ * {@link #mapRow} then only does indexed, typed reads.
+ */
+public interface RowMapper<T> {
+
+  /**
+   * Returns, for each property this mapper sets, the 1-based index of the
+   * column it reads, or 0 when the result set has no such column (the
+   * property is then left at its default).
+   */
+  int[] resolveColumns(ResultSetMetaData metaData) throws SQLException;
+
+  /** Maps the current row, using the indices from {@link #resolveColumns}. */
+  T mapRow(ResultSet resultSet, int[] columns) throws SQLException;
+}
@@ -0,0 +1,58 @@
+package io.github.gergilcan.wirej.database;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * The in-flight executions of one {@code @Coalesced} repository method,
+ * keyed by its arguments. The first call for a key runs the query; calls
+ * with an equal key that arrive before it finishes wait for it and return
+ * its result, or throw its exception, without touching the database. Once
+ * it finishes the key is free again - nothing is cached.
+ */
+public final class SingleFlight {
+  private final ConcurrentHashMap<ArgumentsKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+  private final LongAdder coalesced = new LongAdder();
+
+  @SuppressWarnings("unchecked")
+  public <T> T run(Object[] arguments, Supplier<T> query) {
+    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+      return query.get();
+    }
+    var key = new ArgumentsKey(arguments);
+    var execution = new CompletableFuture<Object>();
+    CompletableFuture<Object> running = inFlight.putIfAbsent(key, execution);
+    if (running != null) {
+      coalesced.increment();
+      try {
+        return (T) running.join();
+      } catch (CompletionException e) {
+        switch (e.getCause()) {
+          case RuntimeException cause -> throw cause;
+          case Error cause -> throw cause;
+          default -> throw e;
+        }
+      }
+    }
+    try {
+      T result = query.get();
+      execution.complete(result);
+      return result;
+    } catch (RuntimeException | Error e) {
+      execution.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, execution);
+    }
+  }
+
+  /** Calls that were answered by another call's execution. */
+  public long getCoalescedCount() {
+    return coalesced.sum();
+  }
+}
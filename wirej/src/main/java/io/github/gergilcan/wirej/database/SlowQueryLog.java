@@ -0,0 +1,86 @@
+package io.github.gergilcan.wirej.database;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reports statements that take at least the threshold to run - from
+ * preparing them to the last row mapped - with their query name, the SQL
+ * sent, the types of the values bound to it and the time taken. Values
+ * themselves are never reported, since they may be personal data.
+ *
+ * A sampled share of the slow statements that succeed are explained on the
+ * connection they ran on, with the same values bound, and the plan is
+ * reported with them: {@code EXPLAIN (ANALYZE off)} on PostgreSQL, which
+ * plans the statement without running it again, and {@code EXPLAIN} on H2.
+ * Other databases are not explained.
+ *
+ * Set on the {@link ConnectionHandler}; cursors, batches and {@code COPY}
+ * loads are not timed.
+ */
+@Slf4j
+public final class SlowQueryLog {
+  private final long thresholdNanos;
+  private final double explainSampleRate;
+  private final Consumer<SlowQuery> reporter;
+  private final LongAdder slowQueries = new LongAdder();
+
+  /** Logs slow statements as warnings, explaining {@code explainSampleRate} of them, from 0 to 1. */
+  public SlowQueryLog(Duration threshold, double explainSampleRate) {
+    this(threshold, explainSampleRate, SlowQueryLog::log);
+  }
+
+  public SlowQueryLog(Duration threshold, double explainSampleRate, Consumer<SlowQuery> reporter) {
+    if (threshold.isNegative()) {
+      throw new IllegalArgumentException("threshold must not be negative");
+    }
+    if (!(explainSampleRate >= 0 && explainSampleRate <= 1)) {
+      throw new IllegalArgumentException("explainSampleRate must be between 0 and 1");
+    }
+    this.thresholdNanos = threshold.toNanos();
+    this.explainSampleRate = explainSampleRate;
+    this.reporter = reporter;
+  }
+
+  /** Slow statements reported so far. */
+  public long getSlowQueryCount() {
+    return slowQueries.sum();
+  }
+
+  boolean isSlow(long elapsedNanos) {
+    return elapsedNanos >= thresholdNanos;
+  }
+
+  boolean shouldExplain() {
+    return explainSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < explainSampleRate;
+  }
+
+  void report(SlowQuery query) {
+    slowQueries.increment();
+    reporter.accept(query);
+  }
+
+  private static void log(SlowQuery query) {
+    if (query.plan() != null) {
+      log.warn("Slow query {}: {}ms\nSQL: {}\nParameter types: {}\nPlan:\n{}", query.queryName(),
+          query.elapsed().toMillis(), query.sql(), query.parameterTypes(), query.plan());
+    } else {
+      log.warn("Slow query {}: {}ms{}\nSQL: {}\nParameter types: {}", query.queryName(), query.elapsed().toMillis(),
+          query.failed() ? " (failed)" : "", query.sql(), query.parameterTypes());
+    }
+  }
+
+  /**
+   * A statement that ran for {@code elapsed}. {@code parameterTypes} holds
+   * one {@code name: Type} entry per bound value, in bind order, and
+   * {@code plan} is null when it was not explained.
+   */
+  public record SlowQuery(String queryName, String sql, List<String> parameterTypes, Duration elapsed,
+      boolean failed, String plan) {
+  }
+}
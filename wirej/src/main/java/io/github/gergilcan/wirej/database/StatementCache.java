@@ -0,0 +1,165 @@
+package io.github.gergilcan.wirej.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps prepared statements open between executions instead of preparing and
+ * closing one per query, so the driver parses each distinct query text once
+ * per connection - and PgJDBC's {@code prepareThreshold}, which counts
+ * executions of the same {@code PreparedStatement} object, can actually
+ * switch hot queries to server-side prepared statements.
+ *
+ * Statements are scoped to the physical connection they were prepared on,
+ * each with its own LRU limit, and locked per connection: threads using
+ * different connections never wait on each other. They are prepared on the
+ * unwrapped connection, not the pool's proxy: pools such as HikariCP close
+ * every statement created through a proxy when it is returned, which would
+ * defeat the cache.
+ *
+ * That also hides their executions from the pool, which then can't tell
+ * that a connection has uncommitted work. With auto-commit on, or inside a
+ * Spring transaction that commits or rolls back itself, there never is any
+ * left when the connection goes back. Anywhere else - a pool configured
+ * with auto-commit off - statements are prepared on the proxy and closed
+ * after use, uncached, so the pool still rolls back what was left open.
+ *
+ * Opt-in through {@code wirej.statement-cache.enabled}; see
+ * {@code WireJProperties}.
+ */
+@Slf4j
+public final class StatementCache {
+  private final int maxStatementsPerConnection;
+  private final Map<Connection, ConnectionStatements> statementsByConnection = new ConcurrentHashMap<>();
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  public StatementCache(int maxStatementsPerConnection) {
+    if (maxStatementsPerConnection < 1) {
+      throw new IllegalArgumentException("maxStatementsPerConnection must be at least 1");
+    }
+    this.maxStatementsPerConnection = maxStatementsPerConnection;
+  }
+
+  /**
+   * Returns an open statement for {@code sql} on {@code connection}'s
+   * physical connection, preparing and caching one on a miss. The caller
+   * must hand it back through {@link #release} rather than closing it.
+   */
+  PreparedStatement prepare(Connection connection, String sql) throws SQLException {
+    if (!connection.getAutoCommit() && !TransactionSynchronizationManager.isActualTransactionActive()) {
+      return connection.prepareStatement(sql);
+    }
+    Connection physical = connection.unwrap(Connection.class);
+    ConnectionStatements statements = statementsFor(physical);
+
+    synchronized (statements) {
+      PreparedStatement statement = statements.get(sql);
+      if (statement != null && !statement.isClosed()) {
+        hits.increment();
+        return statement;
+      }
+
+      misses.increment();
+      statement = physical.prepareStatement(sql);
+      statements.put(sql, statement);
+      return statement;
+    }
+  }
+
+  /**
+   * Returns a statement after use. A statement whose execution failed is
+   * closed and dropped rather than reused, in case the failure left it in a
+   * state the driver can't recover from; so is one that was never cached.
+   */
+  void release(Connection connection, String sql, PreparedStatement statement, boolean reusable)
+      throws SQLException {
+    ConnectionStatements statements = statementsFor(connection.unwrap(Connection.class));
+    synchronized (statements) {
+      if (statements.get(sql) == statement) {
+        if (reusable) {
+          statement.clearParameters();
+          return;
+        }
+        statements.remove(sql);
+      }
+    }
+    statement.close();
+  }
+
+  private ConnectionStatements statementsFor(Connection physical) {
+    ConnectionStatements statements = statementsByConnection.get(physical);
+    if (statements != null) {
+      return statements;
+    }
+    // A connection the cache hasn't seen usually means the pool replaced an
+    // older one, so this is when entries for retired connections are swept.
+    // Their statements were closed along with the connection.
+    statementsByConnection.keySet().removeIf(StatementCache::isClosed);
+    statements = new ConnectionStatements();
+    ConnectionStatements raced = statementsByConnection.putIfAbsent(physical, statements);
+    return raced != null ? raced : statements;
+  }
+
+  private static boolean isClosed(Connection connection) {
+    try {
+      return connection.isClosed();
+    } catch (SQLException e) {
+      return true;
+    }
+  }
+
+  public long getHits() {
+    return hits.sum();
+  }
+
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  public long getEvictions() {
+    return evictions.sum();
+  }
+
+  /** Open statements currently held, across all connections. */
+  public int size() {
+    int size = 0;
+    for (ConnectionStatements statements : statementsByConnection.values()) {
+      synchronized (statements) {
+        size += statements.size();
+      }
+    }
+    return size;
+  }
+
+  private final class ConnectionStatements extends LinkedHashMap<String, PreparedStatement> {
+    ConnectionStatements() {
+      super(16, 0.75f, true);
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+      if (size() <= maxStatementsPerConnection) {
+        return false;
+      }
+      evictions.increment();
+      try {
+        eldest.getValue().close();
+      } catch (SQLException e) {
+        log.warn("Failed to close evicted cached statement", e);
+      }
+      return true;
+    }
+  }
+}
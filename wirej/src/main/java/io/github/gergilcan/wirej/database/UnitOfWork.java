@@ -0,0 +1,81 @@
+package io.github.gergilcan.wirej.database;
+
+import java.sql.Connection;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pins one connection to the current thread for every repository call made
+ * while the scope is open, instead of each statement borrowing and returning
+ * its own. Opened with {@link ConnectionHandler#openUnitOfWork()} and closed
+ * with try-with-resources, on the same thread:
+ *
+ * <pre>
+ * try (UnitOfWork unitOfWork = connectionHandler.openUnitOfWork()) {
+ *   var product = productRepository.get(id);
+ *   invoiceRepository.create(invoiceFor(product));
+ * }
+ * </pre>
+ *
+ * This is only about connection reuse: statements still run in autocommit
+ * mode, each committed on its own, so a failure part-way through leaves the
+ * earlier ones applied. Use a Spring transaction where that matters. While
+ * one is active, statements run on the transaction's connection whatever
+ * the scope holds, and the scope never pins it - the transaction closes it
+ * when it completes. A connection the scope borrowed before the
+ * transaction sits unused until the transaction ends.
+ *
+ * The connection is borrowed lazily, on the first statement, and returned
+ * when the outermost scope closes; opening a scope inside another joins it.
+ * Cursors and streams opened inside a scope must be closed before it is.
+ */
+@Slf4j
+public final class UnitOfWork implements AutoCloseable {
+  private final ConnectionHandler connectionHandler;
+  private Connection connection;
+  private long acquiredAt;
+  private int depth = 1;
+
+  UnitOfWork(ConnectionHandler connectionHandler) {
+    this.connectionHandler = connectionHandler;
+  }
+
+  Connection connection() {
+    if (connection == null) {
+      connection = connectionHandler.acquireConnection();
+      acquiredAt = System.nanoTime();
+    }
+    return connection;
+  }
+
+  boolean holds(Connection candidate) {
+    return connection != null && connection == candidate;
+  }
+
+  UnitOfWork join() {
+    depth++;
+    return this;
+  }
+
+  /** Whether a statement has run in this scope, so it is holding a connection. */
+  public boolean isHoldingConnection() {
+    return connection != null;
+  }
+
+  /** Ends this scope, returning the connection if it is the outermost one. */
+  @Override
+  public void close() {
+    if (--depth > 0) {
+      return;
+    }
+    connectionHandler.endUnitOfWork(this);
+    if (connection != null) {
+      long heldNanos = System.nanoTime() - acquiredAt;
+      connectionHandler.recordHold(heldNanos);
+      log.debug("Unit of work connection held for {}ms", heldNanos / 1_000_000);
+      var held = connection;
+      connection = null;
+      connectionHandler.returnConnection(held);
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package io.github.gergilcan.wirej.repository;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import io.github.gergilcan.wirej.annotations.StandardOperation;
+import io.github.gergilcan.wirej.annotations.StandardOperationType;
+import io.github.gergilcan.wirej.core.RequestFilters;
+
+/**
+ * Extends {@link StandardRepository} with {@code CompletableFuture}
+ * counterparts of its single-statement operations, for callers that fan out
+ * several independent queries and join them afterwards rather than paying
+ * for each round trip in turn:
+ *
+ * <pre>
+ * var invoice = invoiceRepository.getAsync(invoiceId);
+ * var lines = invoiceLineRepository.getAllAsync(linesOf(invoiceId));
+ * return new InvoiceView(invoice.join(), lines.join());
+ * </pre>
+ *
+ * Each call runs the same generated SQL as its blocking counterpart, on the
+ * {@code AsyncQueryExecutor} (a virtual thread per call by default), and
+ * borrows its own connection there; at most as many run at once as the
+ * executor allows, sized to the connection pool. Failures complete the
+ * future exceptionally with the same {@code WireJException} the blocking
+ * method would throw.
+ *
+ * See {@link StandardRepository} for the table/primary-key resolution rules
+ * and the {@code update} partial-update/injection-safety rules, all
+ * identical here.
+ */
+public interface AsyncStandardRepository<T, ID> extends StandardRepository<T, ID> {
+  @StandardOperation(StandardOperationType.GET)
+  CompletableFuture<T> getAsync(ID id);
+
+  @StandardOperation(StandardOperationType.GET_ALL)
+  CompletableFuture<T[]> getAllAsync(RequestFilters filters);
+
+  @StandardOperation(StandardOperationType.COUNT)
+  CompletableFuture<Long> countAsync(RequestFilters filters);
+
+  @StandardOperation(StandardOperationType.CREATE)
+  CompletableFuture<T> createAsync(T entity);
+
+  @StandardOperation(StandardOperationType.UPDATE)
+  CompletableFuture<T> updateAsync(ID id, Map<String, Object> changes);
+
+  @StandardOperation(StandardOperationType.DELETE)
+  CompletableFuture<Void> deleteAsync(ID id);
+}
@@ -0,0 +1,41 @@
+package io.github.gergilcan.wirej.repository;
+
+import java.util.Collection;
+
+import io.github.gergilcan.wirej.annotations.StandardOperation;
+import io.github.gergilcan.wirej.annotations.StandardOperationType;
+import io.github.gergilcan.wirej.database.BatchLoader;
+
+/**
+ * Extends {@link StandardRepository} with lookups of many primary keys in
+ * one round trip, for callers that would otherwise call {@code get(id)} once
+ * per child record:
+ *
+ * <pre>
+ * var loader = productRepository.loader();
+ * var products = new ArrayList&lt;CompletableFuture&lt;Product&gt;&gt;();
+ * try (var scope = loader.scope()) {
+ *   lines.forEach(line -&gt; products.add(loader.load(line.getProductId())));
+ * }
+ * // one query has run; products.get(i).join() is the product of line i
+ * </pre>
+ *
+ * {@code getMany(ids)} runs {@code SELECT * FROM table WHERE pk = ANY(:ids)}
+ * and returns the rows found, in no particular order; ids without a row are
+ * simply missing. {@code loader()} returns this repository's
+ * {@link BatchLoader}, which gathers individual loads - those made inside a
+ * scope, or by concurrent callers within a short window - into
+ * {@code getMany} calls and hands each caller its own row.
+ * {@code @LoaderOptions} on the extending interface sets the window and the
+ * batch size.
+ *
+ * See {@link StandardRepository} for the table/primary-key resolution rules
+ * and the rest of the CRUD surface, all identical here.
+ */
+public interface BatchLoadingRepository<T, ID> extends StandardRepository<T, ID> {
+  @StandardOperation(StandardOperationType.GET_MANY)
+  T[] getMany(Collection<ID> ids);
+
+  @StandardOperation(StandardOperationType.LOADER)
+  BatchLoader<T, ID> loader();
+}
@@ -2,6 +2,7 @@ package io.github.gergilcan.wirej.repository;
 
 import io.github.gergilcan.wirej.annotations.StandardOperation;
 import io.github.gergilcan.wirej.annotations.StandardOperationType;
+import io.github.gergilcan.wirej.core.KeysetPagination;
 import io.github.gergilcan.wirej.core.PagedResult;
 import io.github.gergilcan.wirej.core.RequestFilters;
 import io.github.gergilcan.wirej.core.RequestPagination;
@@ -16,6 +17,27 @@ import io.github.gergilcan.wirej.core.RequestPagination;
  * {@link StandardRepository} covers the cases that only need the array, or the
  * count alone via {@code count}.
  *
+ * By default the page and its count are two queries on one connection;
+ * {@code @PageOptions(countQuery = ...)} on the extending interface can fold
+ * the count into the page query as a window function, or run the two
+ * concurrently. Either way the filters are parsed once.
+ *
+ * Counting every match is what makes deep filters slow, so
+ * {@code @PageOptions(count = ...)} can cap the count ("1000+"), take the
+ * PostgreSQL planner's estimate instead, or skip it; a request can pick its
+ * own through {@code RequestPagination.count}, and the page's
+ * {@code countStrategy} says which kind of number {@code totalCount} is.
+ * Skipping it ({@code NONE}) runs the page query alone, one row longer, and
+ * reports {@code hasNext} instead of a total.
+ *
+ * {@code getAll(filters, keysetPagination)} pages by key instead of by
+ * offset: it orders by the filters' sort with the primary key as the final
+ * tie-breaker, and each page starts right after the row the previous one
+ * ended on, named by that page's opaque {@code next} token. Deep pages then
+ * cost no more than the first, where {@code OFFSET} reads and discards every
+ * row before the page. Keyset pages carry {@code hasNext} rather than a
+ * total count, and the sort columns should not be nullable.
+ *
  * See {@link StandardRepository} for the table/primary-key resolution rules,
  * the {@code update} partial-update/injection-safety rules, and the
  * {@code createBatch}/{@code updateBatch} batching behavior, all identical
@@ -24,4 +46,7 @@ import io.github.gergilcan.wirej.core.RequestPagination;
 public interface PagedRepository<T, ID> extends StandardRepository<T, ID> {
   @StandardOperation(StandardOperationType.GET_PAGE)
   PagedResult<T> getAll(RequestFilters filters, RequestPagination pagination);
+
+  @StandardOperation(StandardOperationType.GET_KEYSET_PAGE)
+  PagedResult<T> getAll(RequestFilters filters, KeysetPagination pagination);
 }
@@ -42,6 +42,15 @@ import io.github.gergilcan.wirej.core.RequestFilters;
  * text per batch), so a call where every item changes the same field(s) is
  * one batch, while a fully heterogeneous call degrades to one statement per
  * item. Their returned array's order is not guaranteed to match the input.
+ * How {@code createBatch} is chunked and sent is set with
+ * {@code @BatchOptions} on the extending interface.
+ *
+ * {@code bulkLoad} is for loads too large to hold in memory: on PostgreSQL
+ * it streams the entities through {@code COPY ... FROM STDIN} as the
+ * iterable yields them, with the same columns {@code create} inserts, and
+ * returns the number of rows loaded. Other databases get chunked batch
+ * inserts instead, following the interface's {@code @BatchOptions}. A
+ * {@code Stream} can be passed as {@code stream::iterator}.
  *
  * The extending interface can freely mix these inherited operations with its
  * own hand-written {@code @QueryFile} methods.
@@ -70,4 +79,7 @@ public interface StandardRepository<T, ID> {
 
   @StandardOperation(StandardOperationType.DELETE)
   void delete(ID id);
+
+  @StandardOperation(StandardOperationType.BULK_LOAD)
+  long bulkLoad(Iterable<T> entities);
 }
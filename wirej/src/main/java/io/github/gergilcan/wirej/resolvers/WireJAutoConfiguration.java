@@ -1,12 +1,27 @@
 package io.github.gergilcan.wirej.resolvers;
 
+import java.sql.SQLException;
+
 import javax.sql.DataSource;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ClassUtils;
+
+import com.zaxxer.hikari.HikariDataSource;
 
+import io.github.gergilcan.wirej.database.AsyncQueryExecutor;
 import io.github.gergilcan.wirej.database.ConnectionHandler;
+import io.github.gergilcan.wirej.database.SlowQueryLog;
+import io.github.gergilcan.wirej.database.StatementCache;
+import io.github.gergilcan.wirej.rest.UnitOfWorkFilter;
 import io.github.gergilcan.wirej.rsql.RsqlParser;
+import io.micrometer.observation.ObservationRegistry;
 
 /**
  * Registers the beans that generated repository/controller implementations
@@ -17,14 +32,71 @@ import io.github.gergilcan.wirej.rsql.RsqlParser;
  * and are picked up by its ordinary component scan.
  */
 @Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(WireJProperties.class)
 public class WireJAutoConfiguration {
+    /**
+     * Repositories and their queries report to the application's
+     * {@code ObservationRegistry}, when it has one - Spring Boot's actuator
+     * provides it, and records the observations as timers.
+     */
+    @Bean
+    public ConnectionHandler connectionHandler(DataSource dataSource, WireJProperties properties,
+            AsyncQueryExecutor asyncQueryExecutor, ObjectProvider<ObservationRegistry> observationRegistry) {
+        var statementCache = properties.getStatementCache();
+        var connectionHandler = new ConnectionHandler(dataSource, statementCache.isEnabled()
+                ? new StatementCache(statementCache.getMaxStatementsPerConnection())
+                : null);
+        connectionHandler.setAsyncExecutor(asyncQueryExecutor);
+        connectionHandler.setDefaultQueryTimeout(properties.getQuery().getTimeout());
+        connectionHandler.setObservationRegistry(observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP));
+        var slowQuery = properties.getSlowQuery();
+        if (slowQuery.getThreshold() != null) {
+            connectionHandler.setSlowQueryLog(new SlowQueryLog(slowQuery.getThreshold(),
+                    slowQuery.getExplainSampleRate()));
+        }
+        return connectionHandler;
+    }
+
+    /**
+     * Virtual threads, gated to the connection pool's size. Define an
+     * {@code AsyncQueryExecutor} bean to run async queries elsewhere.
+     */
     @Bean
-    public ConnectionHandler connectionHandler(DataSource dataSource) {
-        return new ConnectionHandler(dataSource);
+    @ConditionalOnMissingBean
+    public AsyncQueryExecutor asyncQueryExecutor(DataSource dataSource, WireJProperties properties) {
+        int maxConcurrency = properties.getAsync().getMaxConcurrency();
+        if (maxConcurrency <= 0) {
+            maxConcurrency = ClassUtils.isPresent(HIKARI_DATA_SOURCE, getClass().getClassLoader())
+                    ? HikariPoolSize.of(dataSource)
+                    : ConnectionHandler.DEFAULT_MAX_CONCURRENT_QUERIES;
+        }
+        return AsyncQueryExecutor.virtualThreads(maxConcurrency);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnProperty(prefix = "wirej.unit-of-work", name = "per-request", havingValue = "true")
+    public UnitOfWorkFilter unitOfWorkFilter(ConnectionHandler connectionHandler) {
+        return new UnitOfWorkFilter(connectionHandler);
     }
 
     @Bean
     public RsqlParser rsqlParser() {
         return new RsqlParser();
     }
+
+    private static final String HIKARI_DATA_SOURCE = "com.zaxxer.hikari.HikariDataSource";
+
+    // Only loaded once HikariCP is known to be on the classpath.
+    private static final class HikariPoolSize {
+        static int of(DataSource dataSource) {
+            try {
+                return dataSource.isWrapperFor(HikariDataSource.class)
+                        ? dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize()
+                        : ConnectionHandler.DEFAULT_MAX_CONCURRENT_QUERIES;
+            } catch (SQLException e) {
+                return ConnectionHandler.DEFAULT_MAX_CONCURRENT_QUERIES;
+            }
+        }
+    }
 }
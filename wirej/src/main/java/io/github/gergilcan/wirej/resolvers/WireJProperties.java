@@ -0,0 +1,82 @@
+package io.github.gergilcan.wirej.resolvers;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Runtime tuning for generated repositories, bound from {@code wirej.*}.
+ * Everything here defaults to the behaviour WireJ had before the setting
+ * existed, so an application that sets nothing sees no change.
+ */
+@Data
+@ConfigurationProperties(prefix = "wirej")
+public class WireJProperties {
+  private final StatementCacheSettings statementCache = new StatementCacheSettings();
+  private final UnitOfWorkSettings unitOfWork = new UnitOfWorkSettings();
+  private final AsyncSettings async = new AsyncSettings();
+  private final QuerySettings query = new QuerySettings();
+  private final SlowQuerySettings slowQuery = new SlowQuerySettings();
+
+  @Data
+  public static class StatementCacheSettings {
+    /**
+     * Keep prepared statements open per connection instead of preparing one
+     * per query ({@code wirej.statement-cache.enabled}).
+     */
+    private boolean enabled = false;
+
+    /**
+     * Statements kept per physical connection before the least recently
+     * used is closed ({@code wirej.statement-cache.max-statements-per-connection}).
+     */
+    private int maxStatementsPerConnection = 256;
+  }
+
+  @Data
+  public static class UnitOfWorkSettings {
+    /**
+     * Run every HTTP request inside one {@code UnitOfWork}, so all its
+     * repository calls share a connection
+     * ({@code wirej.unit-of-work.per-request}).
+     */
+    private boolean perRequest = false;
+  }
+
+  @Data
+  public static class AsyncSettings {
+    /**
+     * Async repository queries allowed to run at once; the rest queue. Zero
+     * uses the connection pool's maximum size when it is HikariCP, else 10
+     * ({@code wirej.async.max-concurrency}).
+     */
+    private int maxConcurrency = 0;
+  }
+
+  @Data
+  public static class QuerySettings {
+    /**
+     * Timeout for queries whose repository method has no
+     * {@code @QueryTimeout} ({@code wirej.query.timeout}); unset means none.
+     */
+    private Duration timeout;
+  }
+
+  @Data
+  public static class SlowQuerySettings {
+    /**
+     * Log statements that take at least this long to run
+     * ({@code wirej.slow-query.threshold}); unset means none are logged.
+     */
+    private Duration threshold;
+
+    /**
+     * Share of the slow statements, from 0 to 1, explained on their own
+     * connection and logged with their plan
+     * ({@code wirej.slow-query.explain-sample-rate}).
+     */
+    private double explainSampleRate = 0;
+  }
+}
@@ -0,0 +1,29 @@
+package io.github.gergilcan.wirej.rest;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import io.github.gergilcan.wirej.annotations.ServiceMethod;
+import io.github.gergilcan.wirej.core.KeysetPagination;
+import io.github.gergilcan.wirej.core.RequestFilters;
+
+/**
+ * {@link PagedController} plus a keyset-paginated listing at
+ * {@code GET /keyset?pageSize=...&after=...}, backed by a service
+ * {@code getAll(RequestFilters, KeysetPagination)} - pair it with the
+ * matching {@code getAll} overload of
+ * {@link io.github.gergilcan.wirej.repository.PagedRepository}. The first
+ * request leaves {@code after} out; each following one passes the
+ * {@code next} token of the page before, until a page comes back without one.
+ *
+ * A separate interface rather than part of {@code PagedController}, so
+ * existing paged controllers don't have to grow the service method.
+ */
+public interface KeysetPagedController<T, ID> extends PagedController<T, ID> {
+  @GetMapping("/keyset")
+  @ServiceMethod("getAll")
+  @ResponseStatus(HttpStatus.OK)
+  ResponseEntity<?> getAllByKeyset(RequestFilters filters, KeysetPagination pagination);
+}
@@ -23,6 +23,9 @@ import io.github.gergilcan.wirej.core.RequestPagination;
  * {@code PagedResult<T>} (page of data plus total count) instead of a plain
  * array - pair this with {@link io.github.gergilcan.wirej.repository.PagedRepository}
  * on the repository side, whose {@code getAll} already returns exactly that.
+ * A client that only needs to know whether there is another page asks for
+ * {@code ?count=NONE}: the count query is skipped and the page reports
+ * {@code hasNext} instead.
  *
  * The controller method itself is declared {@code ResponseEntity<?>}, same
  * as {@code StandardRestController} - nothing here enforces the body shape,
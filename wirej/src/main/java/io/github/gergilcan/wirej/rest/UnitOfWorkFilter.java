@@ -0,0 +1,34 @@
+package io.github.gergilcan.wirej.rest;
+
+import java.io.IOException;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.github.gergilcan.wirej.database.ConnectionHandler;
+import io.github.gergilcan.wirej.database.UnitOfWork;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Wraps each request in a {@link UnitOfWork}, so every repository call the
+ * request makes shares one connection. A request that never touches a
+ * repository never borrows one. Registered when
+ * {@code wirej.unit-of-work.per-request} is set.
+ */
+public class UnitOfWorkFilter extends OncePerRequestFilter {
+  private final ConnectionHandler connectionHandler;
+
+  public UnitOfWorkFilter(ConnectionHandler connectionHandler) {
+    this.connectionHandler = connectionHandler;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    try (UnitOfWork unitOfWork = connectionHandler.openUnitOfWork()) {
+      filterChain.doFilter(request, response);
+    }
+  }
+}
@@ -4,6 +4,7 @@ import java.math.BigDecimal;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -79,28 +80,33 @@ public class RsqlParser {
 
   public String parseSorting(String rsqlQuery, Class<?> entityClass) {
     var sortClauses = new LinkedList<String>();
-    var multipleSortingParts = rsqlQuery.split(";");
-    for (String part : multipleSortingParts) {
-      sortClauses.add(transformToOrderByClause(part, entityClass));
-    }
+    parseSortColumns(rsqlQuery, entityClass)
+        .forEach((column, direction) -> sortClauses.add(column + " " + direction));
 
     return "ORDER BY " + String.join(", ", sortClauses);
   }
 
-  private String transformToOrderByClause(String clause, Class<?> entityClass) {
-    var operator = findSortOperator(clause);
-    if (operator == null) {
-      throw new WireJException("Unrecognized sort clause (no supported operator found): '" + clause + "'");
-    }
+  /**
+   * The columns a sort expression orders by, in order, each mapped to
+   * {@code ASC} or {@code DESC}.
+   */
+  public LinkedHashMap<String, String> parseSortColumns(String rsqlQuery, Class<?> entityClass) {
+    var columns = new LinkedHashMap<String, String>();
+    for (String clause : rsqlQuery.split(";")) {
+      var operator = findSortOperator(clause);
+      if (operator == null) {
+        throw new WireJException("Unrecognized sort clause (no supported operator found): '" + clause + "'");
+      }
 
-    var clauseParts = clause.split(operator);
-    var direction = clauseParts[1];
-    if (!direction.equals("DESC") && !direction.equals("ASC")) {
-      throw new WireJException(
-          "Invalid sort direction '" + direction + "' in clause '" + clause + "'; expected ASC or DESC");
+      var clauseParts = clause.split(operator);
+      var direction = clauseParts[1];
+      if (!direction.equals("DESC") && !direction.equals("ASC")) {
+        throw new WireJException(
+            "Invalid sort direction '" + direction + "' in clause '" + clause + "'; expected ASC or DESC");
+      }
+      columns.put(findColumnNameFromAlias(clauseParts[0], entityClass), direction);
     }
-
-    return findColumnNameFromAlias(clauseParts[0], entityClass) + " " + direction;
+    return columns;
   }
 
   private String findSortOperator(String clause) {
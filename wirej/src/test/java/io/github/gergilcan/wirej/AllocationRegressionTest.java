@@ -0,0 +1,187 @@
+package io.github.gergilcan.wirej;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+
+import io.github.gergilcan.wirej.controllers.PagedProductController;
+import io.github.gergilcan.wirej.database.ConnectionHandler;
+import io.github.gergilcan.wirej.database.DatabaseStatement;
+import io.github.gergilcan.wirej.database.ParameterBinder;
+import io.github.gergilcan.wirej.entities.Product;
+import io.github.gergilcan.wirej.repositories.ProductRepository;
+import io.github.gergilcan.wirej.rsql.RsqlParser;
+
+/**
+ * Bytes allocated per call on the hot paths, against the baselines in
+ * {@code allocation-baselines.properties}. Each call is warmed up until the
+ * JIT has compiled it, then measured on this thread with
+ * {@code ThreadMXBean}, keeping the lowest of several rounds so a stray
+ * allocation (a GC, a lazy initialisation) doesn't count. A call may
+ * allocate its baseline plus 10%, or plus {@value #SLACK_BYTES} bytes when
+ * that is more.
+ *
+ * The baselines hold for the JDK they were recorded with, fully compiled
+ * by C2: some calls allocate nothing only because its escape analysis
+ * keeps their objects off the heap. So the test runs only with the
+ * {@code allocation-regression} profile, which sets
+ * {@code wirej.allocation.check}, and skips itself when the JIT is capped
+ * below C2 (IDEs often pass {@code -XX:TieredStopAtLevel=1}).
+ *
+ * After a change that allocates less, or more on purpose, record new
+ * baselines with
+ * {@code mvn test -pl wirej -Pallocation-regression -Dwirej.allocation.record=true}
+ * and commit the rewritten file.
+ */
+@SpringBootTest(classes = TestApplication.class)
+@EnabledIfSystemProperty(named = "wirej.allocation.check", matches = "true")
+class AllocationRegressionTest {
+    private static final String BASELINES = "allocation-baselines.properties";
+    private static final boolean RECORD = Boolean.getBoolean("wirej.allocation.record");
+    private static final int WARMUP_CALLS = 20_000;
+    private static final int ROUNDS = 5;
+    private static final int CALLS_PER_ROUND = 2_000;
+    private static final long SLACK_BYTES = 64;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final Properties baselines = new Properties();
+    private static final Map<String, Long> recorded = new TreeMap<>();
+
+    @Autowired
+    private ConnectionHandler connectionHandler;
+
+    @Autowired
+    private ProductRepository products;
+
+    @Autowired
+    private PagedProductController controller;
+
+    private final RsqlParser parser = new RsqlParser();
+    private DatabaseStatement<Product> statement;
+
+    @FunctionalInterface
+    private interface Call {
+        void run() throws Exception;
+    }
+
+    @BeforeAll
+    static void loadBaselines() throws IOException {
+        assumeTrue(THREADS.isThreadAllocatedMemorySupported(), "per-thread allocation counting is not supported");
+        assumeTrue(ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+                .noneMatch(argument -> argument.startsWith("-XX:TieredStopAtLevel") || argument.equals("-Xint")),
+                "the baselines were recorded with C2");
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+        try (InputStream in = AllocationRegressionTest.class.getResourceAsStream("/" + BASELINES)) {
+            if (in != null) {
+                baselines.load(in);
+            }
+        }
+    }
+
+    @AfterAll
+    static void writeBaselines() throws IOException {
+        if (!RECORD || recorded.isEmpty()) {
+            return;
+        }
+        var file = new StringBuilder("# Bytes allocated per call, checked by AllocationRegressionTest.\n");
+        recorded.forEach((name, bytes) -> file.append(name).append('=').append(bytes).append('\n'));
+        Files.writeString(Path.of("src/test/resources", BASELINES), file);
+    }
+
+    @BeforeEach
+    void createProduct() {
+        products.delete(2201L);
+        Product product = new Product();
+        product.setId(2201L);
+        product.setName("Allocation");
+        product.setPrice(12.5);
+        products.create(product);
+        statement = DatabaseStatement.forGeneratedQuery("SELECT * FROM products WHERE :filters", "Product.allocation",
+                null, null, Product.class, parser, connectionHandler);
+    }
+
+    @AfterEach
+    void closeStatement() throws SQLException {
+        statement.closeStatement();
+    }
+
+    @Test
+    void repositoryGetRunsItsQueryWithinBaseline() {
+        assertWithinBaseline("repository.get", () -> products.get(2201L));
+    }
+
+    @Test
+    void controllerGetAnswersWithinBaseline() {
+        ResponseEntity<?> response = controller.get(2201L);
+        assertThat(response.getBody()).isInstanceOf(Product.class);
+
+        assertWithinBaseline("controller.get", () -> controller.get(2201L));
+    }
+
+    @Test
+    void parameterBinderBindsFieldsWithinBaseline() {
+        Product product = products.get(2201L);
+
+        assertWithinBaseline("parameterBinder.bindObjectFields",
+                () -> ParameterBinder.bindObjectFields(product, statement));
+    }
+
+    @Test
+    void rsqlParserParsesFiltersWithinBaseline() {
+        assertWithinBaseline("rsqlParser.parse",
+                () -> parser.parse("name==Allocation;(price>10,price<=2.5);id=out=22", Product.class, statement));
+    }
+
+    private void assertWithinBaseline(String name, Call call) {
+        long bytesPerCall = measure(call);
+        if (RECORD) {
+            recorded.put(name, bytesPerCall);
+            return;
+        }
+        String baseline = baselines.getProperty(name);
+        assertThat(baseline).as("no baseline recorded for %s in %s", name, BASELINES).isNotNull();
+        long allowed = Long.parseLong(baseline) + Math.max(Long.parseLong(baseline) / 10, SLACK_BYTES);
+        assertThat(bytesPerCall)
+                .as("%s allocates %d bytes per call; its baseline is %s", name, bytesPerCall, baseline)
+                .isLessThanOrEqualTo(allowed);
+    }
+
+    private static long measure(Call call) {
+        try {
+            for (int i = 0; i < WARMUP_CALLS; i++) {
+                call.run();
+            }
+            long lowest = Long.MAX_VALUE;
+            for (int round = 0; round < ROUNDS; round++) {
+                long before = THREADS.getCurrentThreadAllocatedBytes();
+                for (int i = 0; i < CALLS_PER_ROUND; i++) {
+                    call.run();
+                }
+                lowest = Math.min(lowest, (THREADS.getCurrentThreadAllocatedBytes() - before) / CALLS_PER_ROUND);
+            }
+            return lowest;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package io.github.gergilcan.wirej;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import io.github.gergilcan.wirej.core.RequestFilters;
+import io.github.gergilcan.wirej.database.ConnectionHandler;
+import io.github.gergilcan.wirej.entities.Invoice;
+import io.github.gergilcan.wirej.entities.User;
+import io.github.gergilcan.wirej.exceptions.WireJException;
+import io.github.gergilcan.wirej.repositories.InvoiceRepository;
+import io.github.gergilcan.wirej.repositories.UserRepository;
+
+/**
+ * CompletableFuture repository methods run the same generated SQL as their
+ * blocking counterparts on the async executor, which lets no more of them
+ * run at once than the two-connection pool can serve.
+ */
+@SpringBootTest(classes = TestApplication.class, properties = {
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=1000"
+})
+class AsyncRepositoryTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private ConnectionHandler connectionHandler;
+
+    private User user(long id) {
+        if (userRepository.findById(id) == null) {
+            User user = new User();
+            user.setId(id);
+            user.setName("Async User " + id);
+            userRepository.createAsync(user).join();
+        }
+        return userRepository.findById(id);
+    }
+
+    @Test
+    void queryFileMethodsCompleteWithTheirResult() {
+        user(7501L);
+
+        assertThat(userRepository.findByIdAsync(7501L).join().getName()).isEqualTo("Async User 7501");
+        assertThat(userRepository.findOptionalByIdAsync(7501L).join()).map(User::getId).contains(7501L);
+        assertThat(userRepository.findOptionalByIdAsync(-1L).join()).isEmpty();
+    }
+
+    @Test
+    void moreConcurrentCallsThanConnectionsQueueInsteadOfTimingOut() {
+        user(7502L);
+        assertThat(connectionHandler.getAsyncExecutor().getAvailablePermits()).isEqualTo(2);
+
+        List<CompletableFuture<User>> futures = IntStream.range(0, 50)
+                .mapToObj(i -> userRepository.findByIdAsync(7502L))
+                .toList();
+
+        assertThat(futures).allSatisfy(future -> assertThat(future.join().getId()).isEqualTo(7502L));
+        assertThat(connectionHandler.getAsyncExecutor().getAvailablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void standardOperationsHaveAsyncCounterparts() {
+        invoiceRepository.deleteAsync(7601L).join();
+        Invoice invoice = new Invoice();
+        invoice.setInvoiceNumber(7601L);
+        invoice.setDescription("AsyncInvoice7601");
+
+        assertThat(invoiceRepository.createAsync(invoice).join().getInvoiceNumber()).isEqualTo(7601L);
+        assertThat(invoiceRepository.getAsync(7601L).join().getDescription()).isEqualTo("AsyncInvoice7601");
+        assertThat(invoiceRepository.countAsync(new RequestFilters("description==AsyncInvoice7601", null, null))
+                .join()).isEqualTo(1L);
+        assertThat(invoiceRepository.getAllAsync(new RequestFilters("description==AsyncInvoice7601", null, null))
+                .join()).extracting(Invoice::getInvoiceNumber).containsExactly(7601L);
+        assertThat(invoiceRepository.updateAsync(7601L, Map.of("description", "AsyncInvoice7601b")).join()
+                .getDescription()).isEqualTo("AsyncInvoice7601b");
+
+        invoiceRepository.deleteAsync(7601L).join();
+        assertThat(invoiceRepository.getAsync(7601L).join()).isNull();
+    }
+
+    @Test
+    void failureCompletesTheFutureExceptionally() {
+        CompletableFuture<Invoice> future = invoiceRepository.updateAsync(7602L, Map.of("invoiceNumber", 1L));
+
+        assertThatThrownBy(future::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(WireJException.class);
+        assertThat(connectionHandler.getAsyncExecutor().getAvailablePermits()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,84 @@
+package io.github.gergilcan.wirej;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import io.github.gergilcan.wirej.entities.Product;
+import io.github.gergilcan.wirej.entities.User;
+import io.github.gergilcan.wirej.repositories.ProductRepository;
+import io.github.gergilcan.wirej.repositories.UserRepository;
+
+/**
+ * Every @BatchOptions strategy inserts each item exactly once, including the
+ * shorter final chunk - five items with a chunk size of two is two full
+ * chunks and one partial one.
+ */
+@SpringBootTest(classes = TestApplication.class)
+class BatchInsertTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private User[] users(long firstId) {
+        return LongStream.range(firstId, firstId + 5).mapToObj(id -> {
+            User user = new User();
+            user.setId(id);
+            user.setName("Batch User " + id);
+            return user;
+        }).toArray(User[]::new);
+    }
+
+    private void assertInserted(long firstId, Consumer<User[]> insert) {
+        userRepository.delete(LongStream.range(firstId, firstId + 5).boxed().toArray(Long[]::new));
+
+        insert.accept(users(firstId));
+
+        for (long id = firstId; id < firstId + 5; id++) {
+            assertThat(userRepository.findById(id).getName()).isEqualTo("Batch User " + id);
+        }
+    }
+
+    @Test
+    void jdbcBatchInsertsEveryChunk() {
+        assertInserted(1301L, userRepository::createAllInChunks);
+    }
+
+    @Test
+    void multiRowValuesInsertsEveryChunk() {
+        assertInserted(1311L, userRepository::createAllMultiRow);
+    }
+
+    @Test
+    void unnestInsertsEveryChunk() {
+        assertInserted(1321L, userRepository::createAllUnnest);
+    }
+
+    @Test
+    void createBatchFollowsTheInterfaceBatchOptions() {
+        Product[] products = LongStream.range(1331L, 1336L).mapToObj(id -> {
+            Product product = new Product();
+            product.setId(id);
+            product.setName("Batch Product " + id);
+            product.setPrice(id / 100.0);
+            return product;
+        }).toArray(Product[]::new);
+        for (Product product : products) {
+            productRepository.delete(product.getId());
+        }
+
+        assertThat(productRepository.createBatch(products)).hasSize(5);
+
+        for (Product product : products) {
+            assertThat(productRepository.get(product.getId())).isEqualTo(product);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package io.github.gergilcan.wirej;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import io.github.gergilcan.wirej.database.BatchLoader;
+import io.github.gergilcan.wirej.entities.Product;
+import io.github.gergilcan.wirej.repositories.LoadingProductRepository;
+import io.github.gergilcan.wirej.repositories.ProductRepository;
+
+/**
+ * {@code getMany} finds many primary keys in one query, and the generated
+ * loader gathers individual loads into {@code getMany} calls.
+ */
+@SpringBootTest(classes = TestApplication.class)
+class BatchLoadingRepositoryTest {
+
+    @Autowired
+    private LoadingProductRepository loading;
+
+    @Autowired
+    private ProductRepository products;
+
+    @BeforeEach
+    void createProducts() {
+        for (long id = 7971L; id <= 7974L; id++) {
+            products.delete(id);
+            Product product = new Product();
+            product.setId(id);
+            product.setName("Loaded " + id);
+            products.create(product);
+        }
+        products.delete(7975L);
+    }
+
+    @Test
+    void getManyReturnsTheRowsThatExist() {
+        Product[] found = loading.getMany(List.of(7971L, 7973L, 7975L));
+
+        assertThat(found).extracting(Product::getId).containsExactlyInAnyOrder(7971L, 7973L);
+        assertThat(loading.getMany(List.of())).isEmpty();
+    }
+
+    @Test
+    void loadsInAScopeShareQueries() {
+        BatchLoader<Product, Long> loader = loading.loader();
+        long before = loader.getBatchCount();
+        List<CompletableFuture<Product>> rows = new ArrayList<>();
+        try (var scope = loader.scope()) {
+            for (long id : new long[] { 7971L, 7972L, 7972L, 7975L, 7974L }) {
+                rows.add(loader.load(id));
+            }
+        }
+
+        // Four distinct keys, three per batch.
+        assertThat(loader.getBatchCount() - before).isEqualTo(2);
+        assertThat(rows.get(0).join().getName()).isEqualTo("Loaded 7971");
+        assertThat(rows.get(2).join()).isSameAs(rows.get(1).join());
+        assertThat(rows.get(3).join()).isNull();
+        assertThat(rows.get(4).join().getName()).isEqualTo("Loaded 7974");
+    }
+
+    @Test
+    void concurrentLoadsEachGetTheirOwnRow() throws Exception {
+        BatchLoader<Product, Long> loader = loading.loader();
+        List<Future<Product>> rows = new ArrayList<>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long id = 7971L; id <= 7973L; id++) {
+                long key = id;
+                rows.add(executor.submit(() -> loader.get(key)));
+            }
+            for (int i = 0; i < rows.size(); i++) {
+                assertThat(rows.get(i).get().getId()).isEqualTo(7971L + i);
+            }
+        }
+    }
+
+    @Test
+    void getAllReturnsTheFoundRowsByKey() {
+        var found = loading.loader().getAll(Arrays.asList(7971L, 7975L, 7972L, 7973L, 7974L));
+
+        assertThat(found).containsOnlyKeys(7971L, 7972L, 7973L, 7974L);
+        assertThat(found.get(7972L).getName()).isEqualTo("Loaded 7972");
+    }
+}
@@ -0,0 +1,104 @@
+package io.github.gergilcan.wirej;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.github.gergilcan.wirej.database.SingleFlight;
+import io.github.gergilcan.wirej.entities.Product;
+import io.github.gergilcan.wirej.repositories.CoalescedProductRepository;
+import io.github.gergilcan.wirej.repositories.ProductRepository;
+
+/**
+ * A {@code @Coalesced} repository answers concurrent identical reads
+ * correctly, and - since nothing outlives an execution - later reads see
+ * the writes made in between.
+ */
+@SpringBootTest(classes = TestApplication.class)
+class CoalescedReadTest {
+
+    @Autowired
+    private CoalescedProductRepository coalesced;
+
+    @Autowired
+    private ProductRepository products;
+
+    @BeforeEach
+    void createProduct() {
+        products.delete(7961L);
+        Product product = new Product();
+        product.setId(7961L);
+        product.setName("Coalesced");
+        products.create(product);
+    }
+
+    @Test
+    void concurrentReadsAllGetTheRow() throws Exception {
+        List<Future<Product>> reads = new ArrayList<>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 16; i++) {
+                reads.add(executor.submit(() -> coalesced.get(7961L)));
+            }
+            for (Future<Product> read : reads) {
+                assertThat(read.get().getName()).isEqualTo("Coalesced");
+            }
+        }
+    }
+
+    @Test
+    void readsAfterAWriteSeeIt() {
+        assertThat(coalesced.get(7961L).getName()).isEqualTo("Coalesced");
+        Long count = coalesced.countProducts();
+
+        coalesced.rename(7961L, "Renamed");
+        products.delete(7961L);
+
+        assertThat(coalesced.get(7961L)).isNull();
+        assertThat(coalesced.countProducts()).isEqualTo(count - 1);
+        assertThat(coalesced.countProductsUncoalesced()).isEqualTo(count - 1);
+    }
+
+    @Test
+    void anUpdateReturnsItsRowEvenWithAGetInFlight() throws Exception {
+        SingleFlight getFlight = (SingleFlight) ReflectionTestUtils.getField(
+                AopTestUtils.<Object>getTargetObject(coalesced), "getFlight");
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // A get(7961) that has read the row and not yet returned it.
+            Future<Product> inFlight = executor.submit(() -> getFlight.run(new Object[] { 7961L }, () -> {
+                Product row = products.get(7961L);
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return row;
+            }));
+            started.await();
+            try {
+                Future<Product> update = executor.submit(() -> coalesced.update(7961L, Map.of("name", "Updated")));
+
+                assertThat(update.get(5, TimeUnit.SECONDS).getName()).isEqualTo("Updated");
+            } finally {
+                release.countDown();
+            }
+            assertThat(inFlight.get().getName()).isEqualTo("Coalesced");
+        }
+        assertThat(coalesced.get(7961L).getName()).isEqualTo("Updated");
+    }
+}
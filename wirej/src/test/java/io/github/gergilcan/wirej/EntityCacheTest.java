@@ -0,0 +1,117 @@
+package io.github.gergilcan.wirej;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import io.github.gergilcan.wirej.core.BatchPatchItem;
+import io.github.gergilcan.wirej.database.ConnectionHandler;
+import io.github.gergilcan.wirej.database.NearCache;
+import io.github.gergilcan.wirej.entities.Invoice;
+import io.github.gergilcan.wirej.repositories.InvoiceRepository;
+
+/**
+ * {@code get} serves an {@code @EntityCache} entity from memory after the
+ * first read, and every generated write keeps the cached row current.
+ */
+@SpringBootTest(classes = TestApplication.class)
+class EntityCacheTest {
+
+    @Autowired
+    private InvoiceRepository invoices;
+
+    @Autowired
+    private ConnectionHandler connectionHandler;
+
+    private NearCache<Invoice, ?> cache;
+
+    @BeforeEach
+    void createInvoices() {
+        for (long number = 7951L; number <= 7953L; number++) {
+            invoices.delete(number);
+            Invoice invoice = new Invoice();
+            invoice.setInvoiceNumber(number);
+            invoice.setDescription("Cached " + number);
+            if (number < 7953L) {
+                invoices.create(invoice);
+            }
+        }
+        cache = NearCache.of(Invoice.class);
+    }
+
+    @Test
+    void repeatedGetsAreHits() {
+        invoices.get(7951L);
+        long hits = cache.getHitCount();
+        long acquisitions = connectionHandler.getAcquisitionCount();
+
+        Invoice invoice = invoices.get(7951L);
+
+        assertThat(invoice.getDescription()).isEqualTo("Cached 7951");
+        assertThat(cache.getHitCount()).isEqualTo(hits + 1);
+        assertThat(connectionHandler.getAcquisitionCount()).isEqualTo(acquisitions);
+    }
+
+    @Test
+    void missingRowsAreNotCached() {
+        long misses = cache.getMissCount();
+
+        assertThat(invoices.get(7953L)).isNull();
+        assertThat(invoices.get(7953L)).isNull();
+
+        assertThat(cache.getMissCount()).isEqualTo(misses + 2);
+    }
+
+    @Test
+    void createdRowsAreNotSharedWithTheirCreator() {
+        Invoice invoice = new Invoice();
+        invoice.setInvoiceNumber(7953L);
+        invoice.setDescription("Created");
+        invoices.create(invoice);
+
+        invoice.setDescription("Changed after create");
+
+        Invoice cached = invoices.get(7953L);
+        assertThat(cached).isNotSameAs(invoice);
+        assertThat(cached.getDescription()).isEqualTo("Created");
+    }
+
+    @Test
+    void updatesReplaceTheCachedRow() {
+        invoices.get(7951L);
+
+        Invoice updated = invoices.update(7951L, Map.of("description", "Updated"));
+        long misses = cache.getMissCount();
+
+        assertThat(updated.getDescription()).isEqualTo("Updated");
+        assertThat(invoices.get(7951L)).isSameAs(updated);
+        assertThat(cache.getMissCount()).isEqualTo(misses);
+    }
+
+    @Test
+    void batchUpdatesReplaceTheCachedRows() {
+        invoices.get(7951L);
+        invoices.get(7952L);
+
+        invoices.updateBatch(List.of(new BatchPatchItem<>(7951L, Map.of("description", "Batched")),
+                new BatchPatchItem<>(7952L, Map.of("description", "Batched"))));
+
+        assertThat(invoices.get(7951L).getDescription()).isEqualTo("Batched");
+        assertThat(invoices.get(7952L).getDescription()).isEqualTo("Batched");
+    }
+
+    @Test
+    void deletesEvictTheRow() {
+        invoices.get(7951L);
+
+        invoices.delete(7951L);
+
+        assertThat(invoices.get(7951L)).isNull();
+    }
+}
@@ -0,0 +1,132 @@
+package io.github.gergilcan.wirej;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.github.gergilcan.wirej.core.KeysetPagination;
+import io.github.gergilcan.wirej.core.PagedResult;
+import io.github.gergilcan.wirej.core.RequestFilters;
+import io.github.gergilcan.wirej.entities.Product;
+import io.github.gergilcan.wirej.exceptions.WireJException;
+import io.github.gergilcan.wirej.repositories.PagedProductRepository;
+
+/**
+ * Keyset pages walk the filtered, sorted rows exactly once each - ties in
+ * the sort column broken by the primary key - with the last page ending the
+ * sequence by coming back without a next token.
+ */
+@SpringBootTest(classes = TestApplication.class)
+@AutoConfigureMockMvc
+class KeysetPaginationTest {
+
+    @Autowired
+    private PagedProductRepository repository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void createProducts() {
+        // Prices repeat, so paging by price alone would be ambiguous.
+        double[] prices = { 3.0, 1.0, 2.0, 1.0, 3.0, 2.0, 1.0 };
+        for (int i = 0; i < prices.length; i++) {
+            long id = 7801L + i;
+            repository.delete(id);
+            Product product = new Product();
+            product.setId(id);
+            product.setName("Keyset");
+            product.setPrice(prices[i]);
+            repository.create(product);
+        }
+    }
+
+    private List<Long> walk(RequestFilters filters, int pageSize) {
+        var ids = new ArrayList<Long>();
+        String after = null;
+        do {
+            PagedResult<Product> page = repository.getAll(filters, new KeysetPagination(pageSize, after));
+            assertThat(page.getTotalCount()).isNull();
+            assertThat(page.getHasNext()).isEqualTo(page.getNext() != null);
+            ids.addAll(Arrays.stream(page.getData()).map(Product::getId).toList());
+            after = page.getNext();
+        } while (after != null);
+        return ids;
+    }
+
+    @Test
+    void pagesFollowTheSortWithThePrimaryKeyBreakingTies() {
+        RequestFilters filters = new RequestFilters("name==Keyset", null, "price==DESC");
+
+        assertThat(walk(filters, 2)).containsExactly(7801L, 7805L, 7803L, 7806L, 7802L, 7804L, 7807L);
+        assertThat(walk(filters, 3)).containsExactly(7801L, 7805L, 7803L, 7806L, 7802L, 7804L, 7807L);
+    }
+
+    @Test
+    void withoutASortPagesFollowThePrimaryKey() {
+        assertThat(walk(new RequestFilters("name==Keyset", null, null), 4))
+                .containsExactly(7801L, 7802L, 7803L, 7804L, 7805L, 7806L, 7807L);
+    }
+
+    @Test
+    void pageThatExactlyFillsTheRemainderIsTheLast() {
+        PagedResult<Product> page = repository.getAll(new RequestFilters("name==Keyset", null, "id==ASC"),
+                new KeysetPagination(7, null));
+
+        assertThat(page.getData()).hasSize(7);
+        assertThat(page.getNext()).isNull();
+    }
+
+    @Test
+    void tokenIsOnlyAcceptedForTheSortItWasIssuedFor() {
+        String next = repository.getAll(new RequestFilters("name==Keyset", null, "price==DESC"),
+                new KeysetPagination(2, null)).getNext();
+
+        assertThrows(WireJException.class, () -> repository.getAll(
+                new RequestFilters("name==Keyset", null, "price==ASC"), new KeysetPagination(2, next)));
+        assertThrows(WireJException.class, () -> repository.getAll(
+                new RequestFilters("name==Keyset", null, "price==DESC"), new KeysetPagination(2, "not-a-token")));
+    }
+
+    @Test
+    void keysetEndpointReturnsTheNextToken() throws Exception {
+        String body = mockMvc.perform(get("/products-paged/keyset")
+                .param("filters", "name==Keyset")
+                .param("sort", "id==ASC")
+                .param("pageSize", "4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(4))
+                .andExpect(jsonPath("$.totalCount").doesNotExist())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode firstPage = objectMapper.readTree(body);
+
+        mockMvc.perform(get("/products-paged/keyset")
+                .param("filters", "name==Keyset")
+                .param("sort", "id==ASC")
+                .param("pageSize", "4")
+                .param("after", firstPage.get("next").asText()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].id").value(7805))
+                .andExpect(jsonPath("$.data.length()").value(3))
+                .andExpect(jsonPath("$.next").doesNotExist());
+    }
+}
@@ -0,0 +1,153 @@
+package io.github.gergilcan.wirej;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import io.github.gergilcan.wirej.controllers.UserControllerImpl;
+import io.github.gergilcan.wirej.database.ConnectionHandler;
+import io.github.gergilcan.wirej.database.DatabaseStatement;
+import io.github.gergilcan.wirej.database.MethodObservation;
+import io.github.gergilcan.wirej.database.QueryObservationContext;
+import io.github.gergilcan.wirej.entities.Product;
+import io.github.gergilcan.wirej.repositories.ProductRepository;
+import io.github.gergilcan.wirej.services.CrudUserService;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * Generated repositories and controllers, and the queries they run, report
+ * nested observations to the connection handler's registry.
+ */
+@SpringBootTest(classes = TestApplication.class)
+class ObservationTest {
+
+    @Autowired
+    private ConnectionHandler connectionHandler;
+
+    @Autowired
+    private ProductRepository products;
+
+    @Autowired
+    private CrudUserService users;
+
+    private final List<Observation.Context> stopped = new CopyOnWriteArrayList<>();
+    private ObservationRegistry registry;
+
+    @BeforeEach
+    void recordObservations() {
+        registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(new ObservationHandler<>() {
+            @Override
+            public void onStop(Observation.Context context) {
+                stopped.add(context);
+            }
+
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return true;
+            }
+        });
+        products.delete(7981L);
+        Product product = new Product();
+        product.setId(7981L);
+        product.setName("Observed");
+        products.create(product);
+        connectionHandler.setObservationRegistry(registry);
+    }
+
+    @AfterEach
+    void stopRecording() {
+        connectionHandler.setObservationRegistry(null);
+    }
+
+    @Test
+    void repositoryMethodsObserveTheirQueriesAndPhases() {
+        assertThat(products.get(7981L).getName()).isEqualTo("Observed");
+
+        Observation.Context method = only(MethodObservation.REPOSITORY);
+        assertThat(tag(method, "repository")).isEqualTo("ProductRepository");
+        assertThat(tag(method, "method")).isEqualTo("get");
+
+        var query = (QueryObservationContext) only(QueryObservationContext.NAME);
+        assertThat(tag(query, "query")).isEqualTo("Product.get");
+        assertThat(query.getRows()).isEqualTo(1);
+        assertThat(query.getError()).isNull();
+        assertThat(query.getParentObservation().getContextView()).isSameAs(method);
+
+        List<Observation.Context> phases = named(QueryObservationContext.PHASE_NAME);
+        assertThat(phases).extracting(phase -> tag(phase, "phase"))
+                .containsExactly("acquire", "prepare", "execute", "mapping");
+        assertThat(phases).allSatisfy(phase -> {
+            assertThat(tag(phase, "query")).isEqualTo("Product.get");
+            assertThat(phase.getParentObservation().getContextView()).isSameAs(query);
+        });
+    }
+
+    @Test
+    void failedQueriesAreMarkedWithTheirError() {
+        DatabaseStatement<Product> statement = DatabaseStatement.forGeneratedQuery("SELECT * FROM no_such_table",
+                "Missing.select", null, null, Product.class, null, connectionHandler);
+
+        assertThatThrownBy(statement::getResultList).isInstanceOf(SQLException.class);
+
+        var query = (QueryObservationContext) only(QueryObservationContext.NAME);
+        assertThat(query.getError()).isInstanceOf(SQLException.class);
+        assertThat(named(QueryObservationContext.PHASE_NAME)).extracting(phase -> tag(phase, "phase"))
+                .containsExactly("acquire", "prepare");
+    }
+
+    @Test
+    void controllerMethodsObserveTheRepositoryCallsTheyMake() {
+        var controller = new UserControllerImpl(users,
+                new StaticListableBeanFactory(Map.of("observationRegistry", registry))
+                        .getBeanProvider(ObservationRegistry.class));
+
+        controller.get(7981L);
+
+        Observation.Context call = only(MethodObservation.CONTROLLER);
+        assertThat(tag(call, "controller")).isEqualTo("UserController");
+        assertThat(tag(call, "method")).isEqualTo("get");
+        Observation.Context repositoryCall = only(MethodObservation.REPOSITORY);
+        assertThat(tag(repositoryCall, "repository")).isEqualTo("UserRepository");
+        assertThat(repositoryCall.getParentObservation().getContextView()).isSameAs(call);
+        assertThat(((QueryObservationContext) only(QueryObservationContext.NAME)).getRows()).isZero();
+    }
+
+    @Test
+    void nothingIsObservedWithoutHandlers() {
+        connectionHandler.setObservationRegistry(ObservationRegistry.create());
+
+        products.get(7981L);
+
+        assertThat(stopped).isEmpty();
+        assertThat(MethodObservation.repository(ObservationRegistry.NOOP, "ProductRepository", "get"))
+                .isSameAs(MethodObservation.repository(ObservationRegistry.NOOP, "ProductRepository", "get"));
+    }
+
+    private Observation.Context only(String name) {
+        List<Observation.Context> observations = named(name);
+        assertThat(observations).hasSize(1);
+        return observations.get(0);
+    }
+
+    private List<Observation.Context> named(String name) {
+        return stopped.stream().filter(context -> name.equals(context.getName())).toList();
+    }
+
+    private static String tag(Observation.Context context, String key) {
+        return context.getLowCardinalityKeyValue(key).getValue();
+    }
+}
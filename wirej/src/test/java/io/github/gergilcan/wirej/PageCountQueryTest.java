@@ -0,0 +1,214 @@
+package io.github.gergilcan.wirej;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import io.github.gergilcan.wirej.annotations.CountStrategy;
+import io.github.gergilcan.wirej.annotations.PageCountQuery;
+import io.github.gergilcan.wirej.core.PagedResult;
+import io.github.gergilcan.wirej.core.RequestFilters;
+import io.github.gergilcan.wirej.core.RequestPagination;
+import io.github.gergilcan.wirej.database.ConnectionHandler;
+import io.github.gergilcan.wirej.database.DatabaseStatement;
+import io.github.gergilcan.wirej.entities.Product;
+import io.github.gergilcan.wirej.repositories.CappedPagedProductRepository;
+import io.github.gergilcan.wirej.repositories.ConcurrentPagedProductRepository;
+import io.github.gergilcan.wirej.repositories.PagedProductRepository;
+import io.github.gergilcan.wirej.repositories.WindowPagedProductRepository;
+import io.github.gergilcan.wirej.repository.PagedRepository;
+import io.github.gergilcan.wirej.rsql.RsqlParser;
+
+/**
+ * The paginated getAll returns the same page and total whichever
+ * {@code @PageOptions(countQuery)} a repository picks - including a page
+ * past the last row, where a window count has no row to come from - and
+ * counts as the repository's or the request's {@link CountStrategy} says;
+ * an uncounted page probes one row past itself for {@code hasNext}.
+ */
+@SpringBootTest(classes = TestApplication.class)
+@AutoConfigureMockMvc
+class PageCountQueryTest {
+
+    private static final RequestFilters FILTERS = new RequestFilters("name==Counted;id>=7701;id<=7706", null,
+            "id==ASC");
+
+    @Autowired
+    private PagedProductRepository separate;
+
+    @Autowired
+    private WindowPagedProductRepository window;
+
+    @Autowired
+    private ConcurrentPagedProductRepository concurrent;
+
+    @Autowired
+    private CappedPagedProductRepository capped;
+
+    @Autowired
+    private ConnectionHandler connectionHandler;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void createProducts() {
+        for (long id = 7701L; id <= 7706L; id++) {
+            separate.delete(id);
+            Product product = new Product();
+            product.setId(id);
+            product.setName(id == 7706L ? "Not Counted" : "Counted");
+            separate.create(product);
+        }
+    }
+
+    private List<PagedRepository<Product, Long>> repositories() {
+        return List.of(separate, window, concurrent);
+    }
+
+    private static Long[] ids(PagedResult<Product> page) {
+        return Arrays.stream(page.getData()).map(Product::getId).toArray(Long[]::new);
+    }
+
+    @Test
+    void everyPageCarriesTheTotalOfAllMatchingRows() {
+        for (PagedRepository<Product, Long> repository : repositories()) {
+            PagedResult<Product> first = repository.getAll(FILTERS, new RequestPagination(0, 2));
+            PagedResult<Product> last = repository.getAll(FILTERS, new RequestPagination(2, 2));
+            PagedResult<Product> pastTheEnd = repository.getAll(FILTERS, new RequestPagination(5, 2));
+
+            assertThat(ids(first)).containsExactly(7701L, 7702L);
+            assertThat(ids(last)).containsExactly(7705L);
+            assertThat(pastTheEnd.getData()).isEmpty();
+            assertThat(Stream.of(first, last, pastTheEnd).map(PagedResult::getTotalCount)).containsOnly(5L);
+            assertThat(Stream.of(first, last, pastTheEnd).map(PagedResult::getCountStrategy))
+                    .containsOnly(CountStrategy.EXACT);
+        }
+    }
+
+    @Test
+    void nothingMatchingCountsZero() {
+        for (PagedRepository<Product, Long> repository : repositories()) {
+            PagedResult<Product> page = repository.getAll(new RequestFilters("name==Nobody", null, "id==ASC"),
+                    new RequestPagination(0, 2));
+
+            assertThat(page.getData()).isEmpty();
+            assertThat(page.getTotalCount()).isZero();
+        }
+    }
+
+    @Test
+    void windowCountTakesOneStatementOnOneConnection() {
+        long before = connectionHandler.getAcquisitionCount();
+
+        window.getAll(FILTERS, new RequestPagination(1, 2));
+
+        assertThat(connectionHandler.getAcquisitionCount() - before).isEqualTo(1);
+    }
+
+    @Test
+    void cappedCountStopsAtTheCap() {
+        PagedResult<Product> page = capped.getAll(FILTERS, new RequestPagination(0, 2));
+
+        assertThat(ids(page)).containsExactly(7701L, 7702L);
+        assertThat(page.getTotalCount()).isEqualTo(3L);
+        assertThat(page.getCountStrategy()).isEqualTo(CountStrategy.CAPPED);
+    }
+
+    @Test
+    void cappedCountWithinTheCapIsExact() {
+        PagedResult<Product> page = capped.getAll(new RequestFilters("name==Counted;id>=7701;id<=7703", null,
+                "id==ASC"), new RequestPagination(0, 2));
+
+        assertThat(page.getTotalCount()).isEqualTo(3L);
+        assertThat(page.getCountStrategy()).isEqualTo(CountStrategy.EXACT);
+    }
+
+    @Test
+    void requestCanSkipTheCount() {
+        for (PagedRepository<Product, Long> repository : List.of(separate, window, concurrent, capped)) {
+            long before = connectionHandler.getAcquisitionCount();
+
+            PagedResult<Product> page = repository.getAll(FILTERS, new RequestPagination(0, 2, CountStrategy.NONE));
+
+            assertThat(ids(page)).containsExactly(7701L, 7702L);
+            assertThat(page.getTotalCount()).isNull();
+            assertThat(page.getCountStrategy()).isEqualTo(CountStrategy.NONE);
+            assertThat(page.getHasNext()).isTrue();
+            assertThat(connectionHandler.getAcquisitionCount() - before).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void uncountedPageThatEndsTheRowsHasNoNext() {
+        for (PagedRepository<Product, Long> repository : List.of(separate, window, concurrent, capped)) {
+            PagedResult<Product> last = repository.getAll(FILTERS, new RequestPagination(2, 2, CountStrategy.NONE));
+            PagedResult<Product> exactlyFull = repository.getAll(FILTERS,
+                    new RequestPagination(0, 5, CountStrategy.NONE));
+
+            assertThat(ids(last)).containsExactly(7705L);
+            assertThat(last.getHasNext()).isFalse();
+            assertThat(exactlyFull.getData()).hasSize(5);
+            assertThat(exactlyFull.getHasNext()).isFalse();
+        }
+    }
+
+    @Test
+    void uncountedPageWithoutPaginationReturnsEveryRow() throws Exception {
+        DatabaseStatement<Product> statement = DatabaseStatement.forGeneratedQuery(
+                "SELECT * FROM products WHERE :filters :sorting", "Product.unpaged", FILTERS, null, Product.class,
+                new RsqlParser(), connectionHandler);
+
+        PagedResult<Product> page = statement.getPage(null, PageCountQuery.SEPARATE, CountStrategy.NONE, 0,
+                "products", "Product.unpaged.count");
+
+        assertThat(ids(page)).containsExactly(7701L, 7702L, 7703L, 7704L, 7705L);
+        assertThat(page.getTotalCount()).isNull();
+        assertThat(page.getHasNext()).isFalse();
+    }
+
+    @Test
+    void pagedEndpointSkipsTheCountOnRequest() throws Exception {
+        mockMvc.perform(get("/products-paged/")
+                .param("filters", "name==Counted;id>=7701;id<=7706")
+                .param("sort", "id==ASC")
+                .param("pageSize", "4")
+                .param("count", "NONE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(4))
+                .andExpect(jsonPath("$.totalCount").doesNotExist())
+                .andExpect(jsonPath("$.hasNext").value(true));
+    }
+
+    @Test
+    void requestStrategyOverridesTheRepository() {
+        PagedResult<Product> page = capped.getAll(FILTERS, new RequestPagination(0, 2, CountStrategy.EXACT));
+
+        assertThat(page.getTotalCount()).isEqualTo(5L);
+        assertThat(page.getCountStrategy()).isEqualTo(CountStrategy.EXACT);
+    }
+
+    @Test
+    void estimateFallsBackToAnExactCountOutsidePostgres() {
+        for (PagedRepository<Product, Long> repository : repositories()) {
+            PagedResult<Product> page = repository.getAll(FILTERS,
+                    new RequestPagination(0, 2, CountStrategy.ESTIMATED));
+
+            assertThat(ids(page)).containsExactly(7701L, 7702L);
+            assertThat(page.getTotalCount()).isEqualTo(5L);
+            assertThat(page.getCountStrategy()).isEqualTo(CountStrategy.EXACT);
+        }
+    }
+}
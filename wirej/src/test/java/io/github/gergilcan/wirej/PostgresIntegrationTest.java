@@ -11,7 +11,10 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import java.sql.SQLException;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -33,6 +36,7 @@ import io.github.gergilcan.wirej.entities.Product;
 import io.github.gergilcan.wirej.entities.User;
 import io.github.gergilcan.wirej.exceptions.WireJException;
 import io.github.gergilcan.wirej.repositories.InvoiceRepository;
+import io.github.gergilcan.wirej.repositories.LoadingProductRepository;
 import io.github.gergilcan.wirej.repositories.ProductRepository;
 import io.github.gergilcan.wirej.repositories.UserRepository;
 
@@ -67,6 +71,9 @@ class PostgresIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private LoadingProductRepository loadingProductRepository;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -134,6 +141,16 @@ class PostgresIntegrationTest {
             assertThat(invoiceRepository.get(3101L)).isNull();
         }
 
+        @Test
+        void getManyBindsTheKeysAsOneArray() {
+            productRepository.create(newProduct(3951L, "Many A"));
+            productRepository.create(newProduct(3952L, "Many B"));
+
+            assertThat(loadingProductRepository.getMany(List.of(3951L, 3952L, 3953L)))
+                    .extracting(Product::getName).containsExactlyInAnyOrder("Many A", "Many B");
+            assertThat(loadingProductRepository.loader().getAll(List.of(3952L, 3953L))).containsOnlyKeys(3952L);
+        }
+
         @Test
         void updateValidationRejectsUnknownKeysThePrimaryKeyAndEmptyMaps() {
             productRepository.create(newProduct(3201L, "Guarded"));
@@ -149,6 +166,25 @@ class PostgresIntegrationTest {
         }
     }
 
+    @Nested
+    class BulkLoad {
+
+        @Test
+        void bulkLoadStreamsEveryRowThroughCopy() {
+            // Text that needs COPY escaping, and a null column.
+            Product escaped = newProduct(3301L, "Tab\there\\back\nslash");
+            Product unnamed = newProduct(3302L, null);
+            Stream<Product> products = Stream.concat(Stream.of(escaped, unnamed),
+                    LongStream.range(3303L, 3400L).mapToObj(id -> newProduct(id, "Bulk " + id)));
+
+            assertThat(productRepository.bulkLoad(products::iterator)).isEqualTo(99L);
+
+            assertThat(productRepository.get(3301L).getName()).isEqualTo(escaped.getName());
+            assertThat(productRepository.get(3302L).getName()).isNull();
+            assertThat(productRepository.get(3399L).getName()).isEqualTo("Bulk 3399");
+        }
+    }
+
     @Nested
     class FiltersAndOperators {
 
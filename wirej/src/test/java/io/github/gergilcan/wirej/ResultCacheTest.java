@@ -0,0 +1,89 @@
+package io.github.gergilcan.wirej;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import io.github.gergilcan.wirej.core.RequestFilters;
+import io.github.gergilcan.wirej.database.ConnectionHandler;
+import io.github.gergilcan.wirej.entities.Product;
+import io.github.gergilcan.wirej.repositories.CachedProductRepository;
+import io.github.gergilcan.wirej.repositories.ProductRepository;
+
+/**
+ * A {@code @Cached} repository answers repeated reads without touching the
+ * database, until a write to its table through any generated repository
+ * invalidates them.
+ */
+@SpringBootTest(classes = TestApplication.class)
+class ResultCacheTest {
+
+    private static final RequestFilters CACHED_PRODUCTS = new RequestFilters("id>=7901;id<=7903", null, "id==ASC");
+
+    @Autowired
+    private CachedProductRepository cached;
+
+    @Autowired
+    private ProductRepository products;
+
+    @Autowired
+    private ConnectionHandler connectionHandler;
+
+    @BeforeEach
+    void createProducts() {
+        for (long id = 7901L; id <= 7902L; id++) {
+            products.delete(id);
+            Product product = new Product();
+            product.setId(id);
+            product.setName("Cached");
+            products.create(product);
+        }
+        products.delete(7903L);
+    }
+
+    @Test
+    void repeatedReadsAreServedFromTheCache() {
+        Product first = cached.get(7901L);
+        Product[] all = cached.getAll(CACHED_PRODUCTS);
+        long before = connectionHandler.getAcquisitionCount();
+
+        assertThat(cached.get(7901L)).isSameAs(first);
+        assertThat(cached.getAll(new RequestFilters("id>=7901;id<=7903", null, "id==ASC"))).isSameAs(all);
+        assertThat(connectionHandler.getAcquisitionCount()).isEqualTo(before);
+    }
+
+    @Test
+    void writesThroughAnyRepositoryInvalidateTheTable() {
+        assertThat(cached.getAll(CACHED_PRODUCTS)).hasSize(2);
+        assertThat(cached.get(7903L)).isNull();
+
+        Product product = new Product();
+        product.setId(7903L);
+        product.setName("Cached");
+        products.create(product);
+
+        assertThat(cached.getAll(CACHED_PRODUCTS)).hasSize(3);
+        assertThat(cached.get(7903L)).isNotNull();
+    }
+
+    @Test
+    void queryFileWritesInvalidateTheTablesTheirSqlWrites() {
+        assertThat(cached.get(7902L).getName()).isEqualTo("Cached");
+
+        cached.rename(7902L, "Renamed");
+
+        assertThat(cached.get(7902L).getName()).isEqualTo("Renamed");
+    }
+
+    @Test
+    void queryFileReadsAreCachedToo() {
+        Long count = cached.countProducts();
+        long before = connectionHandler.getAcquisitionCount();
+
+        assertThat(cached.countProducts()).isEqualTo(count);
+        assertThat(connectionHandler.getAcquisitionCount()).isEqualTo(before);
+    }
+}
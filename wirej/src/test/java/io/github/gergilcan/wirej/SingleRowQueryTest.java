@@ -0,0 +1,68 @@
+package io.github.gergilcan.wirej;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import io.github.gergilcan.wirej.entities.User;
+import io.github.gergilcan.wirej.exceptions.WireJException;
+import io.github.gergilcan.wirej.repositories.UserRepository;
+
+/**
+ * Single-row @QueryFile methods - plain T, Optional&lt;T&gt; and unique = true -
+ * read at most the rows they need and release their connection either way.
+ */
+@SpringBootTest(classes = TestApplication.class, properties = {
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=1000"
+})
+class SingleRowQueryTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void createUsers() {
+        for (long id = 801L; id <= 803L; id++) {
+            if (userRepository.findById(id) == null) {
+                User user = new User();
+                user.setId(id);
+                user.setName("Single Row User " + id);
+                userRepository.create(user);
+            }
+        }
+    }
+
+    @Test
+    void singleRowMethodReturnsTheFirstOfSeveralMatches() {
+        assertThat(userRepository.findFirstByIdRange(801L, 803L).getId()).isEqualTo(801L);
+    }
+
+    @Test
+    void optionalIsEmptyWhenNothingMatches() {
+        assertThat(userRepository.findOptionalById(802L)).map(User::getName).contains("Single Row User 802");
+        assertThat(userRepository.findOptionalById(-1L)).isEmpty();
+    }
+
+    @Test
+    void optionalSingleValueIsEmptyWhenNothingMatches() {
+        assertThat(userRepository.findFirstIdByIdRange(802L, 803L)).contains(802L);
+        assertThat(userRepository.findFirstIdByIdRange(-2L, -1L)).isEmpty();
+    }
+
+    @Test
+    void uniqueMethodRejectsMoreThanOneMatch() {
+        assertThat(userRepository.findUniqueByIdRange(803L, 803L)).map(User::getId).contains(803L);
+        assertThat(userRepository.findUniqueByIdRange(-2L, -1L)).isEmpty();
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(WireJException.class, () -> userRepository.findUniqueByIdRange(801L, 803L));
+        }
+        // Each failure must have released its connection back to the pool.
+        assertThat(userRepository.findById(801L)).isNotNull();
+    }
+}
@@ -4,7 +4,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.LongStream;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,6 +15,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import io.github.gergilcan.wirej.core.PagedResult;
 import io.github.gergilcan.wirej.core.RequestFilters;
 import io.github.gergilcan.wirej.core.RequestPagination;
+import io.github.gergilcan.wirej.database.ConnectionHandler;
 import io.github.gergilcan.wirej.entities.Invoice;
 import io.github.gergilcan.wirej.entities.Product;
 import io.github.gergilcan.wirej.exceptions.WireJException;
@@ -39,6 +42,9 @@ class StandardRepositoryTest {
     @Autowired
     private PagedProductRepository pagedProductRepository;
 
+    @Autowired
+    private ConnectionHandler connectionHandler;
+
     private Product newProduct(long id, String name) {
         Product product = new Product();
         product.setId(id);
@@ -202,4 +208,30 @@ class StandardRepositoryTest {
         pagedProductRepository.delete(1701L);
         assertThat(pagedProductRepository.get(1701L)).isNull();
     }
+
+    @Test
+    void bulkLoadFallsBackToChunkedInsertsOffPostgres() {
+        List<Product> products = LongStream.range(1801L, 1806L).mapToObj(id -> newProduct(id, "Bulk " + id))
+                .toList();
+        products.forEach(product -> productRepository.delete(product.getId()));
+
+        assertThat(productRepository.bulkLoad(products)).isEqualTo(5L);
+
+        for (Product product : products) {
+            assertThat(productRepository.get(product.getId()).getName()).isEqualTo(product.getName());
+        }
+    }
+
+    @Test
+    void multiStatementOperationsShareOneConnection() {
+        pagedProductRepository.delete(1901L);
+        pagedProductRepository.create(newProduct(1901L, "Pinned"));
+        RequestFilters filters = new RequestFilters("id==1901", null, "id==ASC");
+
+        long before = connectionHandler.getAcquisitionCount();
+        pagedProductRepository.getAll(filters, new RequestPagination(0, 10));
+        pagedProductRepository.update(1901L, Map.of("name", "Pinned Again"));
+
+        assertThat(connectionHandler.getAcquisitionCount() - before).isEqualTo(2);
+    }
 }
@@ -0,0 +1,83 @@
+package io.github.gergilcan.wirej;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import io.github.gergilcan.wirej.database.ResultCursor;
+import io.github.gergilcan.wirej.entities.User;
+import io.github.gergilcan.wirej.repositories.UserRepository;
+
+/**
+ * Stream/ResultCursor @QueryFile methods hold their connection until the
+ * caller closes them. The pool is kept at two connections so a cursor that
+ * failed to release its connection would make the follow-up calls time out.
+ */
+@SpringBootTest(classes = TestApplication.class, properties = {
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=1000"
+})
+class StreamingQueryTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void createUsers() {
+        for (long id = 901L; id <= 905L; id++) {
+            if (userRepository.findById(id) == null) {
+                User user = new User();
+                user.setId(id);
+                user.setName("Streamed User " + id);
+                userRepository.create(user);
+            }
+        }
+    }
+
+    @Test
+    void streamReturnsEveryRowInOrder() {
+        try (Stream<User> users = userRepository.streamByIdRange(901L, 905L)) {
+            assertThat(users.map(User::getName)).containsExactly("Streamed User 901", "Streamed User 902",
+                    "Streamed User 903", "Streamed User 904", "Streamed User 905");
+        }
+    }
+
+    @Test
+    void singleValueStreamReturnsTheFirstColumn() {
+        try (Stream<Long> ids = userRepository.streamIdsByIdRange(902L, 904L)) {
+            assertThat(ids).containsExactly(902L, 903L, 904L);
+        }
+    }
+
+    @Test
+    void cursorReleasesItsConnectionWhenClosedEarly() {
+        for (int i = 0; i < 5; i++) {
+            try (ResultCursor<User> cursor = userRepository.cursorByIdRange(901L, 905L)) {
+                assertThat(cursor.next().getId()).isEqualTo(901L);
+            }
+        }
+
+        assertDoesNotThrow(() -> userRepository.findById(901L));
+    }
+
+    @Test
+    void cursorClosesItselfOnceExhausted() {
+        for (int i = 0; i < 5; i++) {
+            ResultCursor<User> cursor = userRepository.cursorByIdRange(901L, 902L);
+            int rows = 0;
+            while (cursor.hasNext()) {
+                cursor.next();
+                rows++;
+            }
+            assertThat(rows).isEqualTo(2);
+        }
+
+        assertDoesNotThrow(() -> userRepository.findById(901L));
+    }
+}
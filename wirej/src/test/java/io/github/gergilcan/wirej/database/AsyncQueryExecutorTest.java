@@ -0,0 +1,69 @@
+package io.github.gergilcan.wirej.database;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class AsyncQueryExecutorTest {
+
+    @Test
+    void noMoreThanTheLimitRunAtOnce() throws InterruptedException {
+        var running = new AtomicInteger();
+        var maxRunning = new AtomicInteger();
+        try (AsyncQueryExecutor executor = AsyncQueryExecutor.virtualThreads(3)) {
+            List<CompletableFuture<Integer>> futures = IntStream.range(0, 30)
+                    .mapToObj(i -> executor.supply(() -> {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        try {
+                            Thread.sleep(5);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        running.decrementAndGet();
+                        return i;
+                    }))
+                    .toList();
+
+            assertThat(futures.stream().mapToInt(CompletableFuture::join).sum()).isEqualTo(435);
+            assertThat(maxRunning.get()).isEqualTo(3);
+            assertThat(executor.getAvailablePermits()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void failedQueryReleasesItsPermit() {
+        try (AsyncQueryExecutor executor = AsyncQueryExecutor.virtualThreads(1)) {
+            CompletableFuture<Object> failed = executor.supply(() -> {
+                throw new IllegalStateException("boom");
+            });
+
+            assertThrows(RuntimeException.class, failed::join);
+            assertThat(executor.supply(() -> "next").join()).isEqualTo("next");
+            assertThat(executor.getAvailablePermits()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void suppliedExecutorIsLeftRunningOnClose() {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            new AsyncQueryExecutor(pool, 2).close();
+            assertThat(pool.isShutdown()).isFalse();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void limitMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> AsyncQueryExecutor.virtualThreads(0));
+    }
+}
@@ -0,0 +1,144 @@
+package io.github.gergilcan.wirej.database;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.gergilcan.wirej.exceptions.WireJException;
+
+class BatchLoaderTest {
+
+    private record Row(long id) {
+    }
+
+    private final List<List<Long>> batches = new CopyOnWriteArrayList<>();
+
+    // Finds every even key.
+    private Row[] loadMany(List<Long> ids) {
+        batches.add(ids);
+        return ids.stream().filter(id -> id % 2 == 0).map(Row::new).toArray(Row[]::new);
+    }
+
+    private BatchLoader<Row, Long> loader(long windowMillis, int maxBatchSize) {
+        return new BatchLoader<>(this::loadMany, Row::id, windowMillis, TimeUnit.MILLISECONDS, maxBatchSize);
+    }
+
+    @Test
+    void loadsInAScopeAreSentTogetherWhenItCloses() {
+        BatchLoader<Row, Long> loader = loader(0, 100);
+        List<CompletableFuture<Row>> rows = new ArrayList<>();
+        try (var scope = loader.scope()) {
+            for (long id : new long[] { 2, 3, 4, 2 }) {
+                rows.add(loader.load(id));
+            }
+            assertThat(batches).isEmpty();
+        }
+
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).containsExactlyInAnyOrder(2L, 3L, 4L);
+        assertThat(rows).extracting(CompletableFuture::join)
+                .containsExactly(new Row(2), null, new Row(4), new Row(2));
+    }
+
+    @Test
+    void fullScopeBatchesAreSentRightAway() {
+        BatchLoader<Row, Long> loader = loader(0, 2);
+        try (var scope = loader.scope()) {
+            for (long id = 1; id <= 5; id++) {
+                loader.load(id);
+            }
+            assertThat(batches).hasSize(2);
+        }
+
+        assertThat(batches).hasSize(3);
+        assertThat(loader.getBatchCount()).isEqualTo(3);
+    }
+
+    @Test
+    void getInsideAScopeSendsWhatWasGathered() {
+        BatchLoader<Row, Long> loader = loader(0, 100);
+        try (var scope = loader.scope()) {
+            CompletableFuture<Row> first = loader.load(2L);
+
+            assertThat(loader.get(4L)).isEqualTo(new Row(4));
+            assertThat(first).isCompletedWithValue(new Row(2));
+        }
+
+        assertThat(batches).hasSize(1);
+    }
+
+    @Test
+    void concurrentLoadsWithinTheWindowShareABatch() throws Exception {
+        BatchLoader<Row, Long> loader = loader(500, 100);
+        var start = new CountDownLatch(1);
+        List<Future<Row>> rows = new ArrayList<>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long id = 1; id <= 6; id++) {
+                long key = id;
+                rows.add(executor.submit(() -> {
+                    start.await();
+                    return loader.get(key);
+                }));
+            }
+            start.countDown();
+            for (int i = 0; i < rows.size(); i++) {
+                assertThat(rows.get(i).get()).isEqualTo(i % 2 == 1 ? new Row(i + 1) : null);
+            }
+        }
+
+        assertThat(batches).hasSize(1);
+    }
+
+    @Test
+    void aFullBatchDoesNotWaitOutItsWindow() {
+        BatchLoader<Row, Long> loader = loader(TimeUnit.MINUTES.toMillis(1), 2);
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Row> first = executor.submit(() -> loader.get(2L));
+            Future<Row> second = executor.submit(() -> loader.get(4L));
+
+            assertThat(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return List.of(first.get(), second.get());
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }, executor)).succeedsWithin(Duration.ofSeconds(10)).isEqualTo(List.of(new Row(2), new Row(4)));
+        }
+    }
+
+    @Test
+    void aFailedBatchFailsEveryLoadInIt() {
+        var loader = new BatchLoader<Row, Long>(ids -> {
+            throw new WireJException("Query failed");
+        }, Row::id, 0, TimeUnit.MILLISECONDS, 100);
+        List<CompletableFuture<Row>> rows = new ArrayList<>();
+        try (var scope = loader.scope()) {
+            rows.add(loader.load(1L));
+            rows.add(loader.load(2L));
+        }
+
+        for (CompletableFuture<Row> row : rows) {
+            assertThatThrownBy(row::join).hasCauseInstanceOf(WireJException.class);
+        }
+        assertThatThrownBy(() -> loader.get(3L)).isInstanceOf(WireJException.class).hasMessage("Query failed");
+    }
+
+    @Test
+    void getAllSkipsMissingKeys() {
+        BatchLoader<Row, Long> loader = loader(0, 2);
+
+        assertThat(loader.getAll(List.of(1L, 2L, 3L, 4L, 4L))).containsOnlyKeys(2L, 4L);
+        assertThat(batches).hasSize(2);
+    }
+}
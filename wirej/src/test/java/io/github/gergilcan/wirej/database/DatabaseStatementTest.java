@@ -2,12 +2,18 @@ package io.github.gergilcan.wirej.database;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.function.Consumer;
+
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import io.github.gergilcan.wirej.TestApplication;
+import io.github.gergilcan.wirej.entities.Invoice;
+import io.github.gergilcan.wirej.entities.InvoiceBinder;
+import io.github.gergilcan.wirej.entities.InvoiceRowMapper;
 import io.github.gergilcan.wirej.entities.User;
+import io.github.gergilcan.wirej.entities.UserRowMapper;
 import io.github.gergilcan.wirej.repositories.UserRepository;
 
 @SpringBootTest(classes = TestApplication.class)
@@ -53,4 +59,72 @@ class DatabaseStatementTest {
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo(602L);
     }
+
+    @Test
+    void generatedRowMapperMatchesJsonAliasesAndIgnoresUnknownColumns() throws Exception {
+        DatabaseStatement<Invoice> statement = DatabaseStatement.forGeneratedQuery(
+                "SELECT CAST(:number AS BIGINT) AS invoice_number, 'ignored' AS unknown_column", "test.alias",
+                null, null, Invoice.class, null, connectionHandler);
+        statement.setRowMapper(InvoiceRowMapper.INSTANCE);
+        statement.setParameter("number", 42L);
+
+        Invoice result = statement.getResult();
+
+        assertThat(result.getInvoiceNumber()).isEqualTo(42L);
+        assertThat(result.getDescription()).isNull();
+    }
+
+    @Test
+    void generatedRowMapperKeepsSqlNullForBoxedColumns() throws Exception {
+        DatabaseStatement<User> statement = DatabaseStatement.forGeneratedQuery(
+                "SELECT CAST(NULL AS BIGINT) AS id, 'No Id' AS name", "test.null", null, null, User.class, null,
+                connectionHandler);
+        statement.setRowMapper(UserRowMapper.INSTANCE);
+
+        User result = statement.getResult();
+
+        assertThat(result.getId()).isNull();
+        assertThat(result.getName()).isEqualTo("No Id");
+    }
+
+    @Test
+    void generatedRowMapperMapsEveryRowOfAList() throws Exception {
+        for (long id = 603L; id <= 604L; id++) {
+            User user = new User();
+            user.setId(id);
+            user.setName("Mapped User " + id);
+            userRepository.create(user);
+        }
+
+        DatabaseStatement<User> statement = DatabaseStatement.forGeneratedQuery(
+                "SELECT * FROM users WHERE id BETWEEN 603 AND 604 ORDER BY id", "test.list", null, null,
+                User.class, null, connectionHandler);
+        statement.setRowMapper(UserRowMapper.INSTANCE);
+
+        User[] results = statement.getResultList();
+
+        assertThat(results).extracting(User::getName).containsExactly("Mapped User 603", "Mapped User 604");
+    }
+
+    @Test
+    void generatedBinderBindsTheSameParametersAsTheReflectiveBinder() throws Exception {
+        Invoice invoice = new Invoice();
+        invoice.setInvoiceNumber(77L);
+        invoice.setDescription("Bound Invoice");
+
+        Invoice generated = echoInvoice(statement -> InvoiceBinder.INSTANCE.bind(invoice, statement));
+        Invoice reflective = echoInvoice(statement -> ParameterBinder.bindObjectFields(invoice, statement));
+
+        assertThat(generated).isEqualTo(invoice);
+        assertThat(reflective).isEqualTo(invoice);
+    }
+
+    private Invoice echoInvoice(Consumer<DatabaseStatement<Invoice>> binder) throws Exception {
+        DatabaseStatement<Invoice> statement = DatabaseStatement.forGeneratedQuery(
+                "SELECT CAST(:invoice_number AS BIGINT) AS invoice_number, "
+                        + "CAST(:description AS VARCHAR) AS description",
+                "test.echo", null, null, Invoice.class, null, connectionHandler);
+        binder.accept(statement);
+        return statement.getResult();
+    }
 }
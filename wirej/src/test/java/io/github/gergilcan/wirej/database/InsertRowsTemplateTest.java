@@ -0,0 +1,38 @@
+package io.github.gergilcan.wirej.database;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.gergilcan.wirej.exceptions.WireJException;
+
+class InsertRowsTemplateTest {
+
+    @Test
+    void valuesSqlRepeatsTheTupleOncePerRow() {
+        InsertRowsTemplate template = InsertRowsTemplate.of("INSERT INTO t (a, b) VALUES (?, lower(?)) RETURNING *");
+
+        assertThat(template.getColumnCount()).isEqualTo(2);
+        assertThat(template.valuesSql(3))
+                .isEqualTo("INSERT INTO t (a, b) VALUES (?, lower(?)), (?, lower(?)), (?, lower(?)) RETURNING *");
+    }
+
+    @Test
+    void unnestSqlSelectsEachColumnFromItsArray() {
+        InsertRowsTemplate template = InsertRowsTemplate.of("INSERT INTO t (a, b, c) VALUES (?, lower(?), '?')");
+
+        assertThat(template.getColumnCount()).isEqualTo(2);
+        assertThat(template.unnestSql(new boolean[] { false, false }))
+                .isEqualTo("INSERT INTO t (a, b, c) SELECT u.c1, lower(u.c2), '?' FROM unnest(?, ?) AS u(c1, c2)");
+        assertThat(template.unnestSql(new boolean[] { false, true }))
+                .isEqualTo("INSERT INTO t (a, b, c) SELECT u.c1, lower(NULL), '?' FROM unnest(?, ?) AS u(c1, c2)");
+    }
+
+    @Test
+    void rejectsQueriesThatAreNotSingleRowInserts() {
+        assertThrows(WireJException.class, () -> InsertRowsTemplate.of("UPDATE t SET a = ? WHERE b = ?"));
+        assertThrows(WireJException.class,
+                () -> InsertRowsTemplate.of("INSERT INTO t (a) VALUES (?) ON CONFLICT (a) DO UPDATE SET b = ?"));
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.gergilcan.wirej.database;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.gergilcan.wirej.exceptions.WireJException;
+
+class KeysetTest {
+
+    private static Keyset keyset(String... columnsAndDirections) {
+        var sortColumns = new LinkedHashMap<String, String>();
+        for (int i = 0; i < columnsAndDirections.length; i += 2) {
+            sortColumns.put(columnsAndDirections[i], columnsAndDirections[i + 1]);
+        }
+        return Keyset.of(sortColumns, "id");
+    }
+
+    @Test
+    void primaryKeyIsAppendedAsTheLastTieBreaker() {
+        assertThat(keyset("price", "DESC").orderBy()).isEqualTo("ORDER BY price DESC, id ASC");
+        assertThat(keyset("price", "DESC", "id", "DESC").orderBy()).isEqualTo("ORDER BY price DESC, id DESC");
+        assertThat(Keyset.of(Map.of(), "id").orderBy()).isEqualTo("ORDER BY id ASC");
+    }
+
+    @Test
+    void seekPredicateComparesEachColumnInItsOwnDirection() {
+        assertThat(keyset("price", "DESC").seekPredicate()).isEqualTo(
+                "((price < :keyset_value_0) OR (price = :keyset_value_0 AND id > :keyset_value_1))");
+    }
+
+    @Test
+    void tokenRoundTripsTheKeyValues() {
+        Keyset keyset = keyset("name", "ASC", "price", "DESC", "created", "ASC", "ref", "ASC");
+        Object[] values = { "Ünïcødé, name", new BigDecimal("12.50"), Timestamp.valueOf("2024-02-29 10:15:30.5"),
+                UUID.randomUUID(), 42L };
+
+        assertThat(keyset.decode(keyset.encode(values))).containsExactly(values);
+    }
+
+    @Test
+    void tamperedOrForeignTokensAreRejected() {
+        String token = keyset("price", "DESC").encode(new Object[] { 2.0, 7L });
+
+        assertThrows(WireJException.class, () -> keyset("price", "ASC").decode(token));
+        assertThrows(WireJException.class, () -> keyset("price", "DESC").decode(token + "AA"));
+        assertThrows(WireJException.class, () -> keyset("price", "DESC").decode("%%%"));
+    }
+
+    @Test
+    void unsupportedKeyTypesFailWhenEncoding() {
+        assertThrows(WireJException.class, () -> keyset().encode(new Object[] { new Object() }));
+    }
+}
@@ -0,0 +1,80 @@
+package io.github.gergilcan.wirej.database;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class NearCacheTest {
+
+    private record Row(long id, String value) {
+    }
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private Row load(long id, String value) {
+        loads.incrementAndGet();
+        return new Row(id, value);
+    }
+
+    @Test
+    void eachEntityTypeHasOneCache() {
+        NearCache<Row, Long> first = NearCache.forEntity(Row.class, "near_rows", 1, TimeUnit.MINUTES, 10);
+        NearCache<Row, Long> second = NearCache.forEntity(Row.class, "near_rows", 1, TimeUnit.MINUTES, 10);
+
+        assertThat(second).isSameAs(first);
+        assertThat(NearCache.of(Row.class)).isSameAs(first);
+    }
+
+    @Test
+    void concurrentMissesForOneKeyLoadItOnce() throws InterruptedException {
+        NearCache<Row, Long> cache = NearCache.forEntity(Row.class, "near_rows", 1, TimeUnit.MINUTES, 10);
+        var start = new CountDownLatch(1);
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 8; i++) {
+                executor.submit(() -> {
+                    start.await();
+                    return cache.get(1001L, () -> {
+                        try {
+                            Thread.sleep(20);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return load(1001L, "loaded");
+                    });
+                });
+            }
+            start.countDown();
+        }
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void putReplacesAndEvictRemoves() {
+        NearCache<Row, Long> cache = NearCache.forEntity(Row.class, "near_rows", 1, TimeUnit.MINUTES, 10);
+        cache.get(1002L, () -> load(1002L, "old"));
+
+        cache.put(1002L, new Row(1002L, "new"));
+
+        assertThat(cache.get(1002L, () -> load(1002L, "loaded")).value()).isEqualTo("new");
+
+        cache.evict(1002L);
+
+        assertThat(cache.get(1002L, () -> load(1002L, "loaded")).value()).isEqualTo("loaded");
+    }
+
+    @Test
+    void tableInvalidationDropsEveryEntry() {
+        NearCache<Row, Long> cache = NearCache.forEntity(Row.class, "near_rows", 1, TimeUnit.MINUTES, 10);
+        cache.get(1003L, () -> load(1003L, "old"));
+
+        NearCache.invalidate("public.near_rows");
+
+        assertThat(cache.get(1003L, () -> load(1003L, "new")).value()).isEqualTo("new");
+    }
+}
@@ -0,0 +1,34 @@
+package io.github.gergilcan.wirej.database;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class PostgresCopyTest {
+
+    private static String encode(Object... values) {
+        StringBuilder buffer = new StringBuilder();
+        PostgresCopy.appendRow(buffer, values);
+        return buffer.toString();
+    }
+
+    @Test
+    void rowsAreTabSeparatedAndNewlineTerminated() {
+        assertThat(encode(1L, "name", 2.5)).isEqualTo("1\tname\t2.5\n");
+    }
+
+    @Test
+    void nullsAndBooleansUseTheTextFormatSpellings() {
+        assertThat(encode(null, true, false)).isEqualTo("\\N\tt\tf\n");
+    }
+
+    @Test
+    void delimitersAndBackslashesInValuesAreEscaped() {
+        assertThat(encode("a\tb\nc\rd\\e")).isEqualTo("a\\tb\\nc\\rd\\\\e\n");
+    }
+
+    @Test
+    void byteArraysUseEscapedByteaHex() {
+        assertThat(encode((Object) new byte[] { 1, (byte) 0xAB })).isEqualTo("\\\\x01ab\n");
+    }
+}
@@ -0,0 +1,84 @@
+package io.github.gergilcan.wirej.database;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import io.github.gergilcan.wirej.TestApplication;
+
+/**
+ * Query timeouts and {@code QueryCancellation} stop statements that are
+ * already running on the database.
+ */
+@SpringBootTest(classes = TestApplication.class)
+class QueryCancellationTest {
+
+    // Far more rows than H2 can count in the time these tests allow.
+    private static final String RUNAWAY_QUERY = "SELECT COUNT(*) FROM SYSTEM_RANGE(1, 1000000) a, "
+            + "SYSTEM_RANGE(1, 1000000) b WHERE a.X + b.X < 0";
+
+    @Autowired
+    private ConnectionHandler connectionHandler;
+
+    private DatabaseStatement<Long> runaway() {
+        return DatabaseStatement.forGeneratedQuery(RUNAWAY_QUERY, "test.runaway", null, null, Long.class, null,
+                connectionHandler);
+    }
+
+    @Test
+    void queriesRunningPastTheirTimeoutAreCancelled() {
+        DatabaseStatement<Long> statement = runaway();
+        statement.setQueryTimeout(500);
+
+        long start = System.nanoTime();
+        assertThatThrownBy(statement::getSingleValue).isInstanceOf(SQLException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(30));
+    }
+
+    @Test
+    void cancellingStopsTheQueriesRunningUnderIt() throws Exception {
+        var cancellation = new QueryCancellation();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletableFuture<Long> query = CompletableFuture.supplyAsync(() -> {
+                try (var scope = cancellation.bind()) {
+                    return runaway().getSingleValue();
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }, executor);
+            Thread.sleep(300);
+
+            cancellation.cancel();
+
+            assertThat(query).failsWithin(Duration.ofSeconds(30));
+        }
+    }
+
+    @Test
+    void queriesStartedAfterCancellingFailAtOnce() {
+        var cancellation = new QueryCancellation();
+        cancellation.cancel();
+
+        try (var scope = cancellation.bind()) {
+            assertThatThrownBy(runaway()::getSingleValue).isInstanceOf(SQLException.class)
+                    .extracting(e -> ((SQLException) e).getSQLState()).isEqualTo(QueryCancellation.CANCELLED_SQL_STATE);
+        }
+        assertThat(QueryCancellation.current()).isNull();
+    }
+
+    @Test
+    void asyncQueriesRunUnderTheCallersCancellation() {
+        var cancellation = new QueryCancellation();
+        try (var executor = AsyncQueryExecutor.virtualThreads(1); var scope = cancellation.bind()) {
+            assertThat(executor.supply(QueryCancellation::current).join()).isSameAs(cancellation);
+        }
+    }
+}
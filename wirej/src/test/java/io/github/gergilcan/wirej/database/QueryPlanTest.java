@@ -0,0 +1,53 @@
+package io.github.gergilcan.wirej.database;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class QueryPlanTest {
+
+    @Test
+    void compileReplacesNamedParametersWithPositionalMarkers() {
+        QueryPlan plan = QueryPlan.compile("SELECT * FROM users WHERE id = :id AND name = :user_name");
+
+        assertThat(plan.getSql()).isEqualTo("SELECT * FROM users WHERE id = ? AND name = ?");
+        assertThat(plan.getParameterCount()).isEqualTo(2);
+        assertThat(plan.getParameterName(0)).isEqualTo("id");
+        assertThat(plan.getParameterName(1)).isEqualTo("user_name");
+    }
+
+    @Test
+    void compileKeepsOnePositionPerOccurrenceOfARepeatedName() {
+        QueryPlan plan = QueryPlan.compile("SELECT * FROM t WHERE a = :v OR b = :v");
+
+        assertThat(plan.getSql()).isEqualTo("SELECT * FROM t WHERE a = ? OR b = ?");
+        assertThat(plan.getParameterCount()).isEqualTo(2);
+        assertThat(plan.getParameterName(0)).isEqualTo("v");
+        assertThat(plan.getParameterName(1)).isEqualTo("v");
+    }
+
+    @Test
+    void compileLeavesPostgresCastsAlone() {
+        QueryPlan plan = QueryPlan.compile("SELECT :id::bigint, created::date FROM t");
+
+        assertThat(plan.getSql()).isEqualTo("SELECT ?::bigint, created::date FROM t");
+        assertThat(plan.getParameterCount()).isEqualTo(1);
+        assertThat(plan.getParameterName(0)).isEqualTo("id");
+    }
+
+    @Test
+    void cachedReturnsTheSamePlanForTheSameText() {
+        String sql = "SELECT * FROM query_plan_test WHERE id = :id";
+
+        assertThat(QueryPlan.cached(sql)).isSameAs(QueryPlan.cached(sql));
+    }
+
+    @Test
+    void constructorCopiesTheParameterNames() {
+        String[] names = { "id" };
+        QueryPlan plan = new QueryPlan("SELECT ?", names);
+        names[0] = "changed";
+
+        assertThat(plan.getParameterName(0)).isEqualTo("id");
+    }
+}
@@ -0,0 +1,116 @@
+package io.github.gergilcan.wirej.database;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class ResultCacheTest {
+
+    private final AtomicInteger queries = new AtomicInteger();
+
+    private String query(String result) {
+        queries.incrementAndGet();
+        return result;
+    }
+
+    @Test
+    void resultsAreKeyedByArgumentValues() {
+        var cache = new ResultCache(1, TimeUnit.MINUTES, 10, "cache_keys");
+
+        cache.get(new Object[] { 1L, new long[] { 2, 3 } }, () -> query("a"));
+        String cached = cache.get(new Object[] { 1L, new long[] { 2, 3 } }, () -> query("b"));
+        String other = cache.get(new Object[] { 2L, new long[] { 2, 3 } }, () -> query("c"));
+
+        assertThat(cached).isEqualTo("a");
+        assertThat(other).isEqualTo("c");
+        assertThat(queries).hasValue(2);
+    }
+
+    @Test
+    void nullResultsAreCached() {
+        var cache = new ResultCache(1, TimeUnit.MINUTES, 10, "cache_nulls");
+
+        cache.get(new Object[] { 1L }, () -> query(null));
+
+        assertThat(cache.<String>get(new Object[] { 1L }, () -> query("found"))).isNull();
+        assertThat(queries).hasValue(1);
+    }
+
+    @Test
+    void expiredEntriesAreQueriedAgain() {
+        var cache = new ResultCache(0, TimeUnit.SECONDS, 10, "cache_ttl");
+
+        cache.get(new Object[0], () -> query("old"));
+
+        assertThat(cache.get(new Object[0], () -> query("new"))).isEqualTo("new");
+    }
+
+    @Test
+    void leastRecentlyUsedEntriesAreEvicted() {
+        var cache = new ResultCache(1, TimeUnit.MINUTES, 2, "cache_eviction");
+
+        for (long key = 0; key < 5; key++) {
+            long argument = key;
+            cache.get(new Object[] { argument }, () -> query("row " + argument));
+        }
+
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void writesInvalidateOnlyTheirTables() {
+        var products = new ResultCache(1, TimeUnit.MINUTES, 10, "cache_products");
+        var invoices = new ResultCache(1, TimeUnit.MINUTES, 10, "public.\"CACHE_INVOICES\"");
+        products.get(new Object[0], () -> query("products"));
+        invoices.get(new Object[0], () -> query("invoices"));
+
+        ResultCache.invalidate("cache_invoices");
+
+        assertThat(products.get(new Object[0], () -> query("new products"))).isEqualTo("products");
+        assertThat(invoices.get(new Object[0], () -> query("new invoices"))).isEqualTo("new invoices");
+
+        ResultCache.invalidateAll();
+
+        assertThat(products.get(new Object[0], () -> query("new products"))).isEqualTo("new products");
+    }
+
+    @Test
+    void resultReadWhileItsTableWasWrittenIsNotKept() {
+        var cache = new ResultCache(1, TimeUnit.MINUTES, 10, "cache_race");
+
+        cache.get(new Object[0], () -> {
+            ResultCache.invalidate("cache_race");
+            return query("read before the write committed");
+        });
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void transactionsBypassTheCacheAndInvalidateAgainWhenTheyEnd() {
+        var cache = new ResultCache(1, TimeUnit.MINUTES, 10, "cache_transactions");
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            cache.get(new Object[0], () -> query("uncommitted"));
+            ResultCache.invalidate("cache_transactions");
+            assertThat(cache.size()).isZero();
+
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+            cache.get(new Object[0], () -> query("committed before the end"));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(
+                            TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        assertThat(cache.get(new Object[0], () -> query("after"))).isEqualTo("after");
+    }
+}
@@ -0,0 +1,122 @@
+package io.github.gergilcan.wirej.database;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.gergilcan.wirej.exceptions.WireJException;
+
+class SingleFlightTest {
+
+    private final SingleFlight flight = new SingleFlight();
+    private final AtomicInteger executions = new AtomicInteger();
+
+    // Holds the leader's query open until every caller has arrived.
+    private Object slowQuery(CountDownLatch release, Object result) {
+        executions.incrementAndGet();
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return result;
+    }
+
+    @Test
+    void concurrentIdenticalCallsShareOneExecution() throws Exception {
+        var release = new CountDownLatch(1);
+        var result = new Object();
+        List<Future<Object>> calls = new ArrayList<>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 8; i++) {
+                calls.add(executor.submit(() -> flight.run(new Object[] { 1L, "a" }, () -> slowQuery(release, result))));
+            }
+            while (executions.get() + flight.getCoalescedCount() < 8) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+            for (Future<Object> call : calls) {
+                assertThat(call.get()).isSameAs(result);
+            }
+        }
+
+        assertThat(executions).hasValue(1);
+        assertThat(flight.getCoalescedCount()).isEqualTo(7);
+    }
+
+    @Test
+    void callsWithDifferentArgumentsRunOnTheirOwn() throws Exception {
+        var release = new CountDownLatch(1);
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var first = executor.submit(() -> flight.run(new Object[] { 1L }, () -> slowQuery(release, "one")));
+            var second = executor.submit(() -> flight.run(new Object[] { 2L }, () -> slowQuery(release, "two")));
+            while (executions.get() < 2) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+            assertThat(first.get()).isEqualTo("one");
+            assertThat(second.get()).isEqualTo("two");
+        }
+
+        assertThat(flight.getCoalescedCount()).isZero();
+    }
+
+    @Test
+    void arrayArgumentsAreComparedByValue() throws Exception {
+        var release = new CountDownLatch(1);
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var first = executor.submit(() -> flight.run(new Object[] { new long[] { 1, 2 } },
+                    () -> slowQuery(release, "rows")));
+            var second = executor.submit(() -> flight.run(new Object[] { new long[] { 1, 2 } },
+                    () -> slowQuery(release, "rows")));
+            while (executions.get() + flight.getCoalescedCount() < 2) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+            first.get();
+            second.get();
+        }
+
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void waitingCallsGetTheExecutionsException() throws Exception {
+        var release = new CountDownLatch(1);
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Object>> calls = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                calls.add(executor.submit(() -> flight.run(new Object[] { 3L }, () -> {
+                    slowQuery(release, null);
+                    throw new WireJException("Query failed");
+                })));
+            }
+            while (executions.get() + flight.getCoalescedCount() < 4) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+            for (Future<Object> call : calls) {
+                assertThatThrownBy(call::get).isInstanceOf(ExecutionException.class)
+                        .cause().isInstanceOf(WireJException.class).hasMessage("Query failed");
+            }
+        }
+
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void nothingIsKeptOnceTheExecutionFinishes() {
+        assertThat(flight.run(new Object[] { 4L }, () -> executions.incrementAndGet())).isEqualTo(1);
+        assertThat(flight.run(new Object[] { 4L }, () -> executions.incrementAndGet())).isEqualTo(2);
+        assertThat(flight.getCoalescedCount()).isZero();
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.gergilcan.wirej.database;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import io.github.gergilcan.wirej.TestApplication;
+import io.github.gergilcan.wirej.entities.Product;
+
+/**
+ * Statements at or over the threshold are reported with their SQL and bound
+ * types, and explained on their connection when sampled.
+ */
+@SpringBootTest(classes = TestApplication.class)
+class SlowQueryLogTest {
+
+    @Autowired
+    private ConnectionHandler connectionHandler;
+
+    private final List<SlowQueryLog.SlowQuery> reported = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void stopLogging() {
+        connectionHandler.setSlowQueryLog(null);
+    }
+
+    private Product[] selectProduct() throws SQLException {
+        DatabaseStatement<Product> statement = DatabaseStatement.forGeneratedQuery(
+                "SELECT * FROM products WHERE id = :id AND name <> :name", "Product.slow", null, null,
+                Product.class, null, connectionHandler);
+        statement.setParameter("id", 7991L);
+        statement.setParameter("name", null);
+        return statement.getResultList();
+    }
+
+    @Test
+    void slowQueriesAreReportedWithTheirPlan() throws SQLException {
+        connectionHandler.setSlowQueryLog(new SlowQueryLog(Duration.ZERO, 1, reported::add));
+
+        selectProduct();
+
+        assertThat(reported).singleElement().satisfies(query -> {
+            assertThat(query.queryName()).isEqualTo("Product.slow");
+            assertThat(query.sql()).isEqualTo("SELECT * FROM products WHERE id = ? AND name <> ?");
+            assertThat(query.parameterTypes()).containsExactly("id: Long", "name: null");
+            assertThat(query.failed()).isFalse();
+            assertThat(query.plan()).containsIgnoringCase("products");
+        });
+    }
+
+    @Test
+    void queriesUnderTheThresholdAreNotReported() throws SQLException {
+        var slowQueryLog = new SlowQueryLog(Duration.ofHours(1), 1, reported::add);
+        connectionHandler.setSlowQueryLog(slowQueryLog);
+
+        selectProduct();
+
+        assertThat(reported).isEmpty();
+        assertThat(slowQueryLog.getSlowQueryCount()).isZero();
+    }
+
+    @Test
+    void unsampledQueriesAreNotExplained() throws SQLException {
+        connectionHandler.setSlowQueryLog(new SlowQueryLog(Duration.ZERO, 0, reported::add));
+
+        selectProduct();
+
+        assertThat(reported).singleElement().extracting(SlowQueryLog.SlowQuery::plan).isNull();
+    }
+
+    @Test
+    void failedQueriesAreReportedUnexplained() {
+        connectionHandler.setSlowQueryLog(new SlowQueryLog(Duration.ZERO, 1, reported::add));
+        DatabaseStatement<Product> statement = DatabaseStatement.forGeneratedQuery(
+                "SELECT * FROM products WHERE id = CAST(:id AS INT)", "Product.failing", null, null, Product.class,
+                null, connectionHandler);
+        statement.setParameter("id", "not a number");
+
+        assertThatThrownBy(statement::getResultList).isInstanceOf(SQLException.class);
+
+        assertThat(reported).singleElement().satisfies(query -> {
+            assertThat(query.failed()).isTrue();
+            assertThat(query.plan()).isNull();
+        });
+    }
+
+    @Test
+    void sampleRatesOutsideZeroToOneAreRejected() {
+        assertThatThrownBy(() -> new SlowQueryLog(Duration.ZERO, 1.5)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
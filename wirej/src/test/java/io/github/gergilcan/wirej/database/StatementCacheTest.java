@@ -0,0 +1,125 @@
+package io.github.gergilcan.wirej.database;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.SQLException;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+class StatementCacheTest {
+
+    private static final String URL = "jdbc:h2:mem:statement-cache-test;DB_CLOSE_DELAY=-1";
+
+    private SingleConnectionDataSource singleConnection;
+
+    @BeforeEach
+    void setUp() {
+        singleConnection = new SingleConnectionDataSource(URL, true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        singleConnection.destroy();
+    }
+
+    private Object run(ConnectionHandler connectionHandler, String sql) throws SQLException {
+        DatabaseStatement<Object> statement = DatabaseStatement.forGeneratedQuery(sql, "test", null, null,
+                Object.class, null, connectionHandler);
+        statement.setParameter("value", 7);
+        return statement.getSingleValue();
+    }
+
+    @Test
+    void repeatedQueryOnTheSameConnectionReusesItsStatement() throws SQLException {
+        StatementCache cache = new StatementCache(8);
+        ConnectionHandler connectionHandler = new ConnectionHandler(singleConnection, cache);
+
+        assertThat(run(connectionHandler, "SELECT CAST(:value AS INT)")).isEqualTo(7);
+        assertThat(run(connectionHandler, "SELECT CAST(:value AS INT)")).isEqualTo(7);
+
+        assertThat(cache.getMisses()).isEqualTo(1);
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void leastRecentlyUsedStatementIsEvictedOverTheLimit() throws SQLException {
+        StatementCache cache = new StatementCache(1);
+        ConnectionHandler connectionHandler = new ConnectionHandler(singleConnection, cache);
+
+        run(connectionHandler, "SELECT CAST(:value AS INT)");
+        run(connectionHandler, "SELECT CAST(:value AS INT) + 1");
+        run(connectionHandler, "SELECT CAST(:value AS INT)");
+
+        assertThat(cache.getMisses()).isEqualTo(3);
+        assertThat(cache.getEvictions()).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void failedStatementIsDroppedInsteadOfReused() throws SQLException {
+        StatementCache cache = new StatementCache(8);
+        ConnectionHandler connectionHandler = new ConnectionHandler(singleConnection, cache);
+
+        assertThrows(SQLException.class, () -> run(connectionHandler, "SELECT CAST(:value AS INT) / 0"));
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void statementsAreNotCachedOnConnectionsWithoutAutoCommit() throws SQLException {
+        // The pool only sees work left uncommitted through statements made on
+        // its proxy, so these must not be the cache's own.
+        singleConnection.setAutoCommit(false);
+        StatementCache cache = new StatementCache(8);
+        ConnectionHandler connectionHandler = new ConnectionHandler(singleConnection, cache);
+
+        assertThat(run(connectionHandler, "SELECT CAST(:value AS INT)")).isEqualTo(7);
+        assertThat(run(connectionHandler, "SELECT CAST(:value AS INT)")).isEqualTo(7);
+
+        assertThat(cache.getHits()).isZero();
+        assertThat(cache.getMisses()).isZero();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void statementsAreScopedToTheirPhysicalConnection() throws SQLException {
+        var dataSource = new JdbcDataSource();
+        dataSource.setURL(URL);
+        StatementCache cache = new StatementCache(8);
+        ConnectionHandler connectionHandler = new ConnectionHandler(dataSource, cache);
+
+        // Without a pool every call gets a fresh physical connection, closed
+        // on release - nothing can be shared, and the closed connection's
+        // entry is swept once the next one registers.
+        run(connectionHandler, "SELECT CAST(:value AS INT)");
+        run(connectionHandler, "SELECT CAST(:value AS INT)");
+
+        assertThat(cache.getHits()).isZero();
+        assertThat(cache.getMisses()).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void rowLimitOfSingleRowQueryDoesNotStickToTheCachedStatement() throws SQLException {
+        StatementCache cache = new StatementCache(8);
+        ConnectionHandler connectionHandler = new ConnectionHandler(singleConnection, cache);
+        String sql = "SELECT X FROM SYSTEM_RANGE(1, :value)";
+
+        DatabaseStatement<Long> first = DatabaseStatement.forGeneratedQuery(sql, "test", null, null, Long.class,
+                null, connectionHandler);
+        first.setParameter("value", 3);
+        assertThat(first.getSingleValue()).isEqualTo(1L);
+
+        DatabaseStatement<Long> all = DatabaseStatement.forGeneratedQuery(sql, "test", null, null, Long.class,
+                null, connectionHandler);
+        all.setParameter("value", 3);
+        assertThat(all.getSingleValueList()).containsExactly(1L, 2L, 3L);
+        assertThat(cache.getHits()).isEqualTo(1);
+    }
+}
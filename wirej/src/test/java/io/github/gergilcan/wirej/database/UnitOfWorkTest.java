@@ -0,0 +1,130 @@
+package io.github.gergilcan.wirej.database;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class UnitOfWorkTest {
+
+    private ConnectionHandler connectionHandler;
+    private TransactionTemplate transaction;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        var dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:unit-of-work-test;DB_CLOSE_DELAY=-1");
+        connectionHandler = new ConnectionHandler(dataSource);
+        transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        try (var connection = dataSource.getConnection(); var ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE IF NOT EXISTS unit_of_work_rows (id INT)");
+            ddl.execute("DELETE FROM unit_of_work_rows");
+        }
+    }
+
+    private void insertRow(int id) {
+        try {
+            DatabaseStatement<Void> insert = DatabaseStatement.forGeneratedQuery(
+                    "INSERT INTO unit_of_work_rows VALUES (:id)", "test", null, null, void.class, null,
+                    connectionHandler);
+            insert.setParameter("id", id);
+            insert.execute();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Object countRows() throws SQLException {
+        return DatabaseStatement.forGeneratedQuery("SELECT COUNT(*) FROM unit_of_work_rows", "test", null, null,
+                Long.class, null, connectionHandler).getSingleValue();
+    }
+
+    private Object selectOne() throws SQLException {
+        return DatabaseStatement.forGeneratedQuery("SELECT 1", "test", null, null, Integer.class, null,
+                connectionHandler).getSingleValue();
+    }
+
+    @Test
+    void statementsOutsideAUnitOfWorkEachBorrowAConnection() throws SQLException {
+        selectOne();
+        selectOne();
+
+        assertThat(connectionHandler.getAcquisitionCount()).isEqualTo(2);
+    }
+
+    @Test
+    void statementsInsideAUnitOfWorkShareOneConnection() throws SQLException {
+        Connection pinned;
+        try (UnitOfWork unitOfWork = connectionHandler.openUnitOfWork()) {
+            selectOne();
+            selectOne();
+            pinned = connectionHandler.getConnection();
+            connectionHandler.releaseConnection(pinned);
+
+            assertThat(pinned.isClosed()).isFalse();
+            assertThat(connectionHandler.getAcquisitionCount()).isEqualTo(1);
+        }
+
+        assertThat(pinned.isClosed()).isTrue();
+        assertThat(connectionHandler.getUnitOfWorkCount()).isEqualTo(1);
+        assertThat(connectionHandler.getUnitOfWorkHoldTimeNanos()).isPositive();
+    }
+
+    @Test
+    void nestedUnitOfWorkJoinsTheOuterOne() throws SQLException {
+        try (UnitOfWork outer = connectionHandler.openUnitOfWork()) {
+            try (UnitOfWork inner = connectionHandler.openUnitOfWork()) {
+                assertThat(inner).isSameAs(outer);
+                selectOne();
+            }
+            assertThat(outer.isHoldingConnection()).isTrue();
+            selectOne();
+        }
+
+        assertThat(connectionHandler.getAcquisitionCount()).isEqualTo(1);
+        selectOne();
+        assertThat(connectionHandler.getAcquisitionCount()).isEqualTo(2);
+    }
+
+    @Test
+    void aTransactionStartedInsideAUnitOfWorkStillOwnsItsStatements() throws SQLException {
+        try (UnitOfWork unitOfWork = connectionHandler.openUnitOfWork()) {
+            selectOne();
+
+            transaction.executeWithoutResult(status -> {
+                insertRow(1);
+                status.setRollbackOnly();
+            });
+
+            assertThat(countRows()).isEqualTo(0L);
+            assertThat(unitOfWork.isHoldingConnection()).isTrue();
+        }
+    }
+
+    @Test
+    void aUnitOfWorkOutlivingATransactionDoesNotKeepItsConnection() throws SQLException {
+        try (UnitOfWork unitOfWork = connectionHandler.openUnitOfWork()) {
+            transaction.executeWithoutResult(status -> insertRow(1));
+            assertThat(unitOfWork.isHoldingConnection()).isFalse();
+
+            insertRow(2);
+            assertThat(countRows()).isEqualTo(2L);
+        }
+    }
+
+    @Test
+    void unitOfWorkWithoutStatementsNeverBorrowsAConnection() {
+        try (UnitOfWork unitOfWork = connectionHandler.openUnitOfWork()) {
+            assertThat(unitOfWork.isHoldingConnection()).isFalse();
+        }
+
+        assertThat(connectionHandler.getAcquisitionCount()).isZero();
+        assertThat(connectionHandler.getUnitOfWorkCount()).isZero();
+    }
+}
@@ -2,6 +2,7 @@ package io.github.gergilcan.wirej.entities;
 
 import com.fasterxml.jackson.annotation.JsonAlias;
 
+import io.github.gergilcan.wirej.annotations.EntityCache;
 import io.github.gergilcan.wirej.annotations.WireJId;
 import io.github.gergilcan.wirej.annotations.WireJTable;
 import jakarta.persistence.Entity;
@@ -12,10 +13,12 @@ import lombok.Data;
 // Exercises the explicit WireJ annotations and a primary key that is neither
 // named 'id' nor mapped to a same-named column: @WireJTable/@WireJId take
 // precedence over the JPA annotations, and @JsonAlias maps the field to its
-// snake_case column for both generated SQL and result-set mapping.
+// snake_case column for both generated SQL and result-set mapping. Cached by
+// primary key, so the CRUD tests also cover the entity cache's write paths.
 @Entity
 @Table(name = "invoices")
 @WireJTable("invoices")
+@EntityCache(maxEntries = 100)
 @Data
 public class Invoice {
     @Id
@@ -0,0 +1,18 @@
+package io.github.gergilcan.wirej.repositories;
+
+import org.springframework.stereotype.Repository;
+
+import io.github.gergilcan.wirej.annotations.Cached;
+import io.github.gergilcan.wirej.annotations.QueryFile;
+import io.github.gergilcan.wirej.entities.Product;
+import io.github.gergilcan.wirej.repository.StandardRepository;
+
+@Repository
+@Cached(maxEntries = 100)
+public interface CachedProductRepository extends StandardRepository<Product, Long> {
+    @QueryFile("/queries/Product/countProducts.sql")
+    Long countProducts();
+
+    @QueryFile("/queries/Product/rename.sql")
+    void rename(Long id, String name);
+}
@@ -0,0 +1,26 @@
+package io.github.gergilcan.wirej.repositories;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Repository;
+
+import io.github.gergilcan.wirej.annotations.Coalesced;
+import io.github.gergilcan.wirej.annotations.QueryFile;
+import io.github.gergilcan.wirej.annotations.QueryTimeout;
+import io.github.gergilcan.wirej.entities.Product;
+import io.github.gergilcan.wirej.repository.StandardRepository;
+
+@Repository
+@Coalesced
+public interface CoalescedProductRepository extends StandardRepository<Product, Long> {
+    @QueryTimeout(value = 1500, unit = TimeUnit.MILLISECONDS)
+    @QueryFile("/queries/Product/countProducts.sql")
+    Long countProducts();
+
+    @Coalesced(false)
+    @QueryFile("/queries/Product/countProducts.sql")
+    Long countProductsUncoalesced();
+
+    @QueryFile("/queries/Product/rename.sql")
+    void rename(Long id, String name);
+}
@@ -3,8 +3,9 @@ package io.github.gergilcan.wirej.repositories;
 import org.springframework.stereotype.Repository;
 
 import io.github.gergilcan.wirej.entities.Invoice;
-import io.github.gergilcan.wirej.repository.StandardRepository;
+import io.github.gergilcan.wirej.repository.AsyncStandardRepository;
 
+// Also exercises the CompletableFuture counterparts of the CRUD operations.
 @Repository
-public interface InvoiceRepository extends StandardRepository<Invoice, Long> {
+public interface InvoiceRepository extends AsyncStandardRepository<Invoice, Long> {
 }
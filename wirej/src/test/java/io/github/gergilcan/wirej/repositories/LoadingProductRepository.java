@@ -0,0 +1,14 @@
+package io.github.gergilcan.wirej.repositories;
+
+import org.springframework.stereotype.Repository;
+
+import io.github.gergilcan.wirej.annotations.LoaderOptions;
+import io.github.gergilcan.wirej.annotations.QueryTimeout;
+import io.github.gergilcan.wirej.entities.Product;
+import io.github.gergilcan.wirej.repository.BatchLoadingRepository;
+
+@Repository
+@LoaderOptions(window = 20, maxBatchSize = 3)
+@QueryTimeout(30)
+public interface LoadingProductRepository extends BatchLoadingRepository<Product, Long> {
+}
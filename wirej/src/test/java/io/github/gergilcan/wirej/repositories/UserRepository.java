@@ -1,13 +1,20 @@
 package io.github.gergilcan.wirej.repositories;
 
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
 import org.springframework.stereotype.Repository;
 
 import com.fasterxml.jackson.annotation.JsonAlias;
 
+import io.github.gergilcan.wirej.annotations.BatchOptions;
+import io.github.gergilcan.wirej.annotations.BatchStrategy;
 import io.github.gergilcan.wirej.annotations.QueryFile;
 import io.github.gergilcan.wirej.annotations.QueryOperation;
 import io.github.gergilcan.wirej.core.RequestFilters;
 import io.github.gergilcan.wirej.core.RequestPagination;
+import io.github.gergilcan.wirej.database.ResultCursor;
 import io.github.gergilcan.wirej.entities.User;
 
 @Repository
@@ -41,4 +48,46 @@ public interface UserRepository {
 
     @QueryFile("/queries/User/findByIdWithMinAge.sql")
     User findByIdWithMinAge(Long id, int minAge, RequestPagination page);
+
+    @QueryFile(value = "/queries/User/findByIdRange.sql", fetchSize = 2)
+    Stream<User> streamByIdRange(Long fromId, Long toId);
+
+    @QueryFile("/queries/User/findByIdRange.sql")
+    ResultCursor<User> cursorByIdRange(Long fromId, Long toId);
+
+    @QueryFile("/queries/User/findIdsByIdRange.sql")
+    Stream<Long> streamIdsByIdRange(Long fromId, Long toId);
+
+    @QueryFile("/queries/User/findById.sql")
+    Optional<User> findOptionalById(Long id);
+
+    @QueryFile("/queries/User/findByIdRange.sql")
+    User findFirstByIdRange(Long fromId, Long toId);
+
+    @QueryFile(value = "/queries/User/findByIdRange.sql", unique = true)
+    Optional<User> findUniqueByIdRange(Long fromId, Long toId);
+
+    @QueryFile("/queries/User/findIdsByIdRange.sql")
+    Optional<Long> findFirstIdByIdRange(Long fromId, Long toId);
+
+    @QueryFile(value = "/queries/User/create.sql", isBatch = true)
+    @BatchOptions(chunkSize = 2)
+    void createAllInChunks(User[] users);
+
+    @QueryFile(value = "/queries/User/create.sql", isBatch = true)
+    @BatchOptions(strategy = BatchStrategy.MULTI_ROW_VALUES, chunkSize = 2)
+    void createAllMultiRow(User[] users);
+
+    @QueryFile(value = "/queries/User/create.sql", isBatch = true)
+    @BatchOptions(strategy = BatchStrategy.UNNEST, chunkSize = 2)
+    void createAllUnnest(User[] users);
+
+    @QueryFile("/queries/User/findById.sql")
+    CompletableFuture<User> findByIdAsync(Long id);
+
+    @QueryFile("/queries/User/findById.sql")
+    CompletableFuture<Optional<User>> findOptionalByIdAsync(Long id);
+
+    @QueryFile("/queries/User/create.sql")
+    CompletableFuture<Void> createAsync(User newUser);
 }
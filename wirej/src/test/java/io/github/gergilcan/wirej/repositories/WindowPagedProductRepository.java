@@ -0,0 +1,13 @@
+package io.github.gergilcan.wirej.repositories;
+
+import org.springframework.stereotype.Repository;
+
+import io.github.gergilcan.wirej.annotations.PageCountQuery;
+import io.github.gergilcan.wirej.annotations.PageOptions;
+import io.github.gergilcan.wirej.entities.Product;
+import io.github.gergilcan.wirej.repository.PagedRepository;
+
+@Repository
+@PageOptions(countQuery = PageCountQuery.WINDOW)
+public interface WindowPagedProductRepository extends PagedRepository<Product, Long> {
+}
@@ -7,6 +7,7 @@ import java.util.Map;
 import org.springframework.stereotype.Service;
 
 import io.github.gergilcan.wirej.core.BatchPatchItem;
+import io.github.gergilcan.wirej.core.KeysetPagination;
 import io.github.gergilcan.wirej.core.PagedResult;
 import io.github.gergilcan.wirej.core.RequestFilters;
 import io.github.gergilcan.wirej.core.RequestPagination;
@@ -27,6 +28,10 @@ public class PagedProductService {
         return repository.getAll(filters, pagination);
     }
 
+    public PagedResult<Product> getAll(RequestFilters filters, KeysetPagination pagination) {
+        return repository.getAll(filters, pagination);
+    }
+
     public Product create(Product entity) {
         return repository.create(entity);
     }
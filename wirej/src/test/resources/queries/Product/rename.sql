@@ -0,0 +1,3 @@
+UPDATE products
+SET name = :name
+WHERE id = :id
@@ -0,0 +1,4 @@
+SELECT id
+FROM users
+WHERE id BETWEEN :from_id AND :to_id
+ORDER BY id
\ No newline at end of file